@@ -0,0 +1,77 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.benchmarks;
+
+import io.vertx.core.http.HttpServerRequest;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates server requests that are not bound to a connection so that routing can be measured on its own.<p>
+ * The requests only answer the method, the path and the URI. Their params, response and the other objects they
+ * return are stubs whose fluent methods return the stub itself and whose other methods do nothing, so a request
+ * can be routed any number of times.
+ */
+public class BenchmarkRequests {
+
+  public static HttpServerRequest request(String method, String path) {
+    return stub(HttpServerRequest.class, (proxy, m, args) -> {
+      switch (m.getName()) {
+        case "method":
+          return method;
+        case "path":
+        case "uri":
+          return path;
+        default:
+          return STUB.invoke(proxy, m, args);
+      }
+    });
+  }
+
+  private static final Map<Class<?>, Object> stubs = new ConcurrentHashMap<>();
+
+  private static final InvocationHandler STUB = new InvocationHandler() {
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      Class<?> type = method.getReturnType();
+      if (type.isInstance(proxy)) {
+        return proxy;
+      }
+      if (type.isInterface()) {
+        return stubs.computeIfAbsent(type, t -> stub(t, this));
+      }
+      if (type == boolean.class) {
+        return false;
+      }
+      if (type == int.class) {
+        return 0;
+      }
+      if (type == long.class) {
+        return 0L;
+      }
+      return null;
+    }
+  };
+
+  private static <T> T stub(Class<T> type, InvocationHandler handler) {
+    return type.cast(Proxy.newProxyInstance(BenchmarkRequests.class.getClassLoader(), new Class<?>[]{type}, handler));
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.benchmarks;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.routematcher.RouteMatcher;
+import io.vertx.ext.routematcher.RouteMatcherOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the dispatch of a frozen {@link RouteMatcher} with and without
+ * {@link RouteMatcherOptions#setCompiledDispatch compiled dispatch}.<p>
+ * Route {@code i} is registered as {@code /resource<i>/:id/items/:item} for the param kind, the mixed kind also
+ * registers {@code /resource<i>/items} for every other route. The handlers are instances of eight different
+ * classes, as in an application where each route has its own handler, so the single call site of the
+ * interpreted dispatch sees many receiver types.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CompiledDispatchBenchmark {
+
+  private static final int REQUESTS = 1024;
+
+  @Param({"1000"})
+  public int routes;
+
+  @Param({"param", "mixed"})
+  public String kind;
+
+  @Param({"false", "true"})
+  public boolean compiledDispatch;
+
+  private RouteMatcher matcher;
+  private HttpServerRequest[] requests;
+  private int next;
+  private long matched;
+
+  @Setup
+  public void setup() {
+    RouteMatcher matcher = RouteMatcher.routeMatcher(RouteMatcherOptions.options()
+        .setCompiledDispatch(compiledDispatch));
+    Handler<HttpServerRequest>[] handlers = handlers();
+    for (int i = 0; i < routes; i++) {
+      matcher.get("/resource" + i + "/:id/items/:item", handlers[i % handlers.length]);
+      if (kind.equals("mixed") && i % 2 == 0) {
+        matcher.get("/resource" + i + "/items", handlers[(i + 1) % handlers.length]);
+      }
+    }
+    this.matcher = matcher.freeze();
+    Random random = new Random(0);
+    requests = new HttpServerRequest[REQUESTS];
+    for (int i = 0; i < REQUESTS; i++) {
+      int route = random.nextInt(routes);
+      String path = kind.equals("mixed") && route % 2 == 0 && random.nextBoolean() ?
+          "/resource" + route + "/items" : "/resource" + route + "/42/items/7";
+      requests[i] = BenchmarkRequests.request("GET", path);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private Handler<HttpServerRequest>[] handlers() {
+    return new Handler[]{
+        (Handler<HttpServerRequest>) req -> matched++,
+        (Handler<HttpServerRequest>) req -> matched += 2,
+        (Handler<HttpServerRequest>) req -> matched += 3,
+        (Handler<HttpServerRequest>) req -> matched += 4,
+        (Handler<HttpServerRequest>) req -> matched += 5,
+        (Handler<HttpServerRequest>) req -> matched += 6,
+        (Handler<HttpServerRequest>) req -> matched += 7,
+        (Handler<HttpServerRequest>) req -> matched += 8
+    };
+  }
+
+  @Benchmark
+  public long accept() {
+    matcher.accept(requests[next++ & (REQUESTS - 1)]);
+    return matched;
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.benchmarks;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.impl.DocumentConverter;
+import org.mongodb.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion of a JSON object to the document written by the MongoDB service and of the document read
+ * back to a JSON object, for documents of about {@code size} KB made of strings, numbers, booleans, binary data,
+ * nested documents and arrays, with and without the extended JSON forms of the dates and object ids.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class DocumentConverterBenchmark {
+
+  @Param({"1", "100"})
+  public int size;
+
+  @Param({"false", "true"})
+  public boolean extendedJson;
+
+  private DocumentConverter converter;
+  private JsonObject json;
+  private Document document;
+
+  @Setup
+  public void setup() {
+    converter = new DocumentConverter(extendedJson);
+    json = new JsonObject()
+        .putObject("_id", new JsonObject().putString("$oid", "53e3c3d4e4b0a1b2c3d4e5f6"))
+        .putObject("created", new JsonObject().putNumber("$date", 1400000000000L));
+    JsonArray items = new JsonArray();
+    json.putArray("items", items);
+    for (int i = 0; json.encode().length() < size * 1024; i++) {
+      items.addObject(new JsonObject()
+          .putString("name", "item" + i)
+          .putNumber("count", i)
+          .putNumber("price", i * 1.5)
+          .putBoolean("available", i % 2 == 0)
+          .putBinary("digest", new byte[]{(byte) i, 1, 2, 3, 4, 5, 6, 7})
+          .putArray("tags", new JsonArray().addString("foo").addString("bar").addNumber(i)));
+    }
+    document = converter.toDocument(json);
+  }
+
+  @Benchmark
+  public Document toDocument() {
+    return converter.toDocument(json);
+  }
+
+  @Benchmark
+  public JsonObject toJsonObject() {
+    return converter.toJsonObject(document);
+  }
+}
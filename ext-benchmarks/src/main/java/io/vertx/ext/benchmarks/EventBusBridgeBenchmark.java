@@ -0,0 +1,204 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.benchmarks;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Headers;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.net.SocketAddress;
+import io.vertx.ext.sockjs.BridgeOptions;
+import io.vertx.ext.sockjs.SockJSSocket;
+import io.vertx.ext.sockjs.impl.EventBusBridge;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the handling by an {@link EventBusBridge} of the messages published by a SockJS socket, whose address
+ * is matched against the inbound permitted addresses of the bridge.<p>
+ * Permitted address {@code i} is an exact {@code address} when {@code i} is even and an {@code address_re}
+ * otherwise. The messages are decoded before being matched and the permitted ones are published on the event bus,
+ * {@link #decode} measures the decoding alone. The denied messages have no reply address, so the bridge does not
+ * answer them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class EventBusBridgeBenchmark {
+
+  @Param({"10", "100"})
+  public int permitted;
+
+  private Vertx vertx;
+  private Socket socket;
+  private Buffer first;
+  private Buffer last;
+  private Buffer denied;
+
+  @Setup
+  public void setup() {
+    vertx = Vertx.vertx();
+    BridgeOptions options = BridgeOptions.options();
+    for (int i = 0; i < permitted; i++) {
+      if (i % 2 == 0) {
+        options.addInboundPermitted(new JsonObject().putString("address", "news.feed." + i));
+      } else {
+        options.addInboundPermitted(new JsonObject().putString("address_re", "news\\.feed\\." + i + "\\..+"));
+      }
+    }
+    socket = new Socket();
+    new EventBusBridge(vertx, options).handle(socket);
+    first = publish("news.feed.0");
+    last = publish("news.feed." + (permitted - 1) + ".sports");
+    denied = publish("other.address");
+  }
+
+  private static Buffer publish(String address) {
+    return Buffer.buffer(new JsonObject()
+        .putString("type", "publish")
+        .putString("address", address)
+        .putObject("body", new JsonObject().putString("text", "hello"))
+        .encode());
+  }
+
+  @TearDown
+  public void tearDown() {
+    socket.endHandler.handle(null);
+    vertx.close();
+  }
+
+  @Benchmark
+  public JsonObject decode() {
+    return new JsonObject(denied.toString());
+  }
+
+  @Benchmark
+  public void matchFirst() {
+    socket.dataHandler.handle(first);
+  }
+
+  @Benchmark
+  public void matchLast() {
+    socket.dataHandler.handle(last);
+  }
+
+  @Benchmark
+  public void noMatch() {
+    socket.dataHandler.handle(denied);
+  }
+
+  /**
+   * A socket whose data is pushed by the benchmark, what the bridge writes to it is dropped.
+   */
+  private static class Socket implements SockJSSocket {
+
+    Handler<Buffer> dataHandler;
+    Handler<Void> endHandler;
+
+    @Override
+    public SockJSSocket exceptionHandler(Handler<Throwable> handler) {
+      return this;
+    }
+
+    @Override
+    public SockJSSocket dataHandler(Handler<Buffer> handler) {
+      dataHandler = handler;
+      return this;
+    }
+
+    @Override
+    public SockJSSocket pause() {
+      return this;
+    }
+
+    @Override
+    public SockJSSocket resume() {
+      return this;
+    }
+
+    @Override
+    public SockJSSocket endHandler(Handler<Void> handler) {
+      endHandler = handler;
+      return this;
+    }
+
+    @Override
+    public SockJSSocket write(Buffer data) {
+      return this;
+    }
+
+    @Override
+    public SockJSSocket setWriteQueueMaxSize(int maxSize) {
+      return this;
+    }
+
+    @Override
+    public boolean writeQueueFull() {
+      return false;
+    }
+
+    @Override
+    public SockJSSocket drainHandler(Handler<Void> handler) {
+      return this;
+    }
+
+    @Override
+    public String writeHandlerID() {
+      return null;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public SocketAddress remoteAddress() {
+      return null;
+    }
+
+    @Override
+    public SocketAddress localAddress() {
+      return null;
+    }
+
+    @Override
+    public Headers headers() {
+      return null;
+    }
+
+    @Override
+    public String uri() {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.benchmarks;
+
+import io.vertx.ext.sockjs.impl.JsonCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the encoding of the messages sent in a SockJS frame and the decoding of the messages received, for
+ * ASCII messages and for messages with chars that SockJS requires to be escaped.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+  @Param({"1", "16"})
+  public int messages;
+
+  @Param({"ascii", "unicode"})
+  public String content;
+
+  private Object[] frame;
+  private String encoded;
+
+  @Setup
+  public void setup() {
+    String message = content.equals("ascii")
+        ? "{\"address\":\"someaddress\",\"body\":{\"name\":\"vert.x\",\"count\":12345}}"
+        : "{\"address\":\"someaddress\",\"body\":{\"name\":\"v\u00e9rt.x\u001f\u4e16\u754c\",\"count\":12345}}";
+    frame = new Object[messages];
+    for (int i = 0; i < messages; i++) {
+      frame[i] = message;
+    }
+    encoded = JsonCodec.encode(frame);
+  }
+
+  @Benchmark
+  public String encode() {
+    return JsonCodec.encode(frame);
+  }
+
+  @Benchmark
+  public Object decode() {
+    return JsonCodec.decodeValue(encoded, String[].class);
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.benchmarks;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.reactivestreams.ReactiveWriteStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the delivery of a buffer written to a {@link ReactiveWriteStream} to all its subscribers, each
+ * subscriber requests one buffer before every write.<p>
+ * The stream checks that it is used from the thread that created it, the thread scoped state is created by the
+ * benchmark thread.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ReactiveWriteStreamBenchmark {
+
+  @Param({"1", "4", "16"})
+  public int subscribers;
+
+  @Param({"128", "4096"})
+  public int bufferSize;
+
+  private ReactiveWriteStream stream;
+  private CountingSubscriber[] consumers;
+  private Buffer buffer;
+
+  @Setup
+  public void setup() {
+    stream = ReactiveWriteStream.writeStream();
+    consumers = new CountingSubscriber[subscribers];
+    for (int i = 0; i < subscribers; i++) {
+      consumers[i] = new CountingSubscriber();
+      stream.subscribe(consumers[i]);
+    }
+    StringBuilder data = new StringBuilder(bufferSize);
+    for (int i = 0; i < bufferSize; i++) {
+      data.append('x');
+    }
+    buffer = Buffer.buffer(data.toString());
+  }
+
+  @Benchmark
+  public long write() {
+    for (CountingSubscriber subscriber : consumers) {
+      subscriber.subscription.request(1);
+    }
+    stream.write(buffer);
+    return consumers[0].received;
+  }
+
+  private static class CountingSubscriber implements Subscriber<Buffer> {
+
+    Subscription subscription;
+    long received;
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(Buffer buffer) {
+      received += buffer.length();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+    }
+
+    @Override
+    public void onComplete() {
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.benchmarks;
+
+import io.vertx.ext.routematcher.RegExEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link RegExEngine engines} on a typical route expression and on expressions that make
+ * {@link java.util.regex.Pattern} backtrack.<p>
+ * The route benchmark matches a SockJS like path whose session segment is {@code length} chars long, the
+ * pathological benchmark matches {@code regex} against {@code length} {@code a} followed by a {@code !}.
+ * {@code (a+)+b} backtracks exponentially on Java 8, later JVMs memoize this shape of nested loops but
+ * {@code (.*a){10}b} still takes a time polynomial in the length of the input, while the time of the linear
+ * engine grows linearly for both.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class RegExEngineBenchmark {
+
+  @Param({RegExEngine.JDK, RegExEngine.LINEAR})
+  public String engine;
+
+  @Param({"8", "16", "24"})
+  public int length;
+
+  @Param({"(a+)+b", "(.*a){10}b"})
+  public String regex;
+
+  private RegExEngine.RegEx route;
+  private String routeInput;
+  private RegExEngine.RegEx pathological;
+  private String pathologicalInput;
+
+  @Setup
+  public void setup() {
+    RegExEngine regExEngine = RegExEngine.engine(engine);
+    route = regExEngine.compile("\\/echo\\/[^\\/\\.]+\\/(?<session>[^\\/\\.]+)\\/xhr_send");
+    pathological = regExEngine.compile(regex);
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < length; i++) {
+      sb.append('a');
+    }
+    routeInput = "/echo/000/" + sb + "/xhr_send";
+    pathologicalInput = sb + "!";
+  }
+
+  @Benchmark
+  public Object route() {
+    return route.matches(routeInput);
+  }
+
+  @Benchmark
+  public Object pathological() {
+    return pathological.matches(pathologicalInput);
+  }
+}
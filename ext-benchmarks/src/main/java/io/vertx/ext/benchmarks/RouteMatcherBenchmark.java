@@ -0,0 +1,119 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.benchmarks;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.routematcher.RouteMatcher;
+import io.vertx.ext.routematcher.RouteMatcherOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link RouteMatcher#accept} for route tables of increasing size.<p>
+ * Route {@code i} is registered as {@code /resource<i>/items} for the literal kind, as
+ * {@code /resource<i>/:id/items/:item} for the param kind and as an equivalent regular expression for the regex
+ * kind, the mixed kind cycles through the three. Requests target routes picked at random with a fixed seed so
+ * every run routes the same requests.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class RouteMatcherBenchmark {
+
+  private static final int REQUESTS = 1024;
+
+  @Param({"10", "100", "1000", "10000"})
+  public int routes;
+
+  @Param({"literal", "param", "regex", "mixed"})
+  public String kind;
+
+  @Param({"false", "true"})
+  public boolean combinedRegExMatching;
+
+  @Param({"0", "4096"})
+  public int matchCacheSize;
+
+  private RouteMatcher matcher;
+  private HttpServerRequest[] requests;
+  private HttpServerRequest unknown;
+  private int next;
+  private long matched;
+
+  @Setup
+  public void setup() {
+    matcher = RouteMatcher.routeMatcher(RouteMatcherOptions.options()
+        .setCombinedRegExMatching(combinedRegExMatching)
+        .setMatchCacheSize(matchCacheSize));
+    Handler<HttpServerRequest> handler = req -> matched++;
+    for (int i = 0; i < routes; i++) {
+      switch (kind(i)) {
+        case "literal":
+          matcher.get("/resource" + i + "/items", handler);
+          break;
+        case "param":
+          matcher.get("/resource" + i + "/:id/items/:item", handler);
+          break;
+        default:
+          matcher.getWithRegEx("\\/resource" + i + "\\/([^\\/]+)\\/items\\/([^\\/]+)", handler);
+      }
+    }
+    Random random = new Random(0);
+    requests = new HttpServerRequest[REQUESTS];
+    for (int i = 0; i < REQUESTS; i++) {
+      int route = random.nextInt(routes);
+      String path = kind(route).equals("literal") ? "/resource" + route + "/items" : "/resource" + route + "/42/items/7";
+      requests[i] = BenchmarkRequests.request("GET", path);
+    }
+    unknown = BenchmarkRequests.request("GET", "/unknown/resource");
+  }
+
+  private String kind(int route) {
+    if (kind.equals("mixed")) {
+      return route % 3 == 0 ? "literal" : route % 3 == 1 ? "param" : "regex";
+    }
+    return kind;
+  }
+
+  @Benchmark
+  public long accept() {
+    matcher.accept(requests[next++ & (REQUESTS - 1)]);
+    return matched;
+  }
+
+  @Benchmark
+  public long notFound() {
+    matcher.accept(unknown);
+    return matched;
+  }
+}
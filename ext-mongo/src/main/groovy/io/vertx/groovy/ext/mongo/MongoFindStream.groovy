@@ -0,0 +1,87 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.vertx.groovy.ext.mongo;
+import groovy.transform.CompileStatic
+import io.vertx.lang.groovy.InternalHelper
+import io.vertx.core.json.JsonObject
+import io.vertx.core.Handler
+/**
+ * Reads the results of a find one document at a time with flow control.<p>
+ * The documents are read in batches from a cursor of the {@link io.vertx.groovy.ext.mongo.MongoService}, the next batch is only read when the
+ * documents of the previous batch have been handled and the stream is not paused, so no more than a batch is held
+ * in memory. The service can be an event bus proxy.<p>
+ * Instances of this class are not thread-safe.<p>
+ */
+@CompileStatic
+public class MongoFindStream {
+  final def io.vertx.ext.mongo.MongoFindStream delegate;
+  public MongoFindStream(io.vertx.ext.mongo.MongoFindStream delegate) {
+    this.delegate = delegate;
+  }
+  public io.vertx.ext.mongo.MongoFindStream getDelegate() {
+    return delegate;
+  }
+  public static MongoFindStream find(MongoService service, String collection, Map<String, Object> query, Map<String, Object> fields, Map<String, Object> sort, int limit, int skip, int batchSize) {
+    def ret= new MongoFindStream(io.vertx.ext.mongo.MongoFindStream.find(service.getDelegate(), collection, query != null ? new io.vertx.core.json.JsonObject(query) : null, fields != null ? new io.vertx.core.json.JsonObject(fields) : null, sort != null ? new io.vertx.core.json.JsonObject(sort) : null, limit, skip, batchSize));
+    return ret;
+  }
+  /**
+   * Set a data handler. The find starts when the handler is set.
+   */
+  public MongoFindStream dataHandler(Handler<Map<String, Object>> handler) {
+    this.delegate.dataHandler(new Handler<JsonObject>() {
+      public void handle(JsonObject event) {
+        handler.handle(event?.toMap());
+      }
+    });
+    return this;
+  }
+  /**
+   * Pause the stream, no more documents are handled and no more batches are read until it is resumed.
+   */
+  public MongoFindStream pause() {
+    this.delegate.pause();
+    return this;
+  }
+  /**
+   * Resume reading the documents.
+   */
+  public MongoFindStream resume() {
+    this.delegate.resume();
+    return this;
+  }
+  /**
+   * Set an end handler. Once the last document has been handled the end handler will be called.
+   */
+  public MongoFindStream endHandler(Handler<Void> endHandler) {
+    this.delegate.endHandler(endHandler);
+    return this;
+  }
+  /**
+   * Set an exception handler, the stream ends without calling the end handler when a batch fails.
+   */
+  public MongoFindStream exceptionHandler(Handler<Throwable> handler) {
+    this.delegate.exceptionHandler(handler);
+    return this;
+  }
+  /**
+   * Stop reading the documents and close the cursor.
+   */
+  public void close() {
+    this.delegate.close();
+  }
+}
@@ -48,9 +48,64 @@ public class MongoService {
   public void insert(String collection, Map<String, Object> document, String writeConcern, Handler<AsyncResult<String>> resultHandler) {
     this.delegate.insert(collection, document != null ? new io.vertx.core.json.JsonObject(document) : null, writeConcern, resultHandler);
   }
+  /**
+   * Insert documents with a single call, the ids of the documents without an {@code _id} are generated. The result
+   * is the one of {@link #bulkWrite}.<p>
+   * An ordered insert writes all the documents with one multi-document insert, the driver packs them in as few
+   * messages as their size allows. It stops at the first document that fails, the documents before it are inserted
+   * and the insert fails with the error of the driver, which does not tell the failed document.<p>
+   * An unordered insert writes each document on its own as pipelined single-document writes, as {@link #bulkWrite},
+   * so that each document that fails is reported and the others are all inserted.
+   */
+  public void insertMany(String collection, List<Object> documents, String writeConcern, boolean ordered, Handler<AsyncResult<Map<String, Object>>> resultHandler) {
+    this.delegate.insertMany(collection, documents != null ? new io.vertx.core.json.JsonArray(documents) : null, writeConcern, ordered, new Handler<AsyncResult<io.vertx.core.json.JsonObject>>() {
+      public void handle(AsyncResult<io.vertx.core.json.JsonObject> event) {
+        AsyncResult<Map<String, Object>> f
+        if (event.succeeded()) {
+          f = InternalHelper.<Map<String, Object>>result(event.result()?.toMap())
+        } else {
+          f = InternalHelper.<Map<String, Object>>failure(event.cause())
+        }
+        resultHandler.handle(f)
+      }
+    });
+  }
+  /**
+   * Execute write operations with a single call. An operation is an object whose {@code type} is
+   * <ul>
+   *   <li>{@code insert} or {@code save} with a {@code document}</li>
+   *   <li>{@code update} with a {@code query}, an {@code update} and the optional {@code upsert} and {@code multi}
+   *   booleans</li>
+   *   <li>{@code delete} with a {@code query}</li>
+   * </ul>
+   * The driver has no bulk API, the operations are executed as pipelined single-document writes, each one a round
+   * trip to the database. An unordered bulk write sends up to 128 of them at a time and executes them all in any
+   * order. An ordered bulk write executes them one after the other and stops at the first error, it is no faster
+   * than a loop of single writes.<p>
+   * The result has the {@code ok} and {@code errors} counts and the {@code results} of the executed operations by
+   * index, each with the {@code index} of the operation and either the {@code _id} of the inserted or saved
+   * document or the {@code error} message. The bulk write fails when an operation is not valid.
+   */
+  public void bulkWrite(String collection, List<Object> operations, String writeConcern, boolean ordered, Handler<AsyncResult<Map<String, Object>>> resultHandler) {
+    this.delegate.bulkWrite(collection, operations != null ? new io.vertx.core.json.JsonArray(operations) : null, writeConcern, ordered, new Handler<AsyncResult<io.vertx.core.json.JsonObject>>() {
+      public void handle(AsyncResult<io.vertx.core.json.JsonObject> event) {
+        AsyncResult<Map<String, Object>> f
+        if (event.succeeded()) {
+          f = InternalHelper.<Map<String, Object>>result(event.result()?.toMap())
+        } else {
+          f = InternalHelper.<Map<String, Object>>failure(event.cause())
+        }
+        resultHandler.handle(f)
+      }
+    });
+  }
   public void update(String collection, Map<String, Object> query, Map<String, Object> update, String writeConcern, boolean upsert, boolean multi, Handler<AsyncResult<Void>> resultHandler) {
     this.delegate.update(collection, query != null ? new io.vertx.core.json.JsonObject(query) : null, update != null ? new io.vertx.core.json.JsonObject(update) : null, writeConcern, upsert, multi, resultHandler);
   }
+  /**
+   * Find the documents matching a query. The whole result is held in memory, large results should be read in batches
+   * with a cursor or a {@link io.vertx.groovy.ext.mongo.MongoFindStream}.
+   */
   public void find(String collection, Map<String, Object> query, Map<String, Object> fields, Map<String, Object> sort, int limit, int skip, Handler<AsyncResult<List<Map<String, Object>>>> resultHandler) {
     this.delegate.find(collection, query != null ? new io.vertx.core.json.JsonObject(query) : null, fields != null ? new io.vertx.core.json.JsonObject(fields) : null, sort != null ? new io.vertx.core.json.JsonObject(sort) : null, limit, skip, new Handler<AsyncResult<List<JsonObject>>>() {
       public void handle(AsyncResult<List<JsonObject>> event) {
@@ -67,6 +122,69 @@ public class MongoService {
       }
     });
   }
+  /**
+   * Like {@link io.vertx.groovy.ext.mongo.MongoService#find}, reading from the members of the replica set chosen by a read preference.
+   * @param readPreference the members of the replica set the query is sent to, such as {@code primary},
+   * {@code secondaryPreferred} or {@code nearest}, or null for the {@code read_preference} of the config
+   */
+  public void findWithReadPreference(String collection, Map<String, Object> query, Map<String, Object> fields, Map<String, Object> sort, int limit, int skip, String readPreference, Handler<AsyncResult<List<Map<String, Object>>>> resultHandler) {
+    this.delegate.findWithReadPreference(collection, query != null ? new io.vertx.core.json.JsonObject(query) : null, fields != null ? new io.vertx.core.json.JsonObject(fields) : null, sort != null ? new io.vertx.core.json.JsonObject(sort) : null, limit, skip, readPreference, new Handler<AsyncResult<List<JsonObject>>>() {
+      public void handle(AsyncResult<List<JsonObject>> event) {
+        AsyncResult<List<Map<String, Object>>> f
+        if (event.succeeded()) {
+          f = InternalHelper.<List<Map<String, Object>>>result(event.result().collect({
+            io.vertx.core.json.JsonObject element ->
+            element?.toMap()
+          }) as List)
+        } else {
+          f = InternalHelper.<List<Map<String, Object>>>failure(event.cause())
+        }
+        resultHandler.handle(f)
+      }
+    });
+  }
+  /**
+   * Open a cursor reading the results of a find in batches, no more than a batch of the results is held in memory.
+   * The results of a find without sort are ordered by {@code _id}.<p>
+   * A cursor is not a snapshot, each batch is a query of its own that sees the writes made since the previous one.
+   * The batches of a sorted find skip over the previous results, so a document written or deleted before the
+   * position of the cursor makes the next batch repeat or miss a result, and each batch costs more than the previous
+   * one. A find without sort resumes after the last {@code _id} read.<p>
+   * A cursor that is not read for {@code cursor_timeout} milliseconds (10 minutes by default) is closed.
+   * @param batchSize the maximum number of documents of a batch, must be > 0
+   * @param resultHandler called with the id of the cursor
+   */
+  public void openCursor(String collection, Map<String, Object> query, Map<String, Object> fields, Map<String, Object> sort, int limit, int skip, int batchSize, Handler<AsyncResult<String>> resultHandler) {
+    this.delegate.openCursor(collection, query != null ? new io.vertx.core.json.JsonObject(query) : null, fields != null ? new io.vertx.core.json.JsonObject(fields) : null, sort != null ? new io.vertx.core.json.JsonObject(sort) : null, limit, skip, batchSize, resultHandler);
+  }
+  /**
+   * Read the next batch of a cursor. A batch smaller than the batch size is the last one, the cursor is then closed.
+   * When the last results fill a batch, the batch after it is empty. Only one batch of a cursor can be read at a time.
+   * @param cursorID the id of the cursor
+   * @param resultHandler called with the documents of the batch
+   */
+  public void nextBatch(String cursorID, Handler<AsyncResult<List<Map<String, Object>>>> resultHandler) {
+    this.delegate.nextBatch(cursorID, new Handler<AsyncResult<List<JsonObject>>>() {
+      public void handle(AsyncResult<List<JsonObject>> event) {
+        AsyncResult<List<Map<String, Object>>> f
+        if (event.succeeded()) {
+          f = InternalHelper.<List<Map<String, Object>>>result(event.result().collect({
+            io.vertx.core.json.JsonObject element ->
+            element?.toMap()
+          }) as List)
+        } else {
+          f = InternalHelper.<List<Map<String, Object>>>failure(event.cause())
+        }
+        resultHandler.handle(f)
+      }
+    });
+  }
+  /**
+   * Close a cursor before its last batch is read.
+   */
+  public void closeCursor(String cursorID, Handler<AsyncResult<Void>> resultHandler) {
+    this.delegate.closeCursor(cursorID, resultHandler);
+  }
   public void findOne(String collection, Map<String, Object> query, Map<String, Object> fields, Handler<AsyncResult<Map<String, Object>>> resultHandler) {
     this.delegate.findOne(collection, query != null ? new io.vertx.core.json.JsonObject(query) : null, fields != null ? new io.vertx.core.json.JsonObject(fields) : null, new Handler<AsyncResult<io.vertx.core.json.JsonObject>>() {
       public void handle(AsyncResult<io.vertx.core.json.JsonObject> event) {
@@ -80,6 +198,24 @@ public class MongoService {
       }
     });
   }
+  /**
+   * Like {@link io.vertx.groovy.ext.mongo.MongoService#findOne}, reading from the members of the replica set chosen by a read preference.
+   * @param readPreference the members of the replica set the query is sent to, or null for the
+   * {@code read_preference} of the config
+   */
+  public void findOneWithReadPreference(String collection, Map<String, Object> query, Map<String, Object> fields, String readPreference, Handler<AsyncResult<Map<String, Object>>> resultHandler) {
+    this.delegate.findOneWithReadPreference(collection, query != null ? new io.vertx.core.json.JsonObject(query) : null, fields != null ? new io.vertx.core.json.JsonObject(fields) : null, readPreference, new Handler<AsyncResult<io.vertx.core.json.JsonObject>>() {
+      public void handle(AsyncResult<io.vertx.core.json.JsonObject> event) {
+        AsyncResult<Map<String, Object>> f
+        if (event.succeeded()) {
+          f = InternalHelper.<Map<String, Object>>result(event.result()?.toMap())
+        } else {
+          f = InternalHelper.<Map<String, Object>>failure(event.cause())
+        }
+        resultHandler.handle(f)
+      }
+    });
+  }
   public void delete(String collection, Map<String, Object> query, String writeConcern, Handler<AsyncResult<Void>> resultHandler) {
     this.delegate.delete(collection, query != null ? new io.vertx.core.json.JsonObject(query) : null, writeConcern, resultHandler);
   }
@@ -105,6 +241,23 @@ public class MongoService {
       }
     });
   }
+  /**
+   * Get the counters of the result cache enabled by the {@code cache} config: the {@code hits} and {@code misses} of
+   * the finds, and the {@code entries} and {@code bytes} it holds. The counters are zero when the cache is disabled.
+   */
+  public void getCacheStats(Handler<AsyncResult<Map<String, Object>>> resultHandler) {
+    this.delegate.getCacheStats(new Handler<AsyncResult<io.vertx.core.json.JsonObject>>() {
+      public void handle(AsyncResult<io.vertx.core.json.JsonObject> event) {
+        AsyncResult<Map<String, Object>> f
+        if (event.succeeded()) {
+          f = InternalHelper.<Map<String, Object>>result(event.result()?.toMap())
+        } else {
+          f = InternalHelper.<Map<String, Object>>failure(event.cause())
+        }
+        resultHandler.handle(f)
+      }
+    });
+  }
   public void start() {
     this.delegate.start();
   }
@@ -0,0 +1,60 @@
+package io.vertx.ext.mongo;
+
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Handler;
+import io.vertx.core.ServiceHelper;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Reads the results of a find one document at a time with flow control.<p>
+ * The documents are read in batches from a cursor of the {@link MongoService}, the next batch is only read when the
+ * documents of the previous batch have been handled and the stream is not paused, so no more than a batch is held
+ * in memory. The service can be an event bus proxy.<p>
+ * Instances of this class are not thread-safe.
+ */
+@VertxGen
+public interface MongoFindStream {
+
+  static MongoFindStream find(MongoService service, String collection, JsonObject query, JsonObject fields,
+                              JsonObject sort, int limit, int skip, int batchSize) {
+    return factory.find(service, collection, query, fields, sort, limit, skip, batchSize);
+  }
+
+  /**
+   * Set a data handler. The find starts when the handler is set.
+   */
+  @Fluent
+  MongoFindStream dataHandler(Handler<JsonObject> handler);
+
+  /**
+   * Pause the stream, no more documents are handled and no more batches are read until it is resumed.
+   */
+  @Fluent
+  MongoFindStream pause();
+
+  /**
+   * Resume reading the documents.
+   */
+  @Fluent
+  MongoFindStream resume();
+
+  /**
+   * Set an end handler. Once the last document has been handled the end handler will be called.
+   */
+  @Fluent
+  MongoFindStream endHandler(Handler<Void> endHandler);
+
+  /**
+   * Set an exception handler, the stream ends without calling the end handler when a batch fails.
+   */
+  @Fluent
+  MongoFindStream exceptionHandler(Handler<Throwable> handler);
+
+  /**
+   * Stop reading the documents and close the cursor.
+   */
+  void close();
+
+  static final MongoFindStreamFactory factory = ServiceHelper.loadFactory(MongoFindStreamFactory.class);
+}
@@ -0,0 +1,9 @@
+package io.vertx.ext.mongo;
+
+import io.vertx.core.json.JsonObject;
+
+public interface MongoFindStreamFactory {
+
+  MongoFindStream find(MongoService service, String collection, JsonObject query, JsonObject fields, JsonObject sort,
+                       int limit, int skip, int batchSize);
+}
@@ -5,6 +5,7 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
 import io.vertx.core.ServiceHelper;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
 import java.util.List;
@@ -29,14 +30,98 @@ public interface MongoService {
 
   void insert(String collection, JsonObject document, String writeConcern, Handler<AsyncResult<String>> resultHandler);
 
+  /**
+   * Insert documents with a single call, the ids of the documents without an {@code _id} are generated. The result
+   * is the one of {@link #bulkWrite}.<p>
+   * An ordered insert writes all the documents with one multi-document insert, the driver packs them in as few
+   * messages as their size allows. It stops at the first document that fails, the documents before it are inserted
+   * and the insert fails with the error of the driver, which does not tell the failed document.<p>
+   * An unordered insert writes each document on its own as pipelined single-document writes, as {@link #bulkWrite},
+   * so that each document that fails is reported and the others are all inserted.
+   *
+   * @see #bulkWrite
+   */
+  void insertMany(String collection, JsonArray documents, String writeConcern, boolean ordered,
+                  Handler<AsyncResult<JsonObject>> resultHandler);
+
+  /**
+   * Execute write operations with a single call. An operation is an object whose {@code type} is
+   * <ul>
+   *   <li>{@code insert} or {@code save} with a {@code document}</li>
+   *   <li>{@code update} with a {@code query}, an {@code update} and the optional {@code upsert} and {@code multi}
+   *   booleans</li>
+   *   <li>{@code delete} with a {@code query}</li>
+   * </ul>
+   * The driver has no bulk API, the operations are executed as pipelined single-document writes, each one a round
+   * trip to the database. An unordered bulk write sends up to 128 of them at a time and executes them all in any
+   * order. An ordered bulk write executes them one after the other and stops at the first error, it is no faster
+   * than a loop of single writes.<p>
+   * The result has the {@code ok} and {@code errors} counts and the {@code results} of the executed operations by
+   * index, each with the {@code index} of the operation and either the {@code _id} of the inserted or saved
+   * document or the {@code error} message. The bulk write fails when an operation is not valid.
+   */
+  void bulkWrite(String collection, JsonArray operations, String writeConcern, boolean ordered,
+                 Handler<AsyncResult<JsonObject>> resultHandler);
+
   void update(String collection, JsonObject query, JsonObject update, String writeConcern, boolean upsert, boolean multi,
               Handler<AsyncResult<Void>> resultHandler);
 
-  // Currently firehose of data as Mongo client doesn't support flow control
-  void find(String collection, JsonObject query, JsonObject fields, JsonObject sort, int limit, int skip, Handler<AsyncResult<List<JsonObject>>> resultHandler);
+  /**
+   * Find the documents matching a query. The whole result is held in memory, large results should be read in batches
+   * with a cursor or a {@link MongoFindStream}.
+   */
+  void find(String collection, JsonObject query, JsonObject fields, JsonObject sort, int limit, int skip,
+            Handler<AsyncResult<List<JsonObject>>> resultHandler);
+
+  /**
+   * Like {@link #find}, reading from the members of the replica set chosen by a read preference.
+   *
+   * @param readPreference the members of the replica set the query is sent to, such as {@code primary},
+   * {@code secondaryPreferred} or {@code nearest}, or null for the {@code read_preference} of the config
+   */
+  void findWithReadPreference(String collection, JsonObject query, JsonObject fields, JsonObject sort, int limit,
+                              int skip, String readPreference, Handler<AsyncResult<List<JsonObject>>> resultHandler);
+
+  /**
+   * Open a cursor reading the results of a find in batches, no more than a batch of the results is held in memory.
+   * The results of a find without sort are ordered by {@code _id}.<p>
+   * A cursor is not a snapshot, each batch is a query of its own that sees the writes made since the previous one.
+   * The batches of a sorted find skip over the previous results, so a document written or deleted before the
+   * position of the cursor makes the next batch repeat or miss a result, and each batch costs more than the previous
+   * one. A find without sort resumes after the last {@code _id} read.<p>
+   * A cursor that is not read for {@code cursor_timeout} milliseconds (10 minutes by default) is closed.
+   *
+   * @param batchSize the maximum number of documents of a batch, must be > 0
+   * @param resultHandler called with the id of the cursor
+   */
+  void openCursor(String collection, JsonObject query, JsonObject fields, JsonObject sort, int limit, int skip,
+                  int batchSize, Handler<AsyncResult<String>> resultHandler);
+
+  /**
+   * Read the next batch of a cursor. A batch smaller than the batch size is the last one, the cursor is then closed.
+   * When the last results fill a batch, the batch after it is empty. Only one batch of a cursor can be read at a time.
+   *
+   * @param cursorID the id of the cursor
+   * @param resultHandler called with the documents of the batch
+   */
+  void nextBatch(String cursorID, Handler<AsyncResult<List<JsonObject>>> resultHandler);
+
+  /**
+   * Close a cursor before its last batch is read.
+   */
+  void closeCursor(String cursorID, Handler<AsyncResult<Void>> resultHandler);
 
   void findOne(String collection, JsonObject query, JsonObject fields, Handler<AsyncResult<JsonObject>> resultHandler);
 
+  /**
+   * Like {@link #findOne}, reading from the members of the replica set chosen by a read preference.
+   *
+   * @param readPreference the members of the replica set the query is sent to, or null for the
+   * {@code read_preference} of the config
+   */
+  void findOneWithReadPreference(String collection, JsonObject query, JsonObject fields, String readPreference,
+                                 Handler<AsyncResult<JsonObject>> resultHandler);
+
   void delete(String collection, JsonObject query, String writeConcern, Handler<AsyncResult<Void>> resultHandler);
 
   void createCollection(String collectionName, Handler<AsyncResult<Void>> resultHandler);
@@ -51,6 +136,12 @@ public interface MongoService {
 
   void runCommand(String collection, JsonObject command, Handler<AsyncResult<JsonObject>> resultHandler);
 
+  /**
+   * Get the counters of the result cache enabled by the {@code cache} config: the {@code hits} and {@code misses} of
+   * the finds, and the {@code entries} and {@code bytes} it holds. The counters are zero when the cache is disabled.
+   */
+  void getCacheStats(Handler<AsyncResult<JsonObject>> resultHandler);
+
   void start();
 
   void stop();
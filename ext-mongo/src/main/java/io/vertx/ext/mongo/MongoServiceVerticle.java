@@ -3,6 +3,8 @@ package io.vertx.ext.mongo;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.json.JsonObject;
 
+import java.util.UUID;
+
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
  */
@@ -14,10 +16,20 @@ public class MongoServiceVerticle extends AbstractVerticle {
   public void start() throws Exception {
     // Create the service
     JsonObject config = vertx.context().config();
-    service = MongoService.create(vertx, config);
-    service.start();
     String address = config.getString("address", "vertx.mongodb");
+    // The event bus spreads the calls over the instances, the cursor calls are forwarded to the instance owning
+    // the cursor on an address of its own
+    String cursorAddress = address + ".cursors." + UUID.randomUUID();
+    service = MongoService.create(vertx, config.copy().putString("cursor_address", cursorAddress));
+    service.start();
     vertx.eventBus().registerService(service, address);
+    vertx.eventBus().registerService(service, cursorAddress);
+  }
+
+  @Override
+  public void stop() throws Exception {
+    // Closes the client unless other instances share it
+    service.stop();
   }
 
 }
@@ -0,0 +1,131 @@
+package io.vertx.ext.mongo.impl;
+
+import com.mongodb.async.MongoFuture;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.List;
+
+/**
+ * Executes the operations of a bulk write and reports their results in a single callback.<p>
+ * The async driver has no bulk API, each operation is a single-document write. The operations are pipelined: up to
+ * {@link #MAX_IN_FLIGHT} of them are sent without waiting for the previous ones to complete, or one at a time when
+ * the bulk write is ordered, which is then no faster than a loop of single writes. The first error of an ordered
+ * bulk write stops it, the operations of an unordered bulk write are all executed. The results are collected on the
+ * threads of the driver and handed to the context of the caller once all the operations have completed.
+ */
+class BulkWrite {
+
+  static final int MAX_IN_FLIGHT = 128;
+
+  interface Operation {
+
+    MongoFuture<?> execute();
+  }
+
+  private final List<Operation> operations;
+  // The ids of the inserted or saved documents, null for the other operations
+  private final Object[] ids;
+  private final int window;
+  private final Context context;
+  private final Handler<AsyncResult<JsonObject>> resultHandler;
+  private final JsonObject[] results;
+  private int next;
+  private int inFlight;
+  private int errors;
+  private boolean stopped;
+  private boolean launching;
+
+  BulkWrite(List<Operation> operations, Object[] ids, boolean ordered, Context context,
+            Handler<AsyncResult<JsonObject>> resultHandler) {
+    this.operations = operations;
+    this.ids = ids;
+    this.window = ordered ? 1 : MAX_IN_FLIGHT;
+    this.context = context;
+    this.resultHandler = resultHandler;
+    this.results = new JsonObject[operations.size()];
+  }
+
+  void start() {
+    if (operations.isEmpty()) {
+      report();
+    } else {
+      launch();
+    }
+  }
+
+  // Not recursive since the futures of the driver can complete on the calling thread
+  private void launch() {
+    synchronized (this) {
+      if (launching) {
+        return;
+      }
+      launching = true;
+    }
+    while (true) {
+      int index;
+      synchronized (this) {
+        if (stopped || next == operations.size() || inFlight == window) {
+          launching = false;
+          return;
+        }
+        index = next++;
+        inFlight++;
+      }
+      MongoFuture<?> future;
+      try {
+        future = operations.get(index).execute();
+      } catch (RuntimeException e) {
+        done(index, e);
+        continue;
+      }
+      future.register((res, e) -> done(index, e));
+    }
+  }
+
+  private void done(int index, Throwable cause) {
+    JsonObject result = new JsonObject().putNumber("index", index);
+    if (cause != null) {
+      result.putString("error", String.valueOf(cause.getMessage()));
+    } else if (ids[index] != null) {
+      result.putValue("_id", ids[index]);
+    }
+    boolean finished;
+    synchronized (this) {
+      results[index] = result;
+      inFlight--;
+      if (cause != null) {
+        errors++;
+        if (window == 1) {
+          stopped = true;
+        }
+      }
+      finished = inFlight == 0 && (stopped || next == operations.size());
+    }
+    if (finished) {
+      report();
+    } else {
+      launch();
+    }
+  }
+
+  private void report() {
+    JsonArray executed = new JsonArray();
+    int count = 0;
+    for (JsonObject result : results) {
+      if (result != null) {
+        executed.addObject(result);
+        count++;
+      }
+    }
+    JsonObject summary = new JsonObject()
+        .putNumber("ok", count - errors)
+        .putNumber("errors", errors)
+        .putArray("results", executed);
+    context.runOnContext(v -> resultHandler.handle(Future.completedFuture(summary)));
+  }
+}
@@ -0,0 +1,93 @@
+package io.vertx.ext.mongo.impl;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.mongodb.Document;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts the JSON objects of the service to the documents exchanged with the driver and back, in a single pass
+ * over the fields.<p>
+ * Dates are read as milliseconds and object ids as their hex string. With the extended JSON forms, they are read as
+ * {@code {"$date": millis}} and {@code {"$oid": hex}}, and these forms are written back as dates and object ids.<p>
+ * Instances of this class are immutable and thread-safe.
+ */
+public class DocumentConverter {
+
+  private final boolean extendedJson;
+
+  public DocumentConverter(boolean extendedJson) {
+    this.extendedJson = extendedJson;
+  }
+
+  public JsonObject toJsonObject(Document doc) {
+    JsonObject json = new JsonObject();
+    for (Map.Entry<String, Object> entry: doc.entrySet()) {
+      json.putValue(entry.getKey(), toJson(entry.getValue()));
+    }
+    return json;
+  }
+
+  public Document toDocument(JsonObject json) {
+    Document doc = new Document();
+    if (json != null) {
+      for (String name : json.getFieldNames()) {
+        doc.put(name, toBson(json.getValue(name)));
+      }
+    }
+    return doc;
+  }
+
+  private Object toJson(Object value) {
+    if (value instanceof Date) {
+      long time = ((Date) value).getTime();
+      return extendedJson ? new JsonObject().putNumber("$date", time) : time;
+    } else if (value instanceof ObjectId) {
+      String hex = ((ObjectId) value).toHexString();
+      return extendedJson ? new JsonObject().putString("$oid", hex) : hex;
+    } else if (value instanceof Document) {
+      return toJsonObject((Document) value);
+    } else if (value instanceof List) {
+      JsonArray array = new JsonArray();
+      for (Object elem : (List<?>) value) {
+        array.add(toJson(elem));
+      }
+      return array;
+    } else if (value instanceof Binary) {
+      return ((Binary) value).getData();
+    } else {
+      return value;
+    }
+  }
+
+  private Object toBson(Object value) {
+    if (value instanceof JsonObject) {
+      JsonObject json = (JsonObject) value;
+      if (extendedJson && json.size() == 1) {
+        Object date = json.getValue("$date");
+        if (date instanceof Number) {
+          return new Date(((Number) date).longValue());
+        }
+        Object oid = json.getValue("$oid");
+        if (oid instanceof String && ObjectId.isValid((String) oid)) {
+          return new ObjectId((String) oid);
+        }
+      }
+      return toDocument(json);
+    } else if (value instanceof JsonArray) {
+      List<Object> list = new ArrayList<>();
+      for (Object elem : (JsonArray) value) {
+        list.add(toBson(elem));
+      }
+      return list;
+    } else {
+      return value;
+    }
+  }
+}
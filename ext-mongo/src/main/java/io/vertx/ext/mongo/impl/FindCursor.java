@@ -0,0 +1,182 @@
+package io.vertx.ext.mongo.impl;
+
+import com.mongodb.async.client.MongoCollection;
+import com.mongodb.async.client.MongoView;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.mongodb.Document;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The state of a find whose results are read in batches.<p>
+ * Each batch is a query of its own limited to the batch size so no more than a batch is held in memory, whatever
+ * the size of the result. The cursor is not a snapshot, each batch sees the writes made since the previous one.<p>
+ * When the find is not sorted, the results are ordered by {@code _id} and a batch resumes after the last {@code _id}
+ * of the previous batch. A query on an {@code _id} only matches the values of the same BSON type, so the batch also
+ * matches the ids of the types sorted after the type of the last one, such as the ObjectIds after the generated
+ * string ids. The types sorted after the dates are not resumed into.<p>
+ * When the find is sorted, the batches skip over the previous ones, the server walks again over the skipped
+ * results so each batch costs more than the previous one, and a document written or deleted before the position
+ * of the cursor makes the next batch repeat or miss a result.<p>
+ * A cursor reads one batch at a time, it can be read from different contexts.
+ */
+class FindCursor {
+
+  private static final Document ID_ORDER = new Document();
+  // The smallest value of each BSON type an _id can have, in the order they are sorted after the numbers
+  private static final Object[] TYPE_MIN_VALUES = {"", new Document(), new Binary(new byte[0]),
+      new ObjectId("000000000000000000000000"), false, new Date(Long.MIN_VALUE)};
+
+  static {
+    ID_ORDER.put("_id", 1);
+  }
+
+  final String id;
+  private final MongoCollection<Document> coll;
+  private final Document query;
+  private final Document fields;
+  private final Document sort;
+  private final int batchSize;
+  // Whether the batches resume after the last _id or skip over the previous batches
+  private final boolean afterLastID;
+  // -1 when the find is not limited
+  private int remaining;
+  private int skip;
+  private int requested;
+  // Set by the thread of the driver while a batch is read
+  private volatile Object lastID;
+  private boolean reading;
+  volatile long lastAccess;
+
+  FindCursor(String id, MongoCollection<Document> coll, Document query, Document fields, Document sort, int limit,
+             int skip, int batchSize) {
+    this.id = id;
+    this.coll = coll;
+    this.query = query;
+    this.fields = fields;
+    this.sort = sort;
+    this.batchSize = batchSize;
+    this.afterLastID = sort == null && (fields == null || !excluded(fields.get("_id")));
+    this.remaining = limit;
+    this.skip = skip == -1 ? 0 : skip;
+    this.lastAccess = System.currentTimeMillis();
+  }
+
+  /**
+   * Start reading the next batch.
+   *
+   * @return the view of the next batch or null when the limit of the find is reached
+   * @throws IllegalStateException when a batch is already being read
+   */
+  synchronized MongoView<Document> next() {
+    if (reading) {
+      throw new IllegalStateException("A batch is already being read from cursor " + id);
+    }
+    lastAccess = System.currentTimeMillis();
+    requested = remaining == -1 ? batchSize : Math.min(batchSize, remaining);
+    if (requested == 0) {
+      return null;
+    }
+    reading = true;
+    MongoView<Document> view;
+    if (afterLastID) {
+      view = coll.find(lastID == null ? query : after(query, lastID));
+      view.sort(ID_ORDER);
+    } else {
+      view = coll.find(query);
+      view.sort(sort);
+    }
+    if (skip > 0) {
+      view.skip(skip);
+    }
+    view.limit(requested);
+    if (fields != null) {
+      view.fields(fields);
+    }
+    return view;
+  }
+
+  void read(Document doc) {
+    lastID = doc.get("_id");
+  }
+
+  /**
+   * End reading the batch.<p>
+   * A cursor whose last results fill a batch is kept, its next batch is empty and tells the reader that it is
+   * exhausted, the reader cannot tell otherwise.
+   *
+   * @param count the number of documents of the batch or -1 when the batch failed
+   * @return true when the cursor can be removed, the batch failed or it is smaller than the batch size
+   */
+  synchronized boolean done(int count) {
+    reading = false;
+    lastAccess = System.currentTimeMillis();
+    if (count == -1) {
+      return true;
+    }
+    skip = afterLastID ? 0 : skip + count;
+    if (remaining != -1) {
+      remaining -= count;
+    }
+    return count < batchSize;
+  }
+
+  private static Document after(Document query, Object lastID) {
+    Document after = idBound("$gt", lastID);
+    int type = typeOrder(lastID);
+    if (type < TYPE_MIN_VALUES.length) {
+      List<Document> bounds = new ArrayList<>();
+      bounds.add(after);
+      for (int i = type; i < TYPE_MIN_VALUES.length; i++) {
+        bounds.add(idBound("$gte", TYPE_MIN_VALUES[i]));
+      }
+      after = new Document();
+      after.put("$or", bounds);
+    }
+    if (query.isEmpty()) {
+      return after;
+    }
+    Document and = new Document();
+    and.put("$and", Arrays.asList(query, after));
+    return and;
+  }
+
+  private static Document idBound(String operator, Object value) {
+    Document bound = new Document();
+    bound.put(operator, value);
+    Document id = new Document();
+    id.put("_id", bound);
+    return id;
+  }
+
+  /**
+   * @return the position of the BSON type of an id in the sort order, the types of {@link #TYPE_MIN_VALUES} start
+   * at 1 after the numbers, the other types are sorted last
+   */
+  private static int typeOrder(Object id) {
+    if (id instanceof Number) {
+      return 0;
+    } else if (id instanceof String) {
+      return 1;
+    } else if (id instanceof Document) {
+      return 2;
+    } else if (id instanceof Binary || id instanceof byte[]) {
+      return 3;
+    } else if (id instanceof ObjectId) {
+      return 4;
+    } else if (id instanceof Boolean) {
+      return 5;
+    } else if (id instanceof Date) {
+      return 6;
+    }
+    return TYPE_MIN_VALUES.length;
+  }
+
+  private static boolean excluded(Object projection) {
+    return Boolean.FALSE.equals(projection) || projection instanceof Number && ((Number) projection).intValue() == 0;
+  }
+}
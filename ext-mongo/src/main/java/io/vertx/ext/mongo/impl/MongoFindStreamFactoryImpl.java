@@ -0,0 +1,18 @@
+package io.vertx.ext.mongo.impl;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.MongoFindStream;
+import io.vertx.ext.mongo.MongoFindStreamFactory;
+import io.vertx.ext.mongo.MongoService;
+
+public class MongoFindStreamFactoryImpl implements MongoFindStreamFactory {
+
+  @Override
+  public MongoFindStream find(MongoService service, String collection, JsonObject query, JsonObject fields,
+                              JsonObject sort, int limit, int skip, int batchSize) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("batchSize must be > 0");
+    }
+    return new MongoFindStreamImpl(service, collection, query, fields, sort, limit, skip, batchSize);
+  }
+}
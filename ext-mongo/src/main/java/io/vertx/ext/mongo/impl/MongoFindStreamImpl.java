@@ -0,0 +1,147 @@
+package io.vertx.ext.mongo.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.MongoFindStream;
+import io.vertx.ext.mongo.MongoService;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+class MongoFindStreamImpl implements MongoFindStream {
+
+  private final MongoService service;
+  private final String collection;
+  private final JsonObject query;
+  private final JsonObject fields;
+  private final JsonObject sort;
+  private final int limit;
+  private final int skip;
+  private final int batchSize;
+  // The documents of the last batch that have not been handled yet
+  private final ArrayDeque<JsonObject> pending = new ArrayDeque<>();
+  private Handler<JsonObject> dataHandler;
+  private Handler<Void> endHandler;
+  private Handler<Throwable> exceptionHandler;
+  private String cursorID;
+  private boolean paused;
+  private boolean reading;
+  private boolean lastBatch;
+  private boolean closed;
+
+  MongoFindStreamImpl(MongoService service, String collection, JsonObject query, JsonObject fields, JsonObject sort,
+                      int limit, int skip, int batchSize) {
+    this.service = service;
+    this.collection = collection;
+    this.query = query;
+    this.fields = fields;
+    this.sort = sort;
+    this.limit = limit;
+    this.skip = skip;
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public MongoFindStream dataHandler(Handler<JsonObject> handler) {
+    dataHandler = handler;
+    if (handler != null) {
+      drain();
+    }
+    return this;
+  }
+
+  @Override
+  public MongoFindStream pause() {
+    paused = true;
+    return this;
+  }
+
+  @Override
+  public MongoFindStream resume() {
+    if (paused) {
+      paused = false;
+      drain();
+    }
+    return this;
+  }
+
+  @Override
+  public MongoFindStream endHandler(Handler<Void> endHandler) {
+    this.endHandler = endHandler;
+    return this;
+  }
+
+  @Override
+  public MongoFindStream exceptionHandler(Handler<Throwable> handler) {
+    this.exceptionHandler = handler;
+    return this;
+  }
+
+  @Override
+  public void close() {
+    if (!closed) {
+      closed = true;
+      pending.clear();
+      if (cursorID != null && !lastBatch) {
+        service.closeCursor(cursorID, v -> {});
+      }
+    }
+  }
+
+  private void drain() {
+    while (!closed && !paused && dataHandler != null && !pending.isEmpty()) {
+      dataHandler.handle(pending.poll());
+    }
+    if (closed || paused || dataHandler == null || reading) {
+      return;
+    }
+    if (lastBatch) {
+      closed = true;
+      if (endHandler != null) {
+        endHandler.handle(null);
+      }
+    } else if (cursorID == null) {
+      reading = true;
+      service.openCursor(collection, query, fields, sort, limit, skip, batchSize, ar -> {
+        reading = false;
+        if (ar.succeeded()) {
+          cursorID = ar.result();
+          if (closed) {
+            service.closeCursor(cursorID, v -> {});
+          } else {
+            drain();
+          }
+        } else if (!closed) {
+          fail(ar.cause());
+        }
+      });
+    } else {
+      reading = true;
+      service.nextBatch(cursorID, this::handleBatch);
+    }
+  }
+
+  private void handleBatch(AsyncResult<List<JsonObject>> ar) {
+    reading = false;
+    if (closed) {
+      return;
+    }
+    if (ar.succeeded()) {
+      List<JsonObject> batch = ar.result();
+      lastBatch = batch.size() < batchSize;
+      pending.addAll(batch);
+      drain();
+    } else {
+      lastBatch = true;
+      fail(ar.cause());
+    }
+  }
+
+  private void fail(Throwable cause) {
+    closed = true;
+    if (exceptionHandler != null) {
+      exceptionHandler.handle(cause);
+    }
+  }
+}
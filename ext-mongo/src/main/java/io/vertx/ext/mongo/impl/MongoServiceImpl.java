@@ -4,10 +4,14 @@ import com.mongodb.ConnectionString;
 import com.mongodb.ServerAddress;
 import com.mongodb.async.MongoFuture;
 import com.mongodb.async.client.MongoClient;
+import com.mongodb.async.client.MongoClientSettings;
 import com.mongodb.async.client.MongoClients;
 import com.mongodb.async.client.MongoCollection;
+import com.mongodb.async.client.MongoCollectionOptions;
 import com.mongodb.async.client.MongoDatabase;
 import com.mongodb.async.client.MongoView;
+import com.mongodb.connection.ClusterSettings;
+import com.mongodb.connection.ConnectionPoolSettings;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
@@ -18,16 +22,19 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.impl.LoggerFactory;
 import io.vertx.ext.mongo.MongoService;
-import org.bson.types.ObjectId;
 import org.mongodb.Document;
+import org.mongodb.ReadPreference;
+import org.mongodb.WriteConcern;
 import org.mongodb.WriteResult;
 
 import java.net.UnknownHostException;
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
@@ -37,8 +44,33 @@ public class MongoServiceImpl implements MongoService {
 
   private static final Logger log = LoggerFactory.getLogger(MongoServiceImpl.class);
 
+  private static final long DEFAULT_CURSOR_TIMEOUT = 10 * 60 * 1000;
+  private static final String DEFAULT_CONNECTION_STRING = "mongodb://localhost:27017";
+  // The config of the client, the services sharing a client must agree on it
+  private static final String[] CLIENT_CONFIG = {"connection_string", "servers", "replica_set", "read_preference",
+      "max_pool_size", "min_pool_size", "max_wait_queue_size", "max_wait_time"};
+
   private final Vertx vertx;
   private final JsonObject config;
+  private final Map<String, FindCursor> cursors = new ConcurrentHashMap<>();
+  // The proxies of the instances owning the cursors opened by the other instances, by address
+  private final Map<String, MongoService> cursorOwners = new ConcurrentHashMap<>();
+  // The collections by name, write concern and read preference, so that their options are only built once
+  private final Map<String, MongoCollection<Document>> collections = new ConcurrentHashMap<>();
+  private final Map<String, WriteConcern> writeConcerns = new ConcurrentHashMap<>();
+  private final Map<String, ReadPreference> readPreferences = new ConcurrentHashMap<>();
+  private long cursorTimeout;
+  private long cursorTimerID = -1;
+  // The address of this instance the cursor calls are forwarded to, null when the service is not deployed
+  private String cursorAddress;
+  // Null when the client is not shared
+  private String clientName;
+  // Null when the inserts and saves are written one at a time
+  private WriteBehind writeBehind;
+  // Null when the results of the finds are not cached
+  private ResultCache cache;
+  // Reads and writes the dates and the object ids in the MongoDB extended JSON forms when extended_json is set
+  private DocumentConverter converter;
 
   protected MongoClient mongo;
   protected MongoDatabase db;
@@ -49,15 +81,103 @@ public class MongoServiceImpl implements MongoService {
   }
 
   public void start() {
-    String connectionString = config.getString("connection_string", "mongodb://localhost:27017");
     String dbName = config.getString("db_name", "default_db");
-    mongo = MongoClients.create(new ConnectionString(connectionString));
+    String name = config.getString("client_name");
+    if (name != null) {
+      mongo = SharedClient.acquire(vertx, name, getClientConfig(), () -> MongoClients.create(getClientSettings()));
+      // Only set once the client is acquired, so that stopping a service that failed to start releases nothing
+      clientName = name;
+    } else {
+      mongo = MongoClients.create(getClientSettings());
+    }
     db = mongo.getDatabase(dbName);
+    converter = new DocumentConverter(config.getBoolean("extended_json", false));
+    cursorTimeout = config.getLong("cursor_timeout", DEFAULT_CURSOR_TIMEOUT);
+    cursorAddress = config.getString("cursor_address");
+    cursorTimerID = vertx.setPeriodic(cursorTimeout, id -> expireCursors());
+    JsonObject writeBehindConfig = config.getObject("write_behind");
+    if (writeBehindConfig != null) {
+      writeBehind = new WriteBehind(vertx, writeBehindConfig);
+    }
+    JsonObject cacheConfig = config.getObject("cache");
+    if (cacheConfig != null) {
+      cache = new ResultCache(cacheConfig);
+    }
   }
 
   @Override
   public void stop() {
-    mongo.close();
+    if (mongo == null) {
+      // The service did not start
+      return;
+    }
+    if (cursorTimerID != -1) {
+      vertx.cancelTimer(cursorTimerID);
+    }
+    cursors.clear();
+    if (writeBehind != null) {
+      writeBehind.close();
+    }
+    if (clientName != null) {
+      SharedClient.release(vertx, clientName);
+    } else {
+      mongo.close();
+    }
+  }
+
+  private JsonObject getClientConfig() {
+    JsonObject clientConfig = new JsonObject();
+    for (String key : CLIENT_CONFIG) {
+      if (config.containsField(key)) {
+        clientConfig.putValue(key, config.getValue(key));
+      }
+    }
+    clientConfig.putString("connection_string", config.getString("connection_string", DEFAULT_CONNECTION_STRING));
+    return clientConfig;
+  }
+
+  // The servers, replica set and credentials of the connection string unless the config overrides them
+  private MongoClientSettings getClientSettings() {
+    ConnectionString connectionString = new ConnectionString(config.getString("connection_string",
+        DEFAULT_CONNECTION_STRING));
+    JsonArray servers = config.getArray("servers");
+    List<ServerAddress> seeds;
+    try {
+      seeds = servers != null ? convertServers(servers) : convertHosts(connectionString.getHosts());
+    } catch (UnknownHostException e) {
+      throw new IllegalArgumentException("Invalid server: " + e.getMessage(), e);
+    }
+    ClusterSettings.Builder cluster = ClusterSettings.builder().hosts(seeds);
+    String replicaSet = config.getString("replica_set", connectionString.getRequiredReplicaSetName());
+    if (replicaSet != null) {
+      cluster.requiredReplicaSetName(replicaSet);
+    }
+    ConnectionPoolSettings.Builder pool = ConnectionPoolSettings.builder();
+    Integer maxPoolSize = config.getInteger("max_pool_size");
+    if (maxPoolSize != null) {
+      pool.maxSize(maxPoolSize);
+    }
+    Integer minPoolSize = config.getInteger("min_pool_size");
+    if (minPoolSize != null) {
+      pool.minSize(minPoolSize);
+    }
+    Integer maxWaitQueueSize = config.getInteger("max_wait_queue_size");
+    if (maxWaitQueueSize != null) {
+      pool.maxWaitQueueSize(maxWaitQueueSize);
+    }
+    Long maxWaitTime = config.getLong("max_wait_time");
+    if (maxWaitTime != null) {
+      pool.maxWaitTime(maxWaitTime, TimeUnit.MILLISECONDS);
+    }
+    MongoClientSettings.Builder settings = MongoClientSettings.builder()
+        .clusterSettings(cluster.build())
+        .connectionPoolSettings(pool.build())
+        .credentialList(connectionString.getCredentialList());
+    String readPreference = config.getString("read_preference");
+    if (readPreference != null) {
+      settings.readPreference(getReadPreference(readPreference));
+    }
+    return settings.build();
   }
 
   private List<ServerAddress> convertServers(JsonArray servers) throws UnknownHostException {
@@ -65,34 +185,190 @@ public class MongoServiceImpl implements MongoService {
     for (Object elem : servers) {
       JsonObject address = (JsonObject) elem;
       String host = address.getString("host");
-      int port = address.getInteger("port");
+      int port = address.getInteger("port", ServerAddress.defaultPort());
       seeds.add(new ServerAddress(host, port));
     }
     return seeds;
   }
 
+  private List<ServerAddress> convertHosts(List<String> hosts) throws UnknownHostException {
+    List<ServerAddress> seeds = new ArrayList<>();
+    for (String host : hosts) {
+      seeds.add(new ServerAddress(host));
+    }
+    return seeds;
+  }
+
   @Override
   public void save(String collection, JsonObject document, String writeConcern, Handler<AsyncResult<String>> resultHandler) {
+    resultHandler = invalidating(collection, resultHandler);
+    MongoCollection<Document> coll = getCollection(collection, writeConcern, resultHandler);
+    if (coll == null) {
+      return;
+    }
     String genID = generateID(document);
-    MongoCollection<Document> coll = getCollection(collection, writeConcern);
     Document mDoc = jsonToDoc(document);
+    if (writeBehind != null) {
+      if (unacknowledged(writeConcern)) {
+        // Only the caller does not wait for the batch, the cache is still invalidated once it is written
+        resultHandler.handle(Future.completedFuture(genID));
+        resultHandler = invalidated(collection);
+      }
+      writeBehind.write(collection + '\0' + writeConcern, coll, mDoc, true, genID, resultHandler);
+      return;
+    }
     MongoFuture<org.mongodb.WriteResult> future = coll.save(mDoc);
-    adaptFuture(future, resultHandler, wr -> genID);
+    adaptWrite(future, writeConcern, resultHandler, genID);
   }
 
   @Override
   public void insert(String collection, JsonObject document, String writeConcern, Handler<AsyncResult<String>> resultHandler) {
+    resultHandler = invalidating(collection, resultHandler);
+    MongoCollection<Document> coll = getCollection(collection, writeConcern, resultHandler);
+    if (coll == null) {
+      return;
+    }
     String genID = generateID(document);
-    MongoCollection<Document> coll = getCollection(collection, writeConcern);
     Document mDoc = jsonToDoc(document);
+    if (writeBehind != null) {
+      if (unacknowledged(writeConcern)) {
+        // Only the caller does not wait for the batch, the cache is still invalidated once it is written
+        resultHandler.handle(Future.completedFuture(genID));
+        resultHandler = invalidated(collection);
+      }
+      writeBehind.write(collection + '\0' + writeConcern, coll, mDoc, false, genID, resultHandler);
+      return;
+    }
     MongoFuture<org.mongodb.WriteResult> future = coll.insert(mDoc);
-    adaptFuture(future, resultHandler, wr -> genID);
+    adaptWrite(future, writeConcern, resultHandler, genID);
+  }
+
+  @Override
+  public void insertMany(String collection, JsonArray documents, String writeConcern, boolean ordered,
+                         Handler<AsyncResult<JsonObject>> resultHandler) {
+    int index = 0;
+    for (Object document : documents) {
+      if (!(document instanceof JsonObject)) {
+        resultHandler.handle(Future.completedFuture(new IllegalArgumentException("Invalid document at index " +
+            index)));
+        return;
+      }
+      index++;
+    }
+    if (!ordered) {
+      // Each document is inserted on its own so that the failed ones are reported
+      JsonArray operations = new JsonArray();
+      for (Object document : documents) {
+        operations.addObject(new JsonObject().putString("type", "insert").putObject("document", (JsonObject) document));
+      }
+      bulkWrite(collection, operations, writeConcern, false, resultHandler);
+      return;
+    }
+    resultHandler = invalidating(collection, resultHandler);
+    MongoCollection<Document> coll = getCollection(collection, writeConcern, resultHandler);
+    if (coll == null) {
+      return;
+    }
+    List<Document> docs = new ArrayList<>(documents.size());
+    JsonArray results = new JsonArray();
+    for (Object document : documents) {
+      JsonObject json = (JsonObject) document;
+      generateID(json);
+      results.addObject(new JsonObject().putNumber("index", docs.size()).putValue("_id", json.getValue("_id")));
+      docs.add(jsonToDoc(json));
+    }
+    JsonObject result = new JsonObject()
+        .putNumber("ok", docs.size())
+        .putNumber("errors", 0)
+        .putArray("results", results);
+    if (docs.isEmpty()) {
+      resultHandler.handle(Future.completedFuture(result));
+      return;
+    }
+    adaptWrite(coll.insert(docs), writeConcern, resultHandler, result);
+  }
+
+  @Override
+  public void bulkWrite(String collection, JsonArray operations, String writeConcern, boolean ordered,
+                        Handler<AsyncResult<JsonObject>> resultHandler) {
+    resultHandler = invalidating(collection, resultHandler);
+    MongoCollection<Document> coll = getCollection(collection, writeConcern, resultHandler);
+    if (coll == null) {
+      return;
+    }
+    List<BulkWrite.Operation> ops = new ArrayList<>(operations.size());
+    Object[] ids = new Object[operations.size()];
+    for (Object elem : operations) {
+      int index = ops.size();
+      BulkWrite.Operation op = elem instanceof JsonObject ? bulkOperation(coll, (JsonObject) elem, ids, index) : null;
+      if (op == null) {
+        resultHandler.handle(Future.completedFuture(new IllegalArgumentException("Invalid operation at index " +
+            index)));
+        return;
+      }
+      ops.add(op);
+    }
+    new BulkWrite(ops, ids, ordered, vertx.context(), resultHandler).start();
+  }
+
+  private BulkWrite.Operation bulkOperation(MongoCollection<Document> coll, JsonObject operation, Object[] ids,
+                                            int index) {
+    String type = operation.getString("type");
+    if (type == null) {
+      return null;
+    }
+    switch (type) {
+      case "insert":
+      case "save": {
+        JsonObject document = operation.getObject("document");
+        if (document == null) {
+          return null;
+        }
+        generateID(document);
+        ids[index] = document.getValue("_id");
+        Document mDoc = jsonToDoc(document);
+        return type.equals("insert") ? () -> coll.insert(mDoc) : () -> coll.save(mDoc);
+      }
+      case "update": {
+        JsonObject query = operation.getObject("query");
+        JsonObject update = operation.getObject("update");
+        if (query == null || update == null) {
+          return null;
+        }
+        Document mQuery = jsonToDoc(query);
+        Document mUpdate = jsonToDoc(update);
+        boolean upsert = operation.getBoolean("upsert", false);
+        boolean multi = operation.getBoolean("multi", false);
+        return () -> {
+          MongoView<Document> view = coll.find(mQuery);
+          if (upsert) {
+            view.upsert();
+          }
+          return multi ? view.update(mUpdate) : view.updateOne(mUpdate);
+        };
+      }
+      case "delete": {
+        JsonObject query = operation.getObject("query");
+        if (query == null) {
+          return null;
+        }
+        Document mQuery = jsonToDoc(query);
+        return () -> coll.find(mQuery).remove();
+      }
+      default:
+        return null;
+    }
   }
 
   @Override
   public void update(String collection, JsonObject query, JsonObject update, String writeConcern, boolean upsert, boolean multi, Handler<AsyncResult<Void>> resultHandler) {
+    resultHandler = invalidating(collection, resultHandler);
+    MongoCollection<Document> coll = getCollection(collection, writeConcern, resultHandler);
+    if (coll == null) {
+      return;
+    }
     Document mUpdate = jsonToDoc(update);
-    MongoView<Document> view = getView(collection, query, null, null, -1, -1);
+    MongoView<Document> view = getView(coll, query, null, null, -1, -1);
     if (upsert) {
       view.upsert();
     }
@@ -102,20 +378,140 @@ public class MongoServiceImpl implements MongoService {
     } else {
       future = view.updateOne(mUpdate);
     }
-    adaptFuture(future, resultHandler);
+    adaptWrite(future, writeConcern, resultHandler, null);
+  }
+
+  @Override
+  public void find(String collection, JsonObject query, JsonObject fields, JsonObject sort, int limit, int skip,
+                   Handler<AsyncResult<List<JsonObject>>> resultHandler) {
+    findWithReadPreference(collection, query, fields, sort, limit, skip, null, resultHandler);
   }
 
   @Override
-  public void find(String collection, JsonObject query, JsonObject fields, JsonObject sort, int limit, int skip, Handler<AsyncResult<List<JsonObject>>> resultHandler) {
-    MongoView<Document> view = getView(collection, query, fields, sort, limit, skip);
+  public void findWithReadPreference(String collection, JsonObject query, JsonObject fields, JsonObject sort,
+                                     int limit, int skip, String readPreference,
+                                     Handler<AsyncResult<List<JsonObject>>> resultHandler) {
+    MongoCollection<Document> coll = getCollection(collection, null, readPreference, resultHandler);
+    if (coll == null) {
+      return;
+    }
+    if (cache != null && cache.caches(collection)) {
+      resultHandler = cache.lookup(collection, ResultCache.key("find", collection, query, fields, sort, limit, skip),
+          resultHandler);
+      if (resultHandler == null) {
+        return;
+      }
+    }
+    MongoView<Document> view = getView(coll, query, fields, sort, limit, skip);
     List<JsonObject> results = new ArrayList<>();
     MongoFuture<Void> future = view.forEach(res -> results.add(docToJsonObject(res)));
     adaptFuture(future, resultHandler, wr -> results);
   }
 
+  @Override
+  public void openCursor(String collection, JsonObject query, JsonObject fields, JsonObject sort, int limit, int skip,
+                         int batchSize, Handler<AsyncResult<String>> resultHandler) {
+    if (batchSize <= 0) {
+      resultHandler.handle(Future.completedFuture(new IllegalArgumentException("batchSize must be > 0")));
+      return;
+    }
+    // The id of a cursor tells the other instances where to forward it
+    String id = UUID.randomUUID().toString();
+    if (cursorAddress != null) {
+      id = cursorAddress + '#' + id;
+    }
+    FindCursor cursor = new FindCursor(id, getCollection(collection, null), jsonToDoc(query),
+        fields == null ? null : jsonToDoc(fields), sort == null || sort.size() == 0 ? null : jsonToDoc(sort),
+        limit, skip, batchSize);
+    cursors.put(cursor.id, cursor);
+    resultHandler.handle(Future.completedFuture(cursor.id));
+  }
+
+  @Override
+  public void nextBatch(String cursorID, Handler<AsyncResult<List<JsonObject>>> resultHandler) {
+    FindCursor cursor = cursors.get(cursorID);
+    if (cursor == null) {
+      MongoService owner = getCursorOwner(cursorID);
+      if (owner != null) {
+        owner.nextBatch(cursorID, resultHandler);
+      } else {
+        resultHandler.handle(Future.completedFuture(new IllegalStateException("Unknown cursor " + cursorID)));
+      }
+      return;
+    }
+    MongoView<Document> view;
+    try {
+      view = cursor.next();
+    } catch (IllegalStateException e) {
+      resultHandler.handle(Future.completedFuture(e));
+      return;
+    }
+    if (view == null) {
+      cursors.remove(cursorID);
+      resultHandler.handle(Future.completedFuture(Collections.emptyList()));
+      return;
+    }
+    List<JsonObject> batch = new ArrayList<>();
+    MongoFuture<Void> future = view.forEach(doc -> {
+      cursor.read(doc);
+      batch.add(docToJsonObject(doc));
+    });
+    adaptFuture(future, ar -> {
+      if (cursor.done(ar.succeeded() ? batch.size() : -1)) {
+        cursors.remove(cursorID);
+      }
+      resultHandler.handle(ar);
+    }, v -> batch);
+  }
+
+  @Override
+  public void closeCursor(String cursorID, Handler<AsyncResult<Void>> resultHandler) {
+    if (cursors.remove(cursorID) == null) {
+      MongoService owner = getCursorOwner(cursorID);
+      if (owner != null) {
+        owner.closeCursor(cursorID, resultHandler);
+        return;
+      }
+    }
+    resultHandler.handle(Future.completedFuture());
+  }
+
+  /**
+   * @return the proxy of the instance that opened a cursor, null when the cursor was opened by this instance or
+   * by a service that is not deployed
+   */
+  private MongoService getCursorOwner(String cursorID) {
+    int index = cursorID.lastIndexOf('#');
+    if (index == -1) {
+      return null;
+    }
+    String address = cursorID.substring(0, index);
+    if (address.equals(cursorAddress)) {
+      return null;
+    }
+    return cursorOwners.computeIfAbsent(address, key -> MongoService.createEventBusProxy(vertx, key));
+  }
+
   @Override
   public void findOne(String collection, JsonObject query, JsonObject fields, Handler<AsyncResult<JsonObject>> resultHandler) {
-    MongoView<Document> view = getView(collection, query, fields, null, -1, -1);
+    findOneWithReadPreference(collection, query, fields, null, resultHandler);
+  }
+
+  @Override
+  public void findOneWithReadPreference(String collection, JsonObject query, JsonObject fields, String readPreference,
+                                        Handler<AsyncResult<JsonObject>> resultHandler) {
+    MongoCollection<Document> coll = getCollection(collection, null, readPreference, resultHandler);
+    if (coll == null) {
+      return;
+    }
+    if (cache != null && cache.caches(collection)) {
+      resultHandler = cache.lookup(collection, ResultCache.key("findOne", collection, query, fields, null, -1, -1),
+          resultHandler);
+      if (resultHandler == null) {
+        return;
+      }
+    }
+    MongoView<Document> view = getView(coll, query, fields, null, -1, -1);
     MongoFuture<Document> future = view.one();
     adaptFuture(future, resultHandler, (Document doc) -> {
       return doc == null ? null : docToJsonObject(doc);
@@ -124,9 +520,14 @@ public class MongoServiceImpl implements MongoService {
 
   @Override
   public void delete(String collection, JsonObject query, String writeConcern, Handler<AsyncResult<Void>> resultHandler) {
-    MongoView<Document> view = getView(collection, query, null, null, -1, -1);
+    resultHandler = invalidating(collection, resultHandler);
+    MongoCollection<Document> coll = getCollection(collection, writeConcern, resultHandler);
+    if (coll == null) {
+      return;
+    }
+    MongoView<Document> view = getView(coll, query, null, null, -1, -1);
     MongoFuture<WriteResult> future = view.remove();
-    adaptFuture(future, resultHandler);
+    adaptWrite(future, writeConcern, resultHandler, null);
   }
 
   @Override
@@ -143,11 +544,20 @@ public class MongoServiceImpl implements MongoService {
 
   @Override
   public void dropCollection(String collection, Handler<AsyncResult<Void>> resultHandler) {
+    resultHandler = invalidating(collection, resultHandler);
     MongoCollection<Document> coll = getCollection(collection, null);
     MongoFuture<Void> future = coll.tools().drop();
+    collections.keySet().removeIf(key -> key.startsWith(collection + '\0'));
     adaptFuture(future, resultHandler, v -> null);
   }
 
+  @Override
+  public void getCacheStats(Handler<AsyncResult<JsonObject>> resultHandler) {
+    JsonObject stats = cache != null ? cache.stats() :
+        new JsonObject().putNumber("hits", 0).putNumber("misses", 0).putNumber("entries", 0).putNumber("bytes", 0);
+    resultHandler.handle(Future.completedFuture(stats));
+  }
+
   @Override
   public void runCommand(String collection, JsonObject command, Handler<AsyncResult<JsonObject>> resultHandler) {
     Document mCommand = jsonToDoc(command);
@@ -157,8 +567,34 @@ public class MongoServiceImpl implements MongoService {
     });
   }
 
-  private void adaptFuture(MongoFuture<WriteResult> future, Handler<AsyncResult<Void>> resultHandler) {
-    adaptFuture(future, resultHandler, wr -> null);
+  // The cached results of the collection are invalidated before the write and once it is completed
+  private <T> Handler<AsyncResult<T>> invalidating(String collection, Handler<AsyncResult<T>> resultHandler) {
+    if (cache == null) {
+      return resultHandler;
+    }
+    cache.invalidate(collection);
+    return ar -> {
+      cache.invalidate(collection);
+      resultHandler.handle(ar);
+    };
+  }
+
+  // Invalidates the cached results of the collection once a write whose caller does not wait for it is completed
+  private <T> Handler<AsyncResult<T>> invalidated(String collection) {
+    if (cache == null) {
+      return ar -> {};
+    }
+    return ar -> cache.invalidate(collection);
+  }
+
+  // The handler of an unacknowledged write is called at once, without waiting for the write nor a context hop
+  private <U> void adaptWrite(MongoFuture<WriteResult> future, String writeConcern,
+                              Handler<AsyncResult<U>> resultHandler, U result) {
+    if (unacknowledged(writeConcern)) {
+      resultHandler.handle(Future.completedFuture(result));
+    } else {
+      adaptFuture(future, resultHandler, wr -> result);
+    }
   }
 
   private <T, U> void adaptFuture(MongoFuture<T> future, Handler<AsyncResult<U>> resultHandler, Function<T, U> converter) {
@@ -174,6 +610,11 @@ public class MongoServiceImpl implements MongoService {
     });
   }
 
+  private void expireCursors() {
+    long now = System.currentTimeMillis();
+    cursors.values().removeIf(cursor -> now - cursor.lastAccess >= cursorTimeout);
+  }
+
   private String generateID(JsonObject document) {
     // TODO - is it right that we generate the id here?
     String genID;
@@ -186,9 +627,8 @@ public class MongoServiceImpl implements MongoService {
     return genID;
   }
 
-  private MongoView<Document> getView(String collection, JsonObject query, JsonObject fields, JsonObject sort,
-                                      int limit, int skip) {
-    MongoCollection<Document> coll = getCollection(collection, null);
+  private MongoView<Document> getView(MongoCollection<Document> coll, JsonObject query, JsonObject fields,
+                                      JsonObject sort, int limit, int skip) {
     Document mQuery = jsonToDoc(query);
     Document mFields = jsonToDoc(fields);
     Document mSort = jsonToDoc(sort);
@@ -208,65 +648,85 @@ public class MongoServiceImpl implements MongoService {
     return view;
   }
 
+  /**
+   * @return the collection or null when the write concern is not valid, the handler is then failed
+   */
+  private <T> MongoCollection<Document> getCollection(String name, String writeConcern,
+                                                      Handler<AsyncResult<T>> resultHandler) {
+    return getCollection(name, writeConcern, null, resultHandler);
+  }
+
+  /**
+   * @return the collection or null when the write concern or the read preference is not valid, the handler is then
+   * failed
+   */
+  private <T> MongoCollection<Document> getCollection(String name, String writeConcern, String readPreference,
+                                                      Handler<AsyncResult<T>> resultHandler) {
+    try {
+      return getCollection(name, writeConcern, readPreference);
+    } catch (IllegalArgumentException e) {
+      resultHandler.handle(Future.completedFuture(e));
+      return null;
+    }
+  }
+
   private MongoCollection<Document> getCollection(String name, String writeConcern) {
-//    MongoCollectionOptions.Builder builder = MongoCollectionOptions.builder();
-//    builder.readPreference(ReadPreference.nearest()); // FIXME shouldn't this be defaulted automatically?
-//    if (writeConcern != null) {
-//      WriteConcern wc = WriteConcern.valueOf(writeConcern);
-//      if (wc == null) {
-//        throw new IllegalArgumentException("Invalid WriteConcern: " + writeConcern);
-//      }
-//      builder.writeConcern(wc);
-//    } else {
-//      builder.writeConcern(WriteConcern.SAFE); // FIXME - shouldn't this be defaulted automatically?
-//    }
-//    return db.getCollection(name, builder.build());
-    return db.getCollection(name);
-  }
-
-  // TODO better conversion
-  private JsonObject docToJsonObject(Document doc) {
-    JsonObject json = new JsonObject();
-    for (Map.Entry<String, Object> entry: doc.entrySet()) {
-      String key = entry.getKey();
-      Object value = entry.getValue();
-      if (value instanceof Date) {
-        // Convert to long
-        json.putNumber(key, ((Date)value).getTime());
-      } else if (value instanceof ObjectId) {
-        // Convert to String
-        json.getString(key, ((ObjectId)value).toHexString());
-      } else if (value instanceof Document) {
-        json.putValue(key, docToJsonObject((Document) value));
-      } else if (value instanceof List) {
-        json.putValue(key, new JsonArray((List)value));
-      } else {
-        json.putValue(key, value);
-      }
+    return getCollection(name, writeConcern, (String) null);
+  }
+
+  private MongoCollection<Document> getCollection(String name, String writeConcern, String readPreference) {
+    if (writeConcern == null && readPreference == null) {
+      return db.getCollection(name);
     }
-    return json;
+    WriteConcern wc = writeConcern != null ? getWriteConcern(writeConcern) : null;
+    ReadPreference rp = readPreference != null ? getReadPreference(readPreference) : null;
+    return collections.computeIfAbsent(name + '\0' + writeConcern + '\0' + readPreference, key -> {
+      MongoCollectionOptions.Builder builder = MongoCollectionOptions.builder();
+      if (wc != null) {
+        builder.writeConcern(wc);
+      }
+      if (rp != null) {
+        builder.readPreference(rp);
+      }
+      return db.getCollection(name, builder.build());
+    });
   }
 
-  private Document jsonToDoc(JsonObject jsonObject) {
-    if (jsonObject == null) {
-      return new Document();
-    } else {
-      return jsonToDoc(jsonObject.toMap());
+  private WriteConcern getWriteConcern(String writeConcern) {
+    WriteConcern wc = writeConcerns.get(writeConcern);
+    if (wc == null) {
+      wc = WriteConcern.valueOf(writeConcern);
+      if (wc == null) {
+        throw new IllegalArgumentException("Invalid WriteConcern: " + writeConcern);
+      }
+      writeConcerns.put(writeConcern, wc);
     }
+    return wc;
   }
 
-  // FIXME - this is very slow - there should be a better way of converting Map to Document in Mongo API!
-  private Document jsonToDoc(Map<String, Object> map) {
-    Document doc = new Document();
-    for (Map.Entry<String, Object> entry: map.entrySet()) {
-      if (entry.getValue() instanceof Map) {
-        Map inner = (Map)entry.getValue();
-        doc.put(entry.getKey(), jsonToDoc(inner));
-      } else {
-        doc.put(entry.getKey(), entry.getValue());
+  private ReadPreference getReadPreference(String readPreference) {
+    ReadPreference rp = readPreferences.get(readPreference);
+    if (rp == null) {
+      try {
+        rp = ReadPreference.valueOf(readPreference);
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Invalid ReadPreference: " + readPreference);
       }
+      readPreferences.put(readPreference, rp);
     }
-    return doc;
+    return rp;
+  }
+
+  private boolean unacknowledged(String writeConcern) {
+    return writeConcern != null && !getWriteConcern(writeConcern).isAcknowledged();
+  }
+
+  private JsonObject docToJsonObject(Document doc) {
+    return converter.toJsonObject(doc);
+  }
+
+  private Document jsonToDoc(JsonObject json) {
+    return converter.toDocument(json);
   }
 
 }
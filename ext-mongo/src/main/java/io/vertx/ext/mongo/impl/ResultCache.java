@@ -0,0 +1,244 @@
+package io.vertx.ext.mongo.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Caches the results of the finds of a service, keyed by the collection, the query, the fields, the sort, the limit
+ * and the skip. The field order of the query and of the fields does not matter, the one of the sort does.<p>
+ * The cache holds no more than {@code max_entries} results and {@code max_bytes} bytes of documents, as estimated from
+ * their JSON encoding, the least recently used results are evicted first. A result expires {@code ttl} milliseconds
+ * after it was read from the database.<p>
+ * The results of a collection are invalidated when the service writes to it, before the write and once it is
+ * completed. A find that was reading while the collection was invalidated does not cache its result. Writes that do
+ * not go through the service, or that are unacknowledged, are only seen once the results expire.<p>
+ * Instances of this class are thread-safe.
+ */
+class ResultCache {
+
+  static final int DEFAULT_MAX_ENTRIES = 1000;
+  static final long DEFAULT_MAX_BYTES = 16 * 1024 * 1024;
+  static final long DEFAULT_TTL = 60 * 1000;
+
+  // Null when all the collections are cached
+  private final Set<String> collections;
+  private final int maxEntries;
+  private final long maxBytes;
+  private final long ttl;
+  // In access order, the eldest is the least recently used
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  // Incremented when a collection is invalidated
+  private final Map<String, Long> generations = new HashMap<>();
+  private long bytes;
+  private long hits;
+  private long misses;
+
+  ResultCache(JsonObject config) {
+    JsonArray names = config.getArray("collections");
+    if (names != null) {
+      collections = new HashSet<>();
+      for (Object name : names) {
+        collections.add((String) name);
+      }
+    } else {
+      collections = null;
+    }
+    this.maxEntries = config.getInteger("max_entries", DEFAULT_MAX_ENTRIES);
+    this.maxBytes = config.getLong("max_bytes", DEFAULT_MAX_BYTES);
+    this.ttl = config.getLong("ttl", DEFAULT_TTL);
+    if (maxEntries <= 0) {
+      throw new IllegalArgumentException("max_entries must be > 0");
+    }
+    if (maxBytes <= 0) {
+      throw new IllegalArgumentException("max_bytes must be > 0");
+    }
+    if (ttl <= 0) {
+      throw new IllegalArgumentException("ttl must be > 0");
+    }
+  }
+
+  boolean caches(String collection) {
+    return collections == null || collections.contains(collection);
+  }
+
+  static String key(String kind, String collection, JsonObject query, JsonObject fields, JsonObject sort, int limit,
+                    int skip) {
+    StringBuilder key = new StringBuilder(kind).append('\0').append(collection).append('\0');
+    normalize(query, key);
+    key.append('\0');
+    normalize(fields, key);
+    key.append('\0').append(sort == null ? "null" : sort.encode());
+    return key.append('\0').append(limit).append('\0').append(skip).toString();
+  }
+
+  // The fields in name order
+  private static void normalize(Object value, StringBuilder key) {
+    if (value instanceof JsonObject) {
+      JsonObject obj = (JsonObject) value;
+      key.append('{');
+      boolean first = true;
+      for (String name : new TreeSet<>(obj.getFieldNames())) {
+        if (!first) {
+          key.append(',');
+        }
+        first = false;
+        key.append(new JsonArray().addString(name).encode()).append(':');
+        normalize(obj.getValue(name), key);
+      }
+      key.append('}');
+    } else if (value instanceof JsonArray) {
+      key.append('[');
+      boolean first = true;
+      for (Object elem : (JsonArray) value) {
+        if (!first) {
+          key.append(',');
+        }
+        first = false;
+        normalize(elem, key);
+      }
+      key.append(']');
+    } else {
+      // Encoded as an array element so that strings, numbers and binaries are told apart
+      key.append(new JsonArray().add(value).encode());
+    }
+  }
+
+  /**
+   * @return null when the result is cached, the handler is then called with a copy of it, otherwise a handler caching
+   * the result of the find before calling the handler
+   */
+  <T> Handler<AsyncResult<T>> lookup(String collection, String key, Handler<AsyncResult<T>> resultHandler) {
+    Object cached = null;
+    boolean hit = false;
+    long generation;
+    synchronized (this) {
+      Entry entry = entries.get(key);
+      if (entry != null && entry.expires <= System.currentTimeMillis()) {
+        remove(key);
+        entry = null;
+      }
+      if (entry != null) {
+        hits++;
+        hit = true;
+        cached = entry.value;
+      } else {
+        misses++;
+      }
+      generation = generations.getOrDefault(collection, 0L);
+    }
+    if (hit) {
+      @SuppressWarnings("unchecked")
+      T result = (T) copy(cached);
+      resultHandler.handle(Future.completedFuture(result));
+      return null;
+    }
+    return ar -> {
+      if (ar.succeeded()) {
+        put(collection, generation, key, copy(ar.result()));
+      }
+      resultHandler.handle(ar);
+    };
+  }
+
+  synchronized void invalidate(String collection) {
+    generations.merge(collection, 1L, Long::sum);
+    for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+      Entry entry = it.next();
+      if (entry.collection.equals(collection)) {
+        it.remove();
+        bytes -= entry.bytes;
+      }
+    }
+  }
+
+  synchronized JsonObject stats() {
+    return new JsonObject()
+        .putNumber("hits", hits)
+        .putNumber("misses", misses)
+        .putNumber("entries", entries.size())
+        .putNumber("bytes", bytes);
+  }
+
+  private void put(String collection, long generation, String key, Object value) {
+    long size = key.length() + size(value);
+    if (size > maxBytes) {
+      return;
+    }
+    synchronized (this) {
+      if (generations.getOrDefault(collection, 0L) != generation) {
+        return;
+      }
+      remove(key);
+      entries.put(key, new Entry(collection, value, size, System.currentTimeMillis() + ttl));
+      bytes += size;
+      Iterator<Entry> eldest = entries.values().iterator();
+      while (entries.size() > maxEntries || bytes > maxBytes) {
+        bytes -= eldest.next().bytes;
+        eldest.remove();
+      }
+    }
+  }
+
+  private void remove(String key) {
+    Entry removed = entries.remove(key);
+    if (removed != null) {
+      bytes -= removed.bytes;
+    }
+  }
+
+  // The results are copied in and out since the callers can modify them
+  private static Object copy(Object value) {
+    if (value instanceof JsonObject) {
+      return ((JsonObject) value).copy();
+    } else if (value instanceof List) {
+      List<?> list = (List<?>) value;
+      List<JsonObject> copy = new ArrayList<>(list.size());
+      for (Object doc : list) {
+        copy.add(((JsonObject) doc).copy());
+      }
+      return copy;
+    }
+    return value;
+  }
+
+  private static long size(Object value) {
+    if (value instanceof JsonObject) {
+      return ((JsonObject) value).encode().length();
+    } else if (value instanceof List) {
+      long size = 0;
+      for (Object doc : (List<?>) value) {
+        size += ((JsonObject) doc).encode().length();
+      }
+      return size;
+    }
+    return 0;
+  }
+
+  private static final class Entry {
+
+    final String collection;
+    final Object value;
+    final long bytes;
+    final long expires;
+
+    Entry(String collection, Object value, long bytes, long expires) {
+      this.collection = collection;
+      this.value = value;
+      this.bytes = bytes;
+      this.expires = expires;
+    }
+  }
+}
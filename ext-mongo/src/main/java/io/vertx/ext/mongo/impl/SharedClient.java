@@ -0,0 +1,67 @@
+package io.vertx.ext.mongo.impl;
+
+import com.mongodb.async.client.MongoClient;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+
+import java.util.function.Supplier;
+
+/**
+ * A Mongo client shared by name between the services of a Vert.x instance, such as the instances of a
+ * {@link io.vertx.ext.mongo.MongoServiceVerticle}. The services sharing a client share its connection pools and
+ * monitoring threads, the client is closed when the last of them releases it.<p>
+ * The services sharing a client must configure it the same way.
+ */
+class SharedClient implements Shareable {
+
+  private static final String CLIENTS_MAP_NAME = "__vertx.MongoService.clients";
+  // Guards the lookups and the updates of the clients map
+  private static final Object lock = new Object();
+
+  private final MongoClient mongo;
+  private final JsonObject config;
+  // Guarded by the lock
+  private int refCount = 1;
+
+  private SharedClient(MongoClient mongo, JsonObject config) {
+    this.mongo = mongo;
+    this.config = config;
+  }
+
+  /**
+   * @param config the settings of the client, used to check that the services sharing it agree on them
+   * @param factory creates the client when it is not shared yet
+   */
+  static MongoClient acquire(Vertx vertx, String name, JsonObject config, Supplier<MongoClient> factory) {
+    synchronized (lock) {
+      LocalMap<String, SharedClient> clients = vertx.sharedData().getLocalMap(CLIENTS_MAP_NAME);
+      SharedClient client = clients.get(name);
+      if (client == null) {
+        client = new SharedClient(factory.get(), config);
+        clients.put(name, client);
+      } else if (!client.config.equals(config)) {
+        throw new IllegalStateException("The shared client " + name + " is already configured differently");
+      } else {
+        client.refCount++;
+      }
+      return client.mongo;
+    }
+  }
+
+  static void release(Vertx vertx, String name) {
+    MongoClient closed = null;
+    synchronized (lock) {
+      LocalMap<String, SharedClient> clients = vertx.sharedData().getLocalMap(CLIENTS_MAP_NAME);
+      SharedClient client = clients.get(name);
+      if (client != null && --client.refCount == 0) {
+        clients.remove(name);
+        closed = client.mongo;
+      }
+    }
+    if (closed != null) {
+      closed.close();
+    }
+  }
+}
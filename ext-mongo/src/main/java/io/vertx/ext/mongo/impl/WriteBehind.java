@@ -0,0 +1,223 @@
+package io.vertx.ext.mongo.impl;
+
+import com.mongodb.async.MongoFuture;
+import com.mongodb.async.client.MongoCollection;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.mongodb.Document;
+import org.mongodb.WriteResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Coalesces the inserts and the saves of a collection into batches.<p>
+ * A batch of inserts is written with one multi-document insert, the driver packs its documents in as few messages
+ * as their size allows. The insert stops at the first document that fails and all the writes of the batch then fail
+ * with the error of the driver, although the documents before the failed one are inserted. The driver has no
+ * multi-document save, a batch of saves is written as an unordered {@link BulkWrite bulk write} of pipelined
+ * single-document saves, each failing on its own: batching the saves only coalesces their callbacks and bounds the
+ * number of saves in flight.<p>
+ * A batch is flushed when it holds {@code batch_size} documents or {@code flush_interval} milliseconds after its
+ * first document was queued. The handler of a write is called once its batch is acknowledged, on the context of the
+ * caller.<p>
+ * No more than {@code max_queued} documents are queued or being written, a write that would exceed this bound fails
+ * at once with an {@link IllegalStateException} so the caller can slow down instead of growing the queue.<p>
+ * Instances of this class are thread-safe.
+ */
+class WriteBehind {
+
+  static final int DEFAULT_BATCH_SIZE = 1000;
+  static final long DEFAULT_FLUSH_INTERVAL = 5;
+  static final int DEFAULT_MAX_QUEUED = 100000;
+
+  private final Vertx vertx;
+  private final int batchSize;
+  private final long flushInterval;
+  private final int maxQueued;
+  // The batches being filled by collection, write concern and kind of write
+  private final Map<String, Batch> batches = new HashMap<>();
+  private int queued;
+
+  WriteBehind(Vertx vertx, JsonObject config) {
+    this.vertx = vertx;
+    this.batchSize = config.getInteger("batch_size", DEFAULT_BATCH_SIZE);
+    this.flushInterval = config.getLong("flush_interval", DEFAULT_FLUSH_INTERVAL);
+    this.maxQueued = config.getInteger("max_queued", DEFAULT_MAX_QUEUED);
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("batch_size must be > 0");
+    }
+    if (flushInterval <= 0) {
+      throw new IllegalArgumentException("flush_interval must be > 0");
+    }
+    if (maxQueued < batchSize) {
+      throw new IllegalArgumentException("max_queued must be >= batch_size");
+    }
+  }
+
+  void write(String key, MongoCollection<Document> coll, Document doc, boolean save, String genID,
+             Handler<AsyncResult<String>> resultHandler) {
+    Write write = new Write(doc, genID, vertx.context(), resultHandler);
+    String batchKey = key + (save ? "\0save" : "\0insert");
+    Batch full = null;
+    synchronized (this) {
+      if (queued == maxQueued) {
+        write = null;
+      } else {
+        queued++;
+        Batch batch = batches.get(batchKey);
+        if (batch == null) {
+          Batch created = new Batch(coll, save);
+          batches.put(batchKey, created);
+          created.timerID = vertx.setTimer(flushInterval, id -> expire(batchKey, created));
+          batch = created;
+        }
+        batch.writes.add(write);
+        if (batch.writes.size() == batchSize) {
+          batches.remove(batchKey);
+          vertx.cancelTimer(batch.timerID);
+          full = batch;
+        }
+      }
+    }
+    if (write == null) {
+      resultHandler.handle(Future.completedFuture(new IllegalStateException("The write-behind queue is full, " +
+          maxQueued + " documents are queued or being written")));
+    } else if (full != null) {
+      flush(full);
+    }
+  }
+
+  /**
+   * Fail the writes that are not being written yet.
+   */
+  void close() {
+    List<Batch> closed;
+    synchronized (this) {
+      closed = new ArrayList<>(batches.values());
+      batches.clear();
+      for (Batch batch : closed) {
+        vertx.cancelTimer(batch.timerID);
+        queued -= batch.writes.size();
+      }
+    }
+    for (Batch batch : closed) {
+      for (Write write : batch.writes) {
+        write.complete(null, new IllegalStateException("The service is stopped"));
+      }
+    }
+  }
+
+  private void expire(String key, Batch batch) {
+    synchronized (this) {
+      if (!batches.remove(key, batch)) {
+        return;
+      }
+    }
+    flush(batch);
+  }
+
+  private void flush(Batch batch) {
+    Context context = batch.writes.get(0).context;
+    if (!batch.save) {
+      insert(batch, context);
+      return;
+    }
+    List<BulkWrite.Operation> operations = new ArrayList<>(batch.writes.size());
+    for (Write write : batch.writes) {
+      operations.add(() -> batch.coll.save(write.doc));
+    }
+    new BulkWrite(operations, new Object[operations.size()], false, context, ar -> {
+      synchronized (this) {
+        queued -= batch.writes.size();
+      }
+      JsonArray results = ar.result().getArray("results");
+      for (Object elem : results) {
+        JsonObject result = (JsonObject) elem;
+        Write write = batch.writes.get(result.getInteger("index"));
+        String error = result.getString("error");
+        write.complete(context, error != null ? new WriteBehindException(error) : null);
+      }
+    }).start();
+  }
+
+  private void insert(Batch batch, Context context) {
+    List<Document> docs = new ArrayList<>(batch.writes.size());
+    for (Write write : batch.writes) {
+      docs.add(write.doc);
+    }
+    MongoFuture<WriteResult> future;
+    try {
+      future = batch.coll.insert(docs);
+    } catch (RuntimeException e) {
+      inserted(batch, context, e);
+      return;
+    }
+    future.register((res, e) -> inserted(batch, context, e));
+  }
+
+  private void inserted(Batch batch, Context context, Throwable cause) {
+    synchronized (this) {
+      queued -= batch.writes.size();
+    }
+    context.runOnContext(v -> {
+      for (Write write : batch.writes) {
+        write.complete(context, cause);
+      }
+    });
+  }
+
+  private static final class Batch {
+
+    final MongoCollection<Document> coll;
+    final boolean save;
+    final List<Write> writes = new ArrayList<>();
+    long timerID;
+
+    Batch(MongoCollection<Document> coll, boolean save) {
+      this.coll = coll;
+      this.save = save;
+    }
+  }
+
+  private static final class Write {
+
+    final Document doc;
+    final String genID;
+    final Context context;
+    final Handler<AsyncResult<String>> resultHandler;
+
+    Write(Document doc, String genID, Context context, Handler<AsyncResult<String>> resultHandler) {
+      this.doc = doc;
+      this.genID = genID;
+      this.context = context;
+      this.resultHandler = resultHandler;
+    }
+
+    /**
+     * @param current the context of the calling thread
+     */
+    void complete(Context current, Throwable cause) {
+      AsyncResult<String> result = cause != null ? Future.completedFuture(cause) : Future.completedFuture(genID);
+      if (context == current) {
+        resultHandler.handle(result);
+      } else {
+        context.runOnContext(v -> resultHandler.handle(result));
+      }
+    }
+  }
+
+  private static final class WriteBehindException extends RuntimeException {
+
+    WriteBehindException(String message) {
+      super(message);
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+var utils = require('vertx-js/util/utils');
+var MongoService = require('ext-mongo-js/mongo_service');
+
+var io = Packages.io;
+var JsonObject = io.vertx.core.json.JsonObject;
+var JMongoFindStream = io.vertx.ext.mongo.MongoFindStream;
+
+/**
+ Reads the results of a find one document at a time with flow control.<p>
+ The documents are read in batches from a cursor of the {@link MongoService}, the next batch is only read when the
+ documents of the previous batch have been handled and the stream is not paused, so no more than a batch is held
+ in memory. The service can be an event bus proxy.<p>
+ Instances of this class are not thread-safe.<p>
+
+ @class
+*/
+var MongoFindStream = function(j_val) {
+
+  var j_mongoFindStream = j_val;
+  var that = this;
+
+  /*
+   Set a data handler. The find starts when the handler is set.
+  */
+  this.dataHandler = function(handler) {
+    var __args = arguments;
+    if (__args.length === 1 && typeof __args[0] === 'function') {
+      j_mongoFindStream.dataHandler(function(jVal) {
+      handler(utils.convJsonToJS(jVal));
+    });
+      return that;
+    } else utils.invalidArgs();
+  };
+
+  /*
+   Pause the stream, no more documents are handled and no more batches are read until it is resumed.
+  */
+  this.pause = function() {
+    var __args = arguments;
+    if (__args.length === 0) {
+      j_mongoFindStream.pause();
+      return that;
+    } else utils.invalidArgs();
+  };
+
+  /*
+   Resume reading the documents.
+  */
+  this.resume = function() {
+    var __args = arguments;
+    if (__args.length === 0) {
+      j_mongoFindStream.resume();
+      return that;
+    } else utils.invalidArgs();
+  };
+
+  /*
+   Set an end handler. Once the last document has been handled the end handler will be called.
+  */
+  this.endHandler = function(endHandler) {
+    var __args = arguments;
+    if (__args.length === 1 && typeof __args[0] === 'function') {
+      j_mongoFindStream.endHandler(endHandler);
+      return that;
+    } else utils.invalidArgs();
+  };
+
+  /*
+   Set an exception handler, the stream ends without calling the end handler when a batch fails.
+  */
+  this.exceptionHandler = function(handler) {
+    var __args = arguments;
+    if (__args.length === 1 && typeof __args[0] === 'function') {
+      j_mongoFindStream.exceptionHandler(function(jVal) {
+      handler(jVal);
+    });
+      return that;
+    } else utils.invalidArgs();
+  };
+
+  /*
+   Stop reading the documents and close the cursor.
+  */
+  this.close = function() {
+    var __args = arguments;
+    if (__args.length === 0) {
+      j_mongoFindStream.close();
+    } else utils.invalidArgs();
+  };
+
+  this._vertxgen = true;
+
+  // Get a reference to the underlying Java delegate
+  this._jdel = function() {
+    return j_mongoFindStream;
+  }
+
+};
+
+MongoFindStream.find = function(service, collection, query, fields, sort, limit, skip, batchSize) {
+  var __args = arguments;
+  if (__args.length === 8 && typeof __args[0] === 'object' && __args[0]._vertxgen && typeof __args[1] === 'string' && typeof __args[2] === 'object' && typeof __args[3] === 'object' && typeof __args[4] === 'object' && typeof __args[5] ==='number' && typeof __args[6] ==='number' && typeof __args[7] ==='number') {
+    return new MongoFindStream(JMongoFindStream.find(service._jdel(), collection, utils.convJSObjectToJsonObject(query), utils.convJSObjectToJsonObject(fields), utils.convJSObjectToJsonObject(sort), limit, skip, batchSize));
+  } else utils.invalidArgs();
+};
+
+// We export the Constructor function
+module.exports = MongoFindStream;
\ No newline at end of file
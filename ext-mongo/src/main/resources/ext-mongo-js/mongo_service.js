@@ -55,6 +55,57 @@ var MongoService = function(j_val) {
     } else utils.invalidArgs();
   };
 
+  /*
+   Insert documents with a single call, the ids of the documents without an {@code _id} are generated. The result
+   is the one of {@code bulkWrite}.<p>
+   An ordered insert writes all the documents with one multi-document insert, the driver packs them in as few
+   messages as their size allows. It stops at the first document that fails, the documents before it are inserted
+   and the insert fails with the error of the driver, which does not tell the failed document.<p>
+   An unordered insert writes each document on its own as pipelined single-document writes, as {@code bulkWrite},
+   so that each document that fails is reported and the others are all inserted.
+  */
+  this.insertMany = function(collection, documents, writeConcern, ordered, resultHandler) {
+    var __args = arguments;
+    if (__args.length === 5 && typeof __args[0] === 'string' && typeof __args[1] === 'object' && typeof __args[2] === 'string' && typeof __args[3] ==='boolean' && typeof __args[4] === 'function') {
+      j_mongoService.insertMany(collection, utils.convJSArrayToJsonArray(documents), writeConcern, ordered, function(ar) {
+      if (ar.succeeded()) {
+        resultHandler(utils.convJsonToJS(ar.result()), null);
+      } else {
+        resultHandler(null, ar.cause());
+      }
+    });
+    } else utils.invalidArgs();
+  };
+
+  /*
+   Execute write operations with a single call. An operation is an object whose {@code type} is
+   <ul>
+     <li>{@code insert} or {@code save} with a {@code document}</li>
+     <li>{@code update} with a {@code query}, an {@code update} and the optional {@code upsert} and {@code multi}
+     booleans</li>
+     <li>{@code delete} with a {@code query}</li>
+   </ul>
+   The driver has no bulk API, the operations are executed as pipelined single-document writes, each one a round
+   trip to the database. An unordered bulk write sends up to 128 of them at a time and executes them all in any
+   order. An ordered bulk write executes them one after the other and stops at the first error, it is no faster
+   than a loop of single writes.<p>
+   The result has the {@code ok} and {@code errors} counts and the {@code results} of the executed operations by
+   index, each with the {@code index} of the operation and either the {@code _id} of the inserted or saved
+   document or the {@code error} message. The bulk write fails when an operation is not valid.
+  */
+  this.bulkWrite = function(collection, operations, writeConcern, ordered, resultHandler) {
+    var __args = arguments;
+    if (__args.length === 5 && typeof __args[0] === 'string' && typeof __args[1] === 'object' && typeof __args[2] === 'string' && typeof __args[3] ==='boolean' && typeof __args[4] === 'function') {
+      j_mongoService.bulkWrite(collection, utils.convJSArrayToJsonArray(operations), writeConcern, ordered, function(ar) {
+      if (ar.succeeded()) {
+        resultHandler(utils.convJsonToJS(ar.result()), null);
+      } else {
+        resultHandler(null, ar.cause());
+      }
+    });
+    } else utils.invalidArgs();
+  };
+
   this.update = function(collection, query, update, writeConcern, upsert, multi, resultHandler) {
     var __args = arguments;
     if (__args.length === 7 && typeof __args[0] === 'string' && typeof __args[1] === 'object' && typeof __args[2] === 'object' && typeof __args[3] === 'string' && typeof __args[4] ==='boolean' && typeof __args[5] ==='boolean' && typeof __args[6] === 'function') {
@@ -68,6 +119,10 @@ var MongoService = function(j_val) {
     } else utils.invalidArgs();
   };
 
+  /*
+   Find the documents matching a query. The whole result is held in memory, large results should be read in batches
+   with a cursor or a {@link MongoFindStream}.
+  */
   this.find = function(collection, query, fields, sort, limit, skip, resultHandler) {
     var __args = arguments;
     if (__args.length === 7 && typeof __args[0] === 'string' && typeof __args[1] === 'object' && typeof __args[2] === 'object' && typeof __args[3] === 'object' && typeof __args[4] ==='number' && typeof __args[5] ==='number' && typeof __args[6] === 'function') {
@@ -81,6 +136,77 @@ var MongoService = function(j_val) {
     } else utils.invalidArgs();
   };
 
+  /*
+   Like {@link MongoService#find}, reading from the members of the replica set chosen by a read preference.
+  */
+  this.findWithReadPreference = function(collection, query, fields, sort, limit, skip, readPreference, resultHandler) {
+    var __args = arguments;
+    if (__args.length === 8 && typeof __args[0] === 'string' && typeof __args[1] === 'object' && typeof __args[2] === 'object' && typeof __args[3] === 'object' && typeof __args[4] ==='number' && typeof __args[5] ==='number' && typeof __args[6] === 'string' && typeof __args[7] === 'function') {
+      j_mongoService.findWithReadPreference(collection, utils.convJSObjectToJsonObject(query), utils.convJSObjectToJsonObject(fields), utils.convJSObjectToJsonObject(sort), limit, skip, readPreference, function(ar) {
+      if (ar.succeeded()) {
+        resultHandler(utils.convListSetJson(ar.result()), null);
+      } else {
+        resultHandler(null, ar.cause());
+      }
+    });
+    } else utils.invalidArgs();
+  };
+
+  /*
+   Open a cursor reading the results of a find in batches, no more than a batch of the results is held in memory.
+   The results of a find without sort are ordered by {@code _id}.<p>
+   A cursor is not a snapshot, each batch is a query of its own that sees the writes made since the previous one.
+   The batches of a sorted find skip over the previous results, so a document written or deleted before the
+   position of the cursor makes the next batch repeat or miss a result, and each batch costs more than the previous
+   one. A find without sort resumes after the last {@code _id} read.<p>
+   A cursor that is not read for {@code cursor_timeout} milliseconds (10 minutes by default) is closed.
+  */
+  this.openCursor = function(collection, query, fields, sort, limit, skip, batchSize, resultHandler) {
+    var __args = arguments;
+    if (__args.length === 8 && typeof __args[0] === 'string' && typeof __args[1] === 'object' && typeof __args[2] === 'object' && typeof __args[3] === 'object' && typeof __args[4] ==='number' && typeof __args[5] ==='number' && typeof __args[6] ==='number' && typeof __args[7] === 'function') {
+      j_mongoService.openCursor(collection, utils.convJSObjectToJsonObject(query), utils.convJSObjectToJsonObject(fields), utils.convJSObjectToJsonObject(sort), limit, skip, batchSize, function(ar) {
+      if (ar.succeeded()) {
+        resultHandler(ar.result(), null);
+      } else {
+        resultHandler(null, ar.cause());
+      }
+    });
+    } else utils.invalidArgs();
+  };
+
+  /*
+   Read the next batch of a cursor. A batch smaller than the batch size is the last one, the cursor is then closed.
+   When the last results fill a batch, the batch after it is empty. Only one batch of a cursor can be read at a time.
+  */
+  this.nextBatch = function(cursorID, resultHandler) {
+    var __args = arguments;
+    if (__args.length === 2 && typeof __args[0] === 'string' && typeof __args[1] === 'function') {
+      j_mongoService.nextBatch(cursorID, function(ar) {
+      if (ar.succeeded()) {
+        resultHandler(utils.convListSetJson(ar.result()), null);
+      } else {
+        resultHandler(null, ar.cause());
+      }
+    });
+    } else utils.invalidArgs();
+  };
+
+  /*
+   Close a cursor before its last batch is read.
+  */
+  this.closeCursor = function(cursorID, resultHandler) {
+    var __args = arguments;
+    if (__args.length === 2 && typeof __args[0] === 'string' && typeof __args[1] === 'function') {
+      j_mongoService.closeCursor(cursorID, function(ar) {
+      if (ar.succeeded()) {
+        resultHandler(null, null);
+      } else {
+        resultHandler(null, ar.cause());
+      }
+    });
+    } else utils.invalidArgs();
+  };
+
   this.findOne = function(collection, query, fields, resultHandler) {
     var __args = arguments;
     if (__args.length === 4 && typeof __args[0] === 'string' && typeof __args[1] === 'object' && typeof __args[2] === 'object' && typeof __args[3] === 'function') {
@@ -94,6 +220,22 @@ var MongoService = function(j_val) {
     } else utils.invalidArgs();
   };
 
+  /*
+   Like {@link MongoService#findOne}, reading from the members of the replica set chosen by a read preference.
+  */
+  this.findOneWithReadPreference = function(collection, query, fields, readPreference, resultHandler) {
+    var __args = arguments;
+    if (__args.length === 5 && typeof __args[0] === 'string' && typeof __args[1] === 'object' && typeof __args[2] === 'object' && typeof __args[3] === 'string' && typeof __args[4] === 'function') {
+      j_mongoService.findOneWithReadPreference(collection, utils.convJSObjectToJsonObject(query), utils.convJSObjectToJsonObject(fields), readPreference, function(ar) {
+      if (ar.succeeded()) {
+        resultHandler(utils.convJsonToJS(ar.result()), null);
+      } else {
+        resultHandler(null, ar.cause());
+      }
+    });
+    } else utils.invalidArgs();
+  };
+
   this.delete = function(collection, query, writeConcern, resultHandler) {
     var __args = arguments;
     if (__args.length === 4 && typeof __args[0] === 'string' && typeof __args[1] === 'object' && typeof __args[2] === 'string' && typeof __args[3] === 'function') {
@@ -159,6 +301,23 @@ var MongoService = function(j_val) {
     } else utils.invalidArgs();
   };
 
+  /*
+   Get the counters of the result cache enabled by the {@code cache} config: the {@code hits} and {@code misses} of
+   the finds, and the {@code entries} and {@code bytes} it holds. The counters are zero when the cache is disabled.
+  */
+  this.getCacheStats = function(resultHandler) {
+    var __args = arguments;
+    if (__args.length === 1 && typeof __args[0] === 'function') {
+      j_mongoService.getCacheStats(function(ar) {
+      if (ar.succeeded()) {
+        resultHandler(utils.convJsonToJS(ar.result()), null);
+      } else {
+        resultHandler(null, ar.cause());
+      }
+    });
+    } else utils.invalidArgs();
+  };
+
   this.start = function() {
     var __args = arguments;
     if (__args.length === 0) {
@@ -12,6 +12,7 @@ import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.MongoFindStream;
 import io.vertx.ext.mongo.MongoService;
 import io.vertx.test.core.TestUtils;
 import io.vertx.test.core.VertxTestBase;
@@ -206,7 +207,7 @@ public class MongoDBServiceTest extends VertxTestBase {
     String collection = randomCollection();
     mongo.createCollection(collection, onSuccess(res -> {
       JsonObject doc = createDoc();
-      mongo.insert(collection, doc, "NORMAL", onSuccess(id -> {
+      mongo.insert(collection, doc, "ACKNOWLEDGED", onSuccess(id -> {
         assertNotNull(id);
         testComplete();
       }));
@@ -221,7 +222,7 @@ public class MongoDBServiceTest extends VertxTestBase {
       JsonObject doc = createDoc();
       String genID  = TestUtils.randomAlphaString(100);
       doc.putString("_id", genID);
-      mongo.insert(collection, doc, "NORMAL", onSuccess(id -> {
+      mongo.insert(collection, doc, "ACKNOWLEDGED", onSuccess(id -> {
         assertNull(id);
         testComplete();
       }));
@@ -234,10 +235,10 @@ public class MongoDBServiceTest extends VertxTestBase {
     String collection = randomCollection();
     mongo.createCollection(collection, onSuccess(res -> {
       JsonObject doc = createDoc();
-      mongo.insert(collection, doc, "NORMAL", onSuccess(id -> {
+      mongo.insert(collection, doc, "ACKNOWLEDGED", onSuccess(id -> {
         assertNotNull(id);
         doc.putString("_id", id);
-        mongo.insert(collection, doc, "NORMAL", onFailure(t -> {
+        mongo.insert(collection, doc, "ACKNOWLEDGED", onFailure(t -> {
           testComplete();
         }));
       }));
@@ -250,12 +251,12 @@ public class MongoDBServiceTest extends VertxTestBase {
     String collection = randomCollection();
     mongo.createCollection(collection, onSuccess(res -> {
       JsonObject doc = createDoc();
-      mongo.save(collection, doc, "NORMAL", onSuccess(id -> {
+      mongo.save(collection, doc, "ACKNOWLEDGED", onSuccess(id -> {
         assertNotNull(id);
         doc.putString("_id", id);
         doc.putString("newField", "sheep");
         // Save again - it should update
-        mongo.save(collection, doc, "NORMAL", onSuccess(id2 -> {
+        mongo.save(collection, doc, "ACKNOWLEDGED", onSuccess(id2 -> {
           assertNull(id2);
           mongo.findOne(collection, null, null, onSuccess(res2 -> {
             assertEquals("sheep", res2.getString("newField"));
@@ -272,7 +273,7 @@ public class MongoDBServiceTest extends VertxTestBase {
     String collection = randomCollection();
     mongo.createCollection(collection, onSuccess(res -> {
       JsonObject doc = createDoc();
-      mongo.insert(collection, doc, "NORMAL", onSuccess(id -> {
+      mongo.insert(collection, doc, "ACKNOWLEDGED", onSuccess(id -> {
         assertNotNull(id);
         mongo.findOne(collection, new JsonObject().putString("foo", "bar"), null, onSuccess(obj -> {
           assertEquals(doc, obj);
@@ -288,7 +289,7 @@ public class MongoDBServiceTest extends VertxTestBase {
     String collection = randomCollection();
     mongo.createCollection(collection, onSuccess(res -> {
       JsonObject doc = createDoc();
-      mongo.insert(collection, doc, "NORMAL", onSuccess(id -> {
+      mongo.insert(collection, doc, "ACKNOWLEDGED", onSuccess(id -> {
         assertNotNull(id);
         mongo.findOne(collection, new JsonObject().putString("foo", "bar"), new JsonObject().putBoolean("num", true), onSuccess(obj -> {
           assertEquals(2, obj.size());
@@ -378,6 +379,136 @@ public class MongoDBServiceTest extends VertxTestBase {
     await();
   }
 
+  @Test
+  public void testNextBatch() throws Exception {
+    String collection = randomCollection();
+    mongo.createCollection(collection, onSuccess(res -> {
+      insertDocs(collection, 10, onSuccess(res2 -> {
+        mongo.openCursor(collection, new JsonObject(), null, null, -1, -1, 5, onSuccess(cursorID -> {
+          mongo.nextBatch(cursorID, onSuccess(batch1 -> {
+            assertEquals(5, batch1.size());
+            mongo.nextBatch(cursorID, onSuccess(batch2 -> {
+              assertEquals(5, batch2.size());
+              assertTrue(batch1.get(4).getString("_id").compareTo(batch2.get(0).getString("_id")) < 0);
+              mongo.nextBatch(cursorID, onSuccess(batch3 -> {
+                assertTrue(batch3.isEmpty());
+                mongo.nextBatch(cursorID, onFailure(ex -> {
+                  testComplete();
+                }));
+              }));
+            }));
+          }));
+        }));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testNextBatchMixedIdTypes() throws Exception {
+    JsonObject config = new JsonObject().putBoolean("extended_json", true);
+    String connectionString = getConnectionString();
+    if (connectionString != null) {
+      config.putString("connection_string", connectionString);
+    }
+    MongoService extended = MongoService.create(vertx, config);
+    extended.start();
+    String collection = randomCollection();
+    JsonArray documents = new JsonArray();
+    for (int i = 0; i < 3; i++) {
+      documents.addObject(createDoc(i).putString("_id", "id" + i));
+      documents.addObject(createDoc(i).putObject("_id", new JsonObject().putString("$oid", "00000000000000000000000" + i)));
+    }
+    extended.insertMany(collection, documents, "ACKNOWLEDGED", true, onSuccess(res -> {
+      extended.openCursor(collection, new JsonObject(), null, null, -1, -1, 2, onSuccess(cursorID -> {
+        List<JsonObject> results = new ArrayList<>();
+        // The string ids are read first, the batch after the last of them resumes into the ObjectIds
+        readBatches(extended, cursorID, 2, results, v -> {
+          assertEquals(6, results.size());
+          assertEquals("id0", results.get(0).getString("_id"));
+          assertEquals("000000000000000000000002", results.get(5).getObject("_id").getString("$oid"));
+          extended.stop();
+          testComplete();
+        });
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testNextBatchForwardedToOwner() throws Exception {
+    MongoService owner = createCursorService("ext-mongo.cursors.owner");
+    MongoService other = createCursorService("ext-mongo.cursors.other");
+    vertx.eventBus().registerService(owner, "ext-mongo.cursors.owner");
+    String collection = randomCollection();
+    mongo.createCollection(collection, onSuccess(res -> {
+      insertDocs(collection, 10, onSuccess(res2 -> {
+        owner.openCursor(collection, new JsonObject(), null, null, -1, -1, 5, onSuccess(cursorID -> {
+          // The instance that did not open the cursor forwards the calls to the owner
+          other.nextBatch(cursorID, onSuccess(batch1 -> {
+            assertEquals(5, batch1.size());
+            other.closeCursor(cursorID, onSuccess(v -> {
+              owner.nextBatch(cursorID, onFailure(ex -> {
+                owner.stop();
+                other.stop();
+                testComplete();
+              }));
+            }));
+          }));
+        }));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testFindStream() throws Exception {
+    int num = 23;
+    String collection = randomCollection();
+    mongo.createCollection(collection, onSuccess(res -> {
+      insertDocs(collection, num, onSuccess(res2 -> {
+        MongoFindStream stream = MongoFindStream.find(mongo, collection, new JsonObject(), null,
+            new JsonObject().putNumber("foo", 1), -1, -1, 5);
+        List<JsonObject> results = new ArrayList<>();
+        stream.endHandler(v -> {
+          assertEquals(num, results.size());
+          assertEquals("bar0", results.get(0).getString("foo"));
+          assertEquals("bar1", results.get(1).getString("foo"));
+          assertEquals("bar10", results.get(2).getString("foo"));
+          testComplete();
+        });
+        stream.exceptionHandler(ex -> fail(ex.getMessage()));
+        stream.dataHandler(doc -> {
+          results.add(doc);
+          if (results.size() == 7) {
+            stream.pause();
+            vertx.setTimer(10, id -> stream.resume());
+          }
+        });
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testFindStreamLimitMultipleOfBatchSize() throws Exception {
+    String collection = randomCollection();
+    mongo.createCollection(collection, onSuccess(res -> {
+      insertDocs(collection, 20, onSuccess(res2 -> {
+        // The limit is reached by a full batch, the stream ends with the empty batch that follows
+        MongoFindStream stream = MongoFindStream.find(mongo, collection, new JsonObject(), null, null, 10, -1, 5);
+        List<JsonObject> results = new ArrayList<>();
+        stream.endHandler(v -> {
+          assertEquals(10, results.size());
+          testComplete();
+        });
+        stream.exceptionHandler(ex -> fail(ex.getMessage()));
+        stream.dataHandler(results::add);
+      }));
+    }));
+    await();
+  }
+
   @Test
   public void testUpdateOne() throws Exception {
     int num = 1;
@@ -423,7 +554,7 @@ public class MongoDBServiceTest extends VertxTestBase {
     String collection = randomCollection();
     mongo.createCollection(collection, onSuccess(res -> {
       insertDocs(collection, numDocs, onSuccess(res2 -> {
-        mongo.update(collection, query, update, "NORMAL", upsert, multi, onSuccess(res3 -> {
+        mongo.update(collection, query, update, "ACKNOWLEDGED", upsert, multi, onSuccess(res3 -> {
           mongo.find(collection, null, null, null, -1, -1, onSuccess(res4 -> {
             resultConsumer.accept(res4);
             testComplete();
@@ -434,14 +565,175 @@ public class MongoDBServiceTest extends VertxTestBase {
     await();
   }
 
+  @Test
+  public void testInsertMany() throws Exception {
+    String collection = randomCollection();
+    mongo.createCollection(collection, onSuccess(res -> {
+      JsonArray docs = new JsonArray();
+      for (int i = 0; i < 10; i++) {
+        docs.addObject(createDoc(i));
+      }
+      mongo.insertMany(collection, docs, "ACKNOWLEDGED", false, onSuccess(result -> {
+        assertEquals(10, (int) result.getInteger("ok"));
+        assertEquals(0, (int) result.getInteger("errors"));
+        JsonArray results = result.getArray("results");
+        assertEquals(10, results.size());
+        for (int i = 0; i < 10; i++) {
+          JsonObject itemResult = results.get(i);
+          assertEquals(i, (int) itemResult.getInteger("index"));
+          assertNotNull(itemResult.getString("_id"));
+        }
+        mongo.find(collection, new JsonObject(), null, null, -1, -1, onSuccess(found -> {
+          assertEquals(10, found.size());
+          testComplete();
+        }));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testInsertManyOrdered() throws Exception {
+    String collection = randomCollection();
+    mongo.createCollection(collection, onSuccess(res -> {
+      JsonArray docs = new JsonArray();
+      for (int i = 0; i < 10; i++) {
+        docs.addObject(createDoc(i));
+      }
+      mongo.insertMany(collection, docs, "ACKNOWLEDGED", true, onSuccess(result -> {
+        assertEquals(10, (int) result.getInteger("ok"));
+        assertEquals(10, result.getArray("results").size());
+        // The documents after the duplicate are not inserted
+        JsonArray duplicates = new JsonArray()
+            .addObject(createDoc(10).putString("_id", "a"))
+            .addObject(createDoc(11).putString("_id", "a"))
+            .addObject(createDoc(12).putString("_id", "b"));
+        mongo.insertMany(collection, duplicates, "ACKNOWLEDGED", true, onFailure(ex -> {
+          mongo.find(collection, new JsonObject(), null, null, -1, -1, onSuccess(found -> {
+            assertEquals(11, found.size());
+            testComplete();
+          }));
+        }));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testBulkWriteOrdered() throws Exception {
+    String collection = randomCollection();
+    mongo.createCollection(collection, onSuccess(res -> {
+      JsonArray operations = new JsonArray()
+          .addObject(new JsonObject().putString("type", "insert").putObject("document", createDoc(0).putString("_id", "a")))
+          .addObject(new JsonObject().putString("type", "update").putObject("query", new JsonObject().putString("_id", "a"))
+              .putObject("update", new JsonObject().putObject("$set", new JsonObject().putString("foo", "fooed"))))
+          .addObject(new JsonObject().putString("type", "insert").putObject("document", createDoc(1).putString("_id", "a")))
+          .addObject(new JsonObject().putString("type", "delete").putObject("query", new JsonObject().putString("_id", "a")));
+      mongo.bulkWrite(collection, operations, "ACKNOWLEDGED", true, onSuccess(result -> {
+        // The duplicate insert stops the bulk write before the delete
+        assertEquals(2, (int) result.getInteger("ok"));
+        assertEquals(1, (int) result.getInteger("errors"));
+        JsonArray results = result.getArray("results");
+        assertEquals(3, results.size());
+        assertNotNull(((JsonObject) results.get(2)).getString("error"));
+        mongo.findOne(collection, new JsonObject().putString("_id", "a"), null, onSuccess(doc -> {
+          assertEquals("fooed", doc.getString("foo"));
+          testComplete();
+        }));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testBulkWriteInvalidOperation() throws Exception {
+    JsonArray operations = new JsonArray().addObject(new JsonObject().putString("type", "delete"));
+    mongo.bulkWrite(randomCollection(), operations, "ACKNOWLEDGED", false, onFailure(ex -> {
+      assertTrue(ex instanceof IllegalArgumentException);
+      testComplete();
+    }));
+    await();
+  }
+
+  @Test
+  public void testWriteBehind() throws Exception {
+    JsonObject config = new JsonObject().putObject("write_behind", new JsonObject().putNumber("batch_size", 10));
+    String connectionString = getConnectionString();
+    if (connectionString != null) {
+      config.putString("connection_string", connectionString);
+    }
+    String databaseName = getDatabaseName();
+    if (databaseName != null) {
+      config.putString("db_name", databaseName);
+    }
+    MongoService batching = MongoService.create(vertx, config);
+    batching.start();
+    String collection = randomCollection();
+    int num = 25;
+    AtomicInteger count = new AtomicInteger();
+    mongo.createCollection(collection, onSuccess(res -> {
+      for (int i = 0; i < num; i++) {
+        batching.insert(collection, createDoc(i), "ACKNOWLEDGED", onSuccess(id -> {
+          assertNotNull(id);
+          if (count.incrementAndGet() == num) {
+            mongo.find(collection, new JsonObject(), null, null, -1, -1, onSuccess(found -> {
+              assertEquals(num, found.size());
+              batching.stop();
+              testComplete();
+            }));
+          }
+        }));
+      }
+    }));
+    await();
+  }
+
+  @Test
+  public void testWriteBehindInsertsAndSaves() throws Exception {
+    JsonObject config = new JsonObject().putObject("write_behind", new JsonObject().putNumber("batch_size", 10));
+    String connectionString = getConnectionString();
+    if (connectionString != null) {
+      config.putString("connection_string", connectionString);
+    }
+    String databaseName = getDatabaseName();
+    if (databaseName != null) {
+      config.putString("db_name", databaseName);
+    }
+    MongoService batching = MongoService.create(vertx, config);
+    batching.start();
+    String collection = randomCollection();
+    int num = 15;
+    AtomicInteger count = new AtomicInteger();
+    mongo.createCollection(collection, onSuccess(res -> {
+      // The inserts and the saves are written in separate batches
+      for (int i = 0; i < num; i++) {
+        Handler<AsyncResult<String>> handler = onSuccess(id -> {
+          if (count.incrementAndGet() == num) {
+            mongo.find(collection, new JsonObject(), null, null, -1, -1, onSuccess(found -> {
+              assertEquals(num, found.size());
+              batching.stop();
+              testComplete();
+            }));
+          }
+        });
+        if (i % 2 == 0) {
+          batching.insert(collection, createDoc(i), "ACKNOWLEDGED", handler);
+        } else {
+          batching.save(collection, createDoc(i), "ACKNOWLEDGED", handler);
+        }
+      }
+    }));
+    await();
+  }
+
   @Test
   public void testDeleteOne() throws Exception {
     String collection = randomCollection();
     mongo.createCollection(collection, onSuccess(res -> {
       JsonObject doc = createDoc();
-      mongo.insert(collection, doc, "NORMAL", onSuccess(id -> {
+      mongo.insert(collection, doc, "ACKNOWLEDGED", onSuccess(id -> {
         assertNotNull(id);
-        mongo.delete(collection, new JsonObject().putString("_id", id), "NORMAL", onSuccess(v -> {
+        mongo.delete(collection, new JsonObject().putString("_id", id), "ACKNOWLEDGED", onSuccess(v -> {
           mongo.findOne(collection, new JsonObject().putString("_id", id), null, onSuccess(res2 -> {
             assertNull(res2);
             testComplete();
@@ -457,7 +749,7 @@ public class MongoDBServiceTest extends VertxTestBase {
     String collection = randomCollection();
     mongo.createCollection(collection, onSuccess(res -> {
       insertDocs(collection, 10, onSuccess(v -> {
-        mongo.delete(collection, new JsonObject(), "NORMAL", onSuccess(v2 -> {
+        mongo.delete(collection, new JsonObject(), "ACKNOWLEDGED", onSuccess(v2 -> {
           mongo.find(collection, new JsonObject(), null, null, -1, -1, onSuccess(res2 -> {
             assertTrue(res2.isEmpty());
             testComplete();
@@ -468,6 +760,201 @@ public class MongoDBServiceTest extends VertxTestBase {
     await();
   }
 
+  @Test
+  public void testInvalidWriteConcern() throws Exception {
+    mongo.insert(randomCollection(), createDoc(), "NOT_A_WRITE_CONCERN", onFailure(ex -> {
+      assertTrue(ex instanceof IllegalArgumentException);
+      assertEquals("Invalid WriteConcern: NOT_A_WRITE_CONCERN", ex.getMessage());
+      testComplete();
+    }));
+    await();
+  }
+
+  @Test
+  public void testFindReadPreference() throws Exception {
+    String collection = randomCollection();
+    mongo.createCollection(collection, onSuccess(res -> {
+      insertDocs(collection, 10, onSuccess(v -> {
+        mongo.findWithReadPreference(collection, new JsonObject(), null, null, -1, -1, "nearest", onSuccess(found -> {
+          assertEquals(10, found.size());
+          mongo.findOneWithReadPreference(collection, new JsonObject().putString("foo", "bar0"), null, "primaryPreferred", onSuccess(obj -> {
+            assertNotNull(obj);
+            testComplete();
+          }));
+        }));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testInvalidReadPreference() throws Exception {
+    mongo.findWithReadPreference(randomCollection(), new JsonObject(), null, null, -1, -1, "anywhere", onFailure(ex -> {
+      assertTrue(ex instanceof IllegalArgumentException);
+      assertEquals("Invalid ReadPreference: anywhere", ex.getMessage());
+      testComplete();
+    }));
+    await();
+  }
+
+  @Test
+  public void testExtendedJson() throws Exception {
+    JsonObject config = new JsonObject().putBoolean("extended_json", true);
+    String connectionString = getConnectionString();
+    if (connectionString != null) {
+      config.putString("connection_string", connectionString);
+    }
+    MongoService extended = MongoService.create(vertx, config);
+    extended.start();
+    String collection = randomCollection();
+    JsonObject date = new JsonObject().putNumber("$date", 1000);
+    extended.insert(collection, createDoc(-1).putObject("date", date), "ACKNOWLEDGED", onSuccess(id -> {
+      extended.findOne(collection, new JsonObject().putString("_id", id), null, onSuccess(obj -> {
+        assertEquals(1000L, (long) obj.getObject("date").getLong("$date"));
+        // Without extended JSON the date is read as a number
+        mongo.findOne(collection, new JsonObject().putString("_id", id), null, onSuccess(plain -> {
+          assertEquals(1000L, (long) plain.getLong("date"));
+          extended.stop();
+          testComplete();
+        }));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testSharedClient() throws Exception {
+    JsonObject config = new JsonObject().putString("client_name", "shared");
+    String connectionString = getConnectionString();
+    if (connectionString != null) {
+      config.putString("connection_string", connectionString);
+    }
+    MongoService first = MongoService.create(vertx, config);
+    first.start();
+    MongoService second = MongoService.create(vertx, config);
+    second.start();
+    // The client stays open until the last service sharing it is stopped
+    first.stop();
+    second.createCollection(randomCollection(), onSuccess(res -> {
+      second.stop();
+      testComplete();
+    }));
+    await();
+  }
+
+  @Test
+  public void testResultCache() throws Exception {
+    JsonObject config = new JsonObject().putObject("cache", new JsonObject());
+    String connectionString = getConnectionString();
+    if (connectionString != null) {
+      config.putString("connection_string", connectionString);
+    }
+    MongoService caching = MongoService.create(vertx, config);
+    caching.start();
+    String collection = randomCollection();
+    JsonObject query = new JsonObject().putString("foo", "bar").putNumber("num", 123);
+    // The same query with its fields in another order
+    JsonObject sameQuery = new JsonObject().putNumber("num", 123).putString("foo", "bar");
+    caching.insert(collection, createDoc(-1), "ACKNOWLEDGED", onSuccess(id -> {
+      caching.findOne(collection, query, null, onSuccess(obj -> {
+        assertNotNull(obj);
+        caching.findOne(collection, sameQuery, null, onSuccess(cached -> {
+          assertEquals(id, cached.getString("_id"));
+          caching.delete(collection, new JsonObject(), "ACKNOWLEDGED", onSuccess(v -> {
+            caching.findOne(collection, query, null, onSuccess(deleted -> {
+              assertNull(deleted);
+              caching.getCacheStats(onSuccess(stats -> {
+                assertEquals(1, (int) stats.getInteger("hits"));
+                assertEquals(2, (int) stats.getInteger("misses"));
+                assertEquals(1, (int) stats.getInteger("entries"));
+                caching.stop();
+                testComplete();
+              }));
+            }));
+          }));
+        }));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testResultCacheWriteBehindUnacknowledged() throws Exception {
+    JsonObject config = new JsonObject().putObject("cache", new JsonObject())
+        .putObject("write_behind", new JsonObject().putNumber("flush_interval", 100));
+    String connectionString = getConnectionString();
+    if (connectionString != null) {
+      config.putString("connection_string", connectionString);
+    }
+    MongoService caching = MongoService.create(vertx, config);
+    caching.start();
+    String collection = randomCollection();
+    JsonObject query = new JsonObject().putString("foo", "bar");
+    mongo.createCollection(collection, onSuccess(res -> {
+      caching.insert(collection, createDoc(-1), "UNACKNOWLEDGED", onSuccess(id -> {
+        // The document is still queued, the empty result is cached
+        caching.find(collection, query, null, null, -1, -1, onSuccess(before -> {
+          assertTrue(before.isEmpty());
+          vertx.setTimer(500, timerID -> {
+            caching.find(collection, query, null, null, -1, -1, onSuccess(after -> {
+              assertEquals(1, after.size());
+              assertEquals(id, after.get(0).getString("_id"));
+              caching.stop();
+              testComplete();
+            }));
+          });
+        }));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testInsertUnacknowledged() throws Exception {
+    String collection = randomCollection();
+    mongo.createCollection(collection, onSuccess(res -> {
+      JsonObject doc = createDoc();
+      mongo.insert(collection, doc, "UNACKNOWLEDGED", onSuccess(id -> {
+        assertNotNull(id);
+        // Acknowledged writes on the same connection are applied after the unacknowledged ones
+        mongo.insert(collection, createDoc(), "ACKNOWLEDGED", onSuccess(id2 -> {
+          mongo.findOne(collection, new JsonObject().putString("_id", id), null, onSuccess(obj -> {
+            assertNotNull(obj);
+            testComplete();
+          }));
+        }));
+      }));
+    }));
+    await();
+  }
+
+
+  private MongoService createCursorService(String cursorAddress) {
+    JsonObject config = new JsonObject().putString("cursor_address", cursorAddress);
+    String connectionString = getConnectionString();
+    if (connectionString != null) {
+      config.putString("connection_string", connectionString);
+    }
+    String databaseName = getDatabaseName();
+    if (databaseName != null) {
+      config.putString("db_name", databaseName);
+    }
+    MongoService service = MongoService.create(vertx, config);
+    service.start();
+    return service;
+  }
+
+  private void readBatches(MongoService service, String cursorID, int batchSize, List<JsonObject> results,
+                           Handler<Void> endHandler) {
+    service.nextBatch(cursorID, onSuccess(batch -> {
+      results.addAll(batch);
+      if (batch.size() == batchSize) {
+        readBatches(service, cursorID, batchSize, results, endHandler);
+      } else {
+        endHandler.handle(null);
+      }
+    }));
+  }
 
   private JsonObject createDoc() {
     return new JsonObject().putString("foo", "bar").putNumber("num", 123).putBoolean("big", true).
@@ -486,7 +973,7 @@ public class MongoDBServiceTest extends VertxTestBase {
       AtomicInteger cnt = new AtomicInteger();
       for (int i = 0; i < num; i++) {
         JsonObject doc = createDoc(i);
-        mongo.insert(collection, doc, "NORMAL", ar -> {
+        mongo.insert(collection, doc, "ACKNOWLEDGED", ar -> {
           if (ar.succeeded()) {
             if (cnt.incrementAndGet() == num) {
               resultHandler.handle(Future.completedFuture());
@@ -18,6 +18,7 @@ package io.vertx.groovy.ext.routematcher;
 import groovy.transform.CompileStatic
 import io.vertx.lang.groovy.InternalHelper
 import io.vertx.groovy.core.http.HttpServerRequest
+import io.vertx.groovy.core.Vertx
 import io.vertx.core.Handler
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
@@ -35,6 +36,10 @@ public class RouteMatcher {
     def ret= new RouteMatcher(io.vertx.ext.routematcher.RouteMatcher.routeMatcher());
     return ret;
   }
+  public static RouteMatcher routeMatcher(Map<String, Object> options) {
+    def ret= new RouteMatcher(io.vertx.ext.routematcher.RouteMatcher.routeMatcher(options != null ? io.vertx.ext.routematcher.RouteMatcherOptions.optionsFromJson(new io.vertx.core.json.JsonObject(options)) : null));
+    return ret;
+  }
   public RouteMatcher accept(HttpServerRequest request) {
     this.delegate.accept(request.getDelegate());
     return this;
@@ -299,6 +304,83 @@ public class RouteMatcher {
     });
     return this;
   }
+  /**
+   * Mount a route matcher under a path prefix. The requests whose path is the prefix or starts with the prefix
+   * followed by a {@code /} are dispatched to the child with the remainder of the path, so {@code /app/info}
+   * is matched as {@code /info} by a child mounted under {@code /app}. The mounted route matchers are looked up
+   * before the routes of this route matcher, the longest prefix wins. When no route of the child matches, the
+   * request goes to the no match handler of the child or, when it has none, to the one of this route matcher.
+   * @param prefix The path prefix, starting with a {@code /} and not ending with one
+   * @param child The route matcher to mount
+   */
+  public RouteMatcher mount(String prefix, RouteMatcher child) {
+    this.delegate.mount(prefix, child.getDelegate());
+    return this;
+  }
+  /**
+   * Serve the files of a directory to the GET and HEAD requests whose path starts with a prefix, the rest of the
+   * path names the file. The small files are kept in memory with their {@code Content-Type}, {@code ETag} and
+   * {@code Last-Modified} headers and also answer the single byte range requests, the larger files are sent from
+   * the disk by the kernel. The directory is mounted like a route matcher: it is looked up before the routes of
+   * this route matcher and the requests for missing files go to its no match handler.
+   * @param vertx The Vert.x instance used to read the files
+   * @param prefix The path prefix, starting with a {@code /} and not ending with one
+   * @param directory The directory of the files
+   * @param options The static files options (see <a href="../../../../../../cheatsheet/StaticFilesOptions.html">StaticFilesOptions</a>)
+   */
+  public RouteMatcher staticFiles(Vertx vertx, String prefix, String directory, Map<String, Object> options) {
+    this.delegate.staticFiles((io.vertx.core.Vertx)vertx.getDelegate(), prefix, directory, options != null ? io.vertx.ext.routematcher.StaticFilesOptions.optionsFromJson(new io.vertx.core.json.JsonObject(options)) : null);
+    return this;
+  }
+  /**
+   * Route the requests for a virtual host to a route matcher, the host is read from the {@code Host} header of
+   * the request without its port. A wildcard host such as {@code *.example.com} matches the subdomains of
+   * {@code example.com} at any depth, the most specific wildcard wins and an exact host wins over any wildcard.
+   * The virtual hosts are looked up before the mounted route matchers and the routes of this route matcher, the
+   * requests for the other hosts are routed by this route matcher. When no route of the child matches, the
+   * request goes to the no match handler of the child or, when it has none, to the one of this route matcher.
+   * @param host The host name, case insensitive, or a wildcard host starting with {@code *.}
+   * @param child The route matcher of the host
+   */
+  public RouteMatcher virtualHost(String host, RouteMatcher child) {
+    this.delegate.virtualHost(host, child.getDelegate());
+    return this;
+  }
+  /**
+   * Limit the number of requests handled at the same time by the handlers registered with a pattern, for any
+   * HTTP method. The excess requests are queued or answered with a 503 according to the options, before their
+   * handler is called. The limit is shared by the frozen copies of this route matcher and its counters are
+   * reported by {@link io.vertx.groovy.ext.routematcher.RouteMatcher#metrics}.
+   * @param vertx The Vert.x instance used to expire the queued requests
+   * @param pattern The simple pattern or the regular expression the handlers were registered with
+   * @param options The limit options (see <a href="../../../../../../cheatsheet/RouteLimitOptions.html">RouteLimitOptions</a>)
+   */
+  public RouteMatcher limit(Vertx vertx, String pattern, Map<String, Object> options) {
+    this.delegate.limit((io.vertx.core.Vertx)vertx.getDelegate(), pattern, options != null ? io.vertx.ext.routematcher.RouteLimitOptions.optionsFromJson(new io.vertx.core.json.JsonObject(options)) : null);
+    return this;
+  }
+  /**
+   * Cache the responses of the GET handlers registered with a pattern. A response ended with a 200 is served
+   * from the cache, to the GET and HEAD requests for the same URI and vary header values, until it expires or is
+   * invalidated. The cached responses carry an {@code ETag} header and the requests whose {@code If-None-Match}
+   * header matches it are answered with a 304. The cache is shared by the frozen copies of this route matcher
+   * and its counters are reported by {@link io.vertx.groovy.ext.routematcher.RouteMatcher#metrics}.
+   * @param pattern The simple pattern or the regular expression the handlers were registered with
+   * @param options The cache options (see <a href="../../../../../../cheatsheet/ResponseCacheOptions.html">ResponseCacheOptions</a>)
+   */
+  public RouteMatcher cache(String pattern, Map<String, Object> options) {
+    this.delegate.cache(pattern, options != null ? io.vertx.ext.routematcher.ResponseCacheOptions.optionsFromJson(new io.vertx.core.json.JsonObject(options)) : null);
+    return this;
+  }
+  /**
+   * Remove the cached responses of a request URI from the caches of this route matcher, for any vary header
+   * value. The responses are removed from the frozen copies of this route matcher as well.
+   * @param uri The request URI, including its query string
+   */
+  public RouteMatcher invalidate(String uri) {
+    this.delegate.invalidate(uri);
+    return this;
+  }
   /**
    * Specify a handler that will be called when no other handlers match.
    * If this handler is not specified default behaviour is to return a 404
@@ -311,4 +393,24 @@ public class RouteMatcher {
     });
     return this;
   }
+  /**
+   * Create an immutable copy of this route matcher. The copy can be shared by all the verticle instances and
+   * used concurrently from any event loop, registering a handler on it throws an {@link IllegalStateException}.
+   * Freezing an already frozen route matcher returns it unchanged.
+   * @return the frozen route matcher
+   */
+  public RouteMatcher freeze() {
+    def ret= new RouteMatcher(this.delegate.freeze());
+    return ret;
+  }
+  /**
+   * Take a snapshot of the dispatch metrics: the hits of each route, the number of requests that matched no route
+   * and a histogram of the time spent matching the requests. The metrics of a frozen route matcher are shared
+   * with the route matcher it was frozen from.
+   * @return the snapshot, empty when the metrics are not enabled in the {@link io.vertx.ext.routematcher.RouteMatcherOptions}
+   */
+  public Map<String, Object> metrics() {
+    def ret = this.delegate.metrics()?.toMap();
+    return ret;
+  }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.vertx.groovy.ext.routematcher;
+import groovy.transform.CompileStatic
+import io.vertx.lang.groovy.InternalHelper
+import io.vertx.groovy.core.http.HttpServerRequest
+/**
+ * Dispatches requests to a frozen {@link io.vertx.groovy.ext.routematcher.RouteMatcher} that can be replaced while requests are being routed.<p>
+ * A single instance can be shared by all the verticle instances: dispatching only reads the current route
+ * matcher, and {@link io.vertx.groovy.ext.routematcher.SharedRouteMatcher#swap} atomically publishes a frozen copy of the new routes, so requests already being
+ * routed complete with the previous routes and the next ones use the new routes without any lock.<p>
+ */
+@CompileStatic
+public class SharedRouteMatcher {
+  final def io.vertx.ext.routematcher.SharedRouteMatcher delegate;
+  public SharedRouteMatcher(io.vertx.ext.routematcher.SharedRouteMatcher delegate) {
+    this.delegate = delegate;
+  }
+  public io.vertx.ext.routematcher.SharedRouteMatcher getDelegate() {
+    return delegate;
+  }
+  public static SharedRouteMatcher sharedRouteMatcher(RouteMatcher routeMatcher) {
+    def ret= new SharedRouteMatcher(io.vertx.ext.routematcher.SharedRouteMatcher.sharedRouteMatcher(routeMatcher.getDelegate()));
+    return ret;
+  }
+  public SharedRouteMatcher accept(HttpServerRequest request) {
+    this.delegate.accept(request.getDelegate());
+    return this;
+  }
+  /**
+   * Replace the routes, the route matcher is frozen before it is published
+   * @param routeMatcher The new routes
+   */
+  public SharedRouteMatcher swap(RouteMatcher routeMatcher) {
+    this.delegate.swap(routeMatcher.getDelegate());
+    return this;
+  }
+  /**
+   * @return the frozen route matcher currently used to dispatch the requests
+   */
+  public RouteMatcher current() {
+    def ret= new RouteMatcher(this.delegate.current());
+    return ret;
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.vertx.groovy.ext.routematcher;
+import groovy.transform.CompileStatic
+import io.vertx.lang.groovy.InternalHelper
+import io.vertx.groovy.core.http.ServerWebSocket
+/**
+ * A websocket matched by a pattern of a {@link io.vertx.groovy.ext.routematcher.WebSocketMatcher}.<p>
+ */
+@CompileStatic
+public class WebSocketMatch {
+  final def io.vertx.ext.routematcher.WebSocketMatch delegate;
+  public WebSocketMatch(io.vertx.ext.routematcher.WebSocketMatch delegate) {
+    this.delegate = delegate;
+  }
+  public io.vertx.ext.routematcher.WebSocketMatch getDelegate() {
+    return delegate;
+  }
+  /**
+   * @return the matched websocket
+   */
+  public ServerWebSocket webSocket() {
+    def ret= new ServerWebSocket(this.delegate.webSocket());
+    return ret;
+  }
+  /**
+   * @param name The name of a param of the pattern
+   * @return the path segment of the param or null when the pattern has no param with this name
+   */
+  public String param(String name) {
+    def ret = this.delegate.param(name);
+    return ret;
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.vertx.groovy.ext.routematcher;
+import groovy.transform.CompileStatic
+import io.vertx.lang.groovy.InternalHelper
+import io.vertx.groovy.core.http.ServerWebSocket
+import io.vertx.core.Handler
+/**
+ * Routes websockets to handlers according to the path of their upgrade request.<p>
+ * The patterns are the simple patterns of the {@link io.vertx.groovy.ext.routematcher.RouteMatcher} whose params are whole path segments, such as
+ * {@code /echo/:server/:session/websocket}. They are indexed in the same radix tree as the routes so a websocket
+ * is matched by a single walk of its path whatever the number of patterns, and the params are read from the path
+ * segments without any regular expression. When several patterns match, the first registered wins.<p>
+ * Instances of this class are not thread-safe, a matcher that is no longer modified can be used concurrently<p>
+ */
+@CompileStatic
+public class WebSocketMatcher {
+  final def io.vertx.ext.routematcher.WebSocketMatcher delegate;
+  public WebSocketMatcher(io.vertx.ext.routematcher.WebSocketMatcher delegate) {
+    this.delegate = delegate;
+  }
+  public io.vertx.ext.routematcher.WebSocketMatcher getDelegate() {
+    return delegate;
+  }
+  public static WebSocketMatcher webSocketMatcher() {
+    def ret= new WebSocketMatcher(io.vertx.ext.routematcher.WebSocketMatcher.webSocketMatcher());
+    return ret;
+  }
+  public WebSocketMatcher accept(ServerWebSocket webSocket) {
+    this.delegate.accept(webSocket.getDelegate());
+    return this;
+  }
+  /**
+   * Specify a handler that will be called for the websockets matching a pattern
+   * @param pattern The simple pattern, its params must be whole path segments
+   * @param handler The handler to call
+   */
+  public WebSocketMatcher add(String pattern, Handler<WebSocketMatch> handler) {
+    this.delegate.add(pattern, new Handler<io.vertx.ext.routematcher.WebSocketMatch>() {
+      public void handle(io.vertx.ext.routematcher.WebSocketMatch event) {
+        handler.handle(new WebSocketMatch(event));
+      }
+    });
+    return this;
+  }
+  /**
+   * Specify a handler that will be called when no pattern matches.
+   * If this handler is not specified default behaviour is to reject the websocket
+   */
+  public WebSocketMatcher noMatch(Handler<ServerWebSocket> handler) {
+    this.delegate.noMatch(new Handler<io.vertx.core.http.ServerWebSocket>() {
+      public void handle(io.vertx.core.http.ServerWebSocket event) {
+        handler.handle(new ServerWebSocket(event));
+      }
+    });
+    return this;
+  }
+}
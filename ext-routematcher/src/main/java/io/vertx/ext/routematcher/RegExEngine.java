@@ -0,0 +1,88 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher;
+
+import io.vertx.core.ServiceHelper;
+
+/**
+ * Compiles the regular expressions of the routes and of the event bus bridge permissions.<p>
+ * Two engines are provided:
+ * <ul>
+ *   <li>{@code jdk}, the default, uses {@link java.util.regex.Pattern} and supports its whole syntax, matching
+ *   may backtrack and take a time exponential in the length of the input for some expressions</li>
+ *   <li>{@code linear} simulates an automaton and matches in a time linear in the length of the input whatever
+ *   the expression, it rejects the constructs that cannot be matched this way such as back references,
+ *   look-arounds, possessive quantifiers, boundaries and flags. Unlike {@link java.util.regex.Pattern} it
+ *   matches UTF-16 chars rather than code points and does not capture the empty iteration of a group repeated
+ *   by an unbounded quantifier</li>
+ * </ul>
+ * Other engines can be plugged by registering an implementation of this interface with the
+ * {@link java.util.ServiceLoader} mechanism.<p>
+ * Engines and compiled expressions are thread-safe.
+ */
+public interface RegExEngine {
+
+  static final String JDK = "jdk";
+
+  static final String LINEAR = "linear";
+
+  /**
+   * @param name the name of the engine
+   * @return the engine
+   * @throws IllegalArgumentException if no engine has this name
+   */
+  static RegExEngine engine(String name) {
+    return factory.engine(name);
+  }
+
+  String name();
+
+  /**
+   * @param regex the regular expression
+   * @return the compiled expression
+   * @throws IllegalArgumentException if the expression is invalid or not supported by the engine
+   */
+  RegEx compile(String regex);
+
+  interface RegEx {
+
+    String pattern();
+
+    int groupCount();
+
+    /**
+     * @return the match or null if the expression does not match the whole input
+     */
+    Match matches(String input);
+  }
+
+  interface Match {
+
+    /**
+     * @return the input captured by the group or null if the group did not participate in the match
+     */
+    String group(int group);
+
+    /**
+     * @return the input captured by the named group or null if the group did not participate in the match
+     * @throws IllegalArgumentException if the expression has no group with this name
+     */
+    String group(String name);
+  }
+
+  static final RegExEngineFactory factory = ServiceHelper.loadFactory(RegExEngineFactory.class);
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher;
+
+import io.vertx.codegen.annotations.Options;
+import io.vertx.core.ServiceHelper;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Set;
+
+/**
+ * Caches the responses of the GET routes of a pattern, see {@link RouteMatcher#cache}.<p>
+ * A response is cached when its status is 200, it is then served without calling the handler until it
+ * expires or is invalidated. The cached responses carry an {@code ETag} header, a request whose
+ * {@code If-None-Match} header matches it is answered with a 304.<p>
+ * The responses are keyed by the request URI and the values of the vary headers.
+ */
+@Options
+public interface ResponseCacheOptions {
+
+  static ResponseCacheOptions options() {
+    return factory.options();
+  }
+
+  static ResponseCacheOptions optionsFromJson(JsonObject json) {
+    return factory.options(json);
+  }
+
+  long getMaxSize();
+
+  /**
+   * Set the maximum total size of the cached responses in bytes, the least recently used responses are
+   * evicted beyond this size. The default value is 10485760.
+   *
+   * @param maxSize the maximum size in bytes
+   */
+  ResponseCacheOptions setMaxSize(long maxSize);
+
+  long getTtl();
+
+  /**
+   * Set how long a response is served from the cache, in ms. The default value is 60000.
+   *
+   * @param ttl the time to live in ms
+   */
+  ResponseCacheOptions setTtl(long ttl);
+
+  /**
+   * Add a request header whose value selects the cached response, for instance {@code Accept-Encoding}.
+   *
+   * @param header the header name
+   */
+  ResponseCacheOptions addVaryHeader(String header);
+
+  Set<String> getVaryHeaders();
+
+  static final ResponseCacheOptionsFactory factory = ServiceHelper.loadFactory(ResponseCacheOptionsFactory.class);
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher;
+
+import io.vertx.codegen.annotations.Options;
+import io.vertx.core.ServiceHelper;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Limits the number of requests of a route handled at the same time, see {@link RouteMatcher#limit}.<p>
+ * A request is in flight from the call to its handler until its response is ended or its connection is closed.
+ * When the limit is reached, the request waits in a bounded queue until a request completes. A request that
+ * finds the queue full, or that is still queued when the queue timeout elapses, is answered with a 503.
+ */
+@Options
+public interface RouteLimitOptions {
+
+  static RouteLimitOptions options() {
+    return factory.options();
+  }
+
+  static RouteLimitOptions optionsFromJson(JsonObject json) {
+    return factory.options(json);
+  }
+
+  int getMaxInFlight();
+
+  /**
+   * Set the maximum number of requests handled at the same time, the default value is 100.
+   *
+   * @param maxInFlight the maximum number of requests in flight
+   */
+  RouteLimitOptions setMaxInFlight(int maxInFlight);
+
+  int getMaxQueued();
+
+  /**
+   * Set the maximum number of requests waiting for a request in flight to complete. The default value is 0,
+   * which rejects the requests as soon as the limit is reached.
+   *
+   * @param maxQueued the maximum number of queued requests
+   */
+  RouteLimitOptions setMaxQueued(int maxQueued);
+
+  long getQueueTimeout();
+
+  /**
+   * Set how long a request can wait in the queue before being rejected, in ms. The default value is 1000.
+   *
+   * @param queueTimeout the queue timeout in ms
+   */
+  RouteLimitOptions setQueueTimeout(long queueTimeout);
+
+  static final RouteLimitOptionsFactory factory = ServiceHelper.loadFactory(RouteLimitOptionsFactory.class);
+
+}
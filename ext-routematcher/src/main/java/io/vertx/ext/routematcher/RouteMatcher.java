@@ -17,10 +17,13 @@
 package io.vertx.ext.routematcher;
 
 import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.Handler;
 import io.vertx.core.ServiceHelper;
+import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.json.JsonObject;
 
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
@@ -32,6 +35,25 @@ public interface RouteMatcher {
     return factory.routeMatcher();
   }
 
+  static RouteMatcher routeMatcher(RouteMatcherOptions options) {
+    return factory.routeMatcher(options);
+  }
+
+  /**
+   * Get the parsed value of a typed parameter of the pattern that matched the request, such as {@code id} for
+   * {@code /users/:id<int>}: an {@link Integer} for {@code int}, a {@link Long} for {@code long} and a
+   * {@link java.util.UUID} for {@code uuid}. The value is attached to the request passed to the handler of
+   * the route, also after the handler returns, the string value is available in the request params as well.
+   * @param request The request being handled
+   * @param name The name of the parameter
+   * @return the value or null if the request has no typed parameter with this name
+   */
+  @GenIgnore
+  @SuppressWarnings("unchecked")
+  static <T> T typedParam(HttpServerRequest request, String name) {
+    return (T) factory.typedParam(request, name);
+  }
+
   @Fluent
   RouteMatcher accept(HttpServerRequest request);
 
@@ -195,6 +217,78 @@ public interface RouteMatcher {
   @Fluent
   RouteMatcher allWithRegEx(String regex, Handler<HttpServerRequest> handler);
 
+  /**
+   * Mount a route matcher under a path prefix. The requests whose path is the prefix or starts with the prefix
+   * followed by a {@code /} are dispatched to the child with the remainder of the path, so {@code /app/info}
+   * is matched as {@code /info} by a child mounted under {@code /app}. The mounted route matchers are looked up
+   * before the routes of this route matcher, the longest prefix wins. When no route of the child matches, the
+   * request goes to the no match handler of the child or, when it has none, to the one of this route matcher.
+   * @param prefix The path prefix, starting with a {@code /} and not ending with one
+   * @param child The route matcher to mount
+   */
+  @Fluent
+  RouteMatcher mount(String prefix, RouteMatcher child);
+
+  /**
+   * Serve the files of a directory to the GET and HEAD requests whose path starts with a prefix, the rest of the
+   * path names the file. The small files are kept in memory with their {@code Content-Type}, {@code ETag} and
+   * {@code Last-Modified} headers and also answer the single byte range requests, the larger files are sent from
+   * the disk by the kernel, whole, since a file cannot be sent in part. The directory is mounted like a route matcher: it is looked up before the routes of
+   * this route matcher and the requests for missing files go to its no match handler.
+   * @param vertx The Vert.x instance used to read the files
+   * @param prefix The path prefix, starting with a {@code /} and not ending with one
+   * @param directory The directory of the files
+   * @param options The static files options
+   */
+  @Fluent
+  RouteMatcher staticFiles(Vertx vertx, String prefix, String directory, StaticFilesOptions options);
+
+  /**
+   * Route the requests for a virtual host to a route matcher, the host is read from the {@code Host} header of
+   * the request without its port. A wildcard host such as {@code *.example.com} matches the subdomains of
+   * {@code example.com} at any depth, the most specific wildcard wins and an exact host wins over any wildcard.
+   * The virtual hosts are looked up before the mounted route matchers and the routes of this route matcher, the
+   * requests for the other hosts are routed by this route matcher. When no route of the child matches, the
+   * request goes to the no match handler of the child or, when it has none, to the one of this route matcher.
+   * @param host The host name, case insensitive, or a wildcard host starting with {@code *.}
+   * @param child The route matcher of the host
+   */
+  @Fluent
+  RouteMatcher virtualHost(String host, RouteMatcher child);
+
+  /**
+   * Limit the number of requests handled at the same time by the handlers registered with a pattern, for any
+   * HTTP method. The excess requests are queued or answered with a 503 according to the options, before their
+   * handler is called. The limit is shared by the copies of this route matcher frozen after this call, the copies
+   * frozen before are not limited, and its counters are reported by {@link #metrics()}.
+   * @param vertx The Vert.x instance used to expire the queued requests
+   * @param pattern The simple pattern or the regular expression the handlers were registered with
+   * @param options The limit options
+   */
+  @Fluent
+  RouteMatcher limit(Vertx vertx, String pattern, RouteLimitOptions options);
+
+  /**
+   * Cache the responses of the GET handlers registered with a pattern. A response ended with a 200 is served
+   * from the cache, to the GET and HEAD requests for the same URI and vary header values, until it expires or is
+   * invalidated. A response that sets a cookie, is marked {@code private}, {@code no-store} or {@code no-cache}
+   * by its {@code Cache-Control} header, or varies on other request headers than the vary headers is not cached. The cached responses carry an {@code ETag} header and the requests whose {@code If-None-Match}
+   * header matches it are answered with a 304. The cache is shared by the copies of this route matcher frozen
+   * after this call, the copies frozen before do not cache, and its counters are reported by {@link #metrics()}.
+   * @param pattern The simple pattern or the regular expression the handlers were registered with
+   * @param options The cache options
+   */
+  @Fluent
+  RouteMatcher cache(String pattern, ResponseCacheOptions options);
+
+  /**
+   * Remove the cached responses of a request URI from the caches of this route matcher, for any vary header
+   * value. The responses are removed from the frozen copies of this route matcher as well.
+   * @param uri The request URI, including its query string
+   */
+  @Fluent
+  RouteMatcher invalidate(String uri);
+
   /**
    * Specify a handler that will be called when no other handlers match.
    * If this handler is not specified default behaviour is to return a 404
@@ -202,5 +296,23 @@ public interface RouteMatcher {
   @Fluent
   RouteMatcher noMatch(Handler<HttpServerRequest> handler);
 
+  /**
+   * Create an immutable copy of this route matcher. The copy can be shared by all the verticle instances and
+   * used concurrently from any event loop, registering a handler on it throws an {@link IllegalStateException}.
+   * Freezing an already frozen route matcher returns it unchanged.
+   *
+   * @return the frozen route matcher
+   */
+  RouteMatcher freeze();
+
+  /**
+   * Take a snapshot of the dispatch metrics: the hits of each route, the number of requests that matched no route,
+   * the hits and misses of the match cache and a histogram of the time spent matching the requests. The metrics of a frozen route matcher are shared
+   * with the route matcher it was frozen from.
+   *
+   * @return the snapshot, empty when the metrics are not enabled in the {@link RouteMatcherOptions}
+   */
+  JsonObject metrics();
+
   static final RouteMatcherFactory factory = ServiceHelper.loadFactory(RouteMatcherFactory.class);
 }
@@ -16,10 +16,16 @@
 
 package io.vertx.ext.routematcher;
 
+import io.vertx.core.http.HttpServerRequest;
+
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
  */
 public interface RouteMatcherFactory {
 
   RouteMatcher routeMatcher();
+
+  RouteMatcher routeMatcher(RouteMatcherOptions options);
+
+  Object typedParam(HttpServerRequest request, String name);
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher;
+
+import io.vertx.codegen.annotations.Options;
+import io.vertx.core.ServiceHelper;
+import io.vertx.core.json.JsonObject;
+
+@Options
+public interface RouteMatcherOptions {
+
+  static RouteMatcherOptions options() {
+    return factory.options();
+  }
+
+  static RouteMatcherOptions optionsFromJson(JsonObject json) {
+    return factory.options(json);
+  }
+
+  boolean isCombinedRegExMatching();
+
+  /**
+   * When enabled, the regular expressions registered for an HTTP method are compiled into a single automaton
+   * that finds the first matching expression in one pass over the request path, the expression is then only
+   * evaluated again to extract its parameters.
+   *
+   * @param combinedRegExMatching true to enable
+   */
+  RouteMatcherOptions setCombinedRegExMatching(boolean combinedRegExMatching);
+
+  boolean isMetricsEnabled();
+
+  /**
+   * When enabled, the route matcher counts the hits of each route and the requests that match no route, and
+   * records how long matching takes, see {@link RouteMatcher#metrics()}.
+   *
+   * @param metricsEnabled true to enable
+   */
+  RouteMatcherOptions setMetricsEnabled(boolean metricsEnabled);
+
+  int getMatchCacheSize();
+
+  /**
+   * Set the maximum number of request paths whose routing decision is cached for each HTTP method, a cached path
+   * is dispatched without evaluating any pattern. The least recently used paths are evicted first and the cache
+   * is cleared when a handler is registered. The default value is 0, which disables the cache.
+   *
+   * @param matchCacheSize the maximum number of cached paths per HTTP method
+   */
+  RouteMatcherOptions setMatchCacheSize(int matchCacheSize);
+
+  String getRegExEngine();
+
+  /**
+   * Set the name of the {@link RegExEngine} compiling the regular expressions of the routes, the default
+   * engine is {@link RegExEngine#JDK}. Use {@link RegExEngine#LINEAR} when the request paths are untrusted, a
+   * crafted path can otherwise make matching take a time exponential in its length.
+   *
+   * @param regExEngine the name of the engine
+   */
+  RouteMatcherOptions setRegExEngine(String regExEngine);
+
+  boolean isCompiledDispatch();
+
+  /**
+   * When enabled, {@link RouteMatcher#freeze()} compiles the simple patterns of each HTTP method into a generated
+   * class that matches the request path with inlined character comparisons and calls each handler from its own
+   * call site. The regular expressions are still evaluated one by one, and a table too large for a class file is
+   * left interpreted.
+   *
+   * @param compiledDispatch true to enable
+   */
+  RouteMatcherOptions setCompiledDispatch(boolean compiledDispatch);
+
+  static final RouteMatcherOptionsFactory factory = ServiceHelper.loadFactory(RouteMatcherOptionsFactory.class);
+
+}
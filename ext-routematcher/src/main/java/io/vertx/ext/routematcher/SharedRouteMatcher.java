@@ -0,0 +1,53 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher;
+
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.ServiceHelper;
+import io.vertx.core.http.HttpServerRequest;
+
+/**
+ * Dispatches requests to a frozen {@link RouteMatcher} that can be replaced while requests are being routed.<p>
+ * A single instance can be shared by all the verticle instances: dispatching only reads the current route
+ * matcher, and {@link #swap} atomically publishes a frozen copy of the new routes, so requests already being
+ * routed complete with the previous routes and the next ones use the new routes without any lock.
+ */
+@VertxGen
+public interface SharedRouteMatcher {
+
+  static SharedRouteMatcher sharedRouteMatcher(RouteMatcher routeMatcher) {
+    return factory.sharedRouteMatcher(routeMatcher);
+  }
+
+  @Fluent
+  SharedRouteMatcher accept(HttpServerRequest request);
+
+  /**
+   * Replace the routes, the route matcher is frozen before it is published
+   * @param routeMatcher The new routes
+   */
+  @Fluent
+  SharedRouteMatcher swap(RouteMatcher routeMatcher);
+
+  /**
+   * @return the frozen route matcher currently used to dispatch the requests
+   */
+  RouteMatcher current();
+
+  static final SharedRouteMatcherFactory factory = ServiceHelper.loadFactory(SharedRouteMatcherFactory.class);
+}
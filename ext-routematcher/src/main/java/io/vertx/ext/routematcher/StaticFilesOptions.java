@@ -0,0 +1,70 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher;
+
+import io.vertx.codegen.annotations.Options;
+import io.vertx.core.ServiceHelper;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Configures the files served from a directory, see {@link RouteMatcher#staticFiles}.<p>
+ * The small files are kept in memory with their headers, the cache is bounded by its total size and evicts the
+ * least recently used files. The larger files are sent from the disk by the kernel.
+ */
+@Options
+public interface StaticFilesOptions {
+
+  static StaticFilesOptions options() {
+    return factory.options();
+  }
+
+  static StaticFilesOptions optionsFromJson(JsonObject json) {
+    return factory.options(json);
+  }
+
+  long getMaxCacheSize();
+
+  /**
+   * Set the maximum total size of the files kept in memory in bytes. The default value is 10485760, 0 sends
+   * every file from the disk.
+   *
+   * @param maxCacheSize the maximum size in bytes
+   */
+  StaticFilesOptions setMaxCacheSize(long maxCacheSize);
+
+  long getMaxCachedFileSize();
+
+  /**
+   * Set the size of the largest file kept in memory in bytes. The default value is 65536.
+   *
+   * @param maxCachedFileSize the maximum size of a cached file in bytes
+   */
+  StaticFilesOptions setMaxCachedFileSize(long maxCachedFileSize);
+
+  long getCacheTimeout();
+
+  /**
+   * Set how long a file is served from memory before its modification time is checked again, in ms. The default
+   * value is 10000.
+   *
+   * @param cacheTimeout the cache timeout in ms
+   */
+  StaticFilesOptions setCacheTimeout(long cacheTimeout);
+
+  static final StaticFilesOptionsFactory factory = ServiceHelper.loadFactory(StaticFilesOptionsFactory.class);
+
+}
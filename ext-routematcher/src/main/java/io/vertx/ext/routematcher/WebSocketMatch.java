@@ -0,0 +1,38 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher;
+
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.http.ServerWebSocket;
+
+/**
+ * A websocket matched by a pattern of a {@link WebSocketMatcher}.
+ */
+@VertxGen
+public interface WebSocketMatch {
+
+  /**
+   * @return the matched websocket
+   */
+  ServerWebSocket webSocket();
+
+  /**
+   * @param name The name of a param of the pattern
+   * @return the path segment of the param or null when the pattern has no param with this name
+   */
+  String param(String name);
+}
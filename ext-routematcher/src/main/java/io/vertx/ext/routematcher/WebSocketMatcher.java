@@ -0,0 +1,59 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher;
+
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Handler;
+import io.vertx.core.ServiceHelper;
+import io.vertx.core.http.ServerWebSocket;
+
+/**
+ * Routes websockets to handlers according to the path of their upgrade request.<p>
+ * The patterns are the simple patterns of the {@link RouteMatcher} whose params are whole path segments, such as
+ * {@code /echo/:server/:session/websocket}. They are indexed in the same radix tree as the routes so a websocket
+ * is matched by a single walk of its path whatever the number of patterns, and the params are read from the path
+ * segments without any regular expression. When several patterns match, the first registered wins.<p>
+ * Instances of this class are not thread-safe, a matcher that is no longer modified can be used concurrently
+ */
+@VertxGen
+public interface WebSocketMatcher {
+
+  static WebSocketMatcher webSocketMatcher() {
+    return factory.webSocketMatcher();
+  }
+
+  @Fluent
+  WebSocketMatcher accept(ServerWebSocket webSocket);
+
+  /**
+   * Specify a handler that will be called for the websockets matching a pattern
+   * @param pattern The simple pattern, its params must be whole path segments
+   * @param handler The handler to call
+   */
+  @Fluent
+  WebSocketMatcher add(String pattern, Handler<WebSocketMatch> handler);
+
+  /**
+   * Specify a handler that will be called when no pattern matches.
+   * If this handler is not specified default behaviour is to reject the websocket
+   */
+  @Fluent
+  WebSocketMatcher noMatch(Handler<ServerWebSocket> handler);
+
+  static final WebSocketMatcherFactory factory = ServiceHelper.loadFactory(WebSocketMatcherFactory.class);
+}
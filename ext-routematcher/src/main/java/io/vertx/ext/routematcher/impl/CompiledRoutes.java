@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2011-2013 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher.impl;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpServerRequest;
+
+/**
+ * The base class of the classes generated by {@link RouteCompiler}.<p>
+ * The generated classes are defined by their own class loader, so this class and the members they use are
+ * public or protected.
+ */
+public abstract class CompiledRoutes {
+
+  private static final ParamType[] PARAM_TYPES = ParamType.values();
+
+  // Indexed by ordinal
+  protected final Handler<HttpServerRequest>[] handlers;
+
+  protected CompiledRoutes(Handler<HttpServerRequest>[] handlers) {
+    this.handlers = handlers;
+  }
+
+  /**
+   * Find the indexed binding with the lowest ordinal matching a path, as {@link RadixTree#lookup} does.
+   *
+   * @param path the request path
+   * @param bound only bindings with an ordinal strictly lower than this value are considered
+   * @return the ordinal of the binding or -1 if no binding matches
+   */
+  public abstract int lookup(String path, int bound);
+
+  /**
+   * Call the handler of a binding.
+   *
+   * @param ordinal the ordinal of the binding
+   * @param request the request
+   */
+  public abstract void invoke(int ordinal, HttpServerRequest request);
+
+  /**
+   * @return true if the path segment is valid for the param type with the ordinal
+   */
+  protected static boolean parses(int type, String path, int start, int end) {
+    return PARAM_TYPES[type].parse(path, start, end) != null;
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2011-2013 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher.impl;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The route matchers of the virtual hosts. An exact host is found with a single hash lookup and a wildcard host
+ * such as {@code *.example.com}, which matches the subdomains of {@code example.com} at any depth, with one hash
+ * lookup per label of the request host. The most specific wildcard wins, and an exact host wins over any
+ * wildcard.<p>
+ * Instances of this class are not thread-safe, a table that is no longer modified can be read concurrently
+ */
+class HostTable {
+
+  private final Map<String, RouteMatcherImpl> exact;
+  // Keyed by the suffix following the star, for instance .example.com
+  private final Map<String, RouteMatcherImpl> wildcards;
+
+  HostTable() {
+    this.exact = new HashMap<>();
+    this.wildcards = new HashMap<>();
+  }
+
+  /**
+   * Create a copy of a table whose route matchers are frozen.
+   */
+  private HostTable(HostTable other) {
+    this.exact = freeze(other.exact);
+    this.wildcards = freeze(other.wildcards);
+  }
+
+  HostTable freeze() {
+    return new HostTable(this);
+  }
+
+  boolean isEmpty() {
+    return exact.isEmpty() && wildcards.isEmpty();
+  }
+
+  /**
+   * @param host the host name or a wildcard host starting with {@code *.}
+   * @throws IllegalArgumentException if a route matcher is already registered for this host
+   */
+  void add(String host, RouteMatcherImpl matcher) {
+    String name = host.toLowerCase(Locale.ROOT);
+    RouteMatcherImpl previous = name.startsWith("*.") ?
+        wildcards.putIfAbsent(name.substring(1), matcher) : exact.putIfAbsent(name, matcher);
+    if (previous != null) {
+      throw new IllegalArgumentException("A route matcher is already registered for host " + host);
+    }
+  }
+
+  /**
+   * @param host the value of the {@code Host} header, it may contain a port
+   * @return the route matcher of the host or null
+   */
+  RouteMatcherImpl lookup(String host) {
+    if (host == null) {
+      return null;
+    }
+    String name = normalize(host);
+    RouteMatcherImpl matcher = exact.get(name);
+    if (matcher == null && !wildcards.isEmpty()) {
+      // From the longest suffix to the shortest one
+      for (int dot = name.indexOf('.'); dot != -1 && matcher == null; dot = name.indexOf('.', dot + 1)) {
+        matcher = wildcards.get(name.substring(dot));
+      }
+    }
+    return matcher;
+  }
+
+  // Strip the port and the trailing dot of a fully qualified name, the hosts are case insensitive
+  private static String normalize(String host) {
+    int end = host.length();
+    if (host.startsWith("[")) {
+      // IPv6 literal
+      int bracket = host.indexOf(']');
+      end = bracket != -1 ? bracket + 1 : end;
+    } else {
+      int colon = host.lastIndexOf(':');
+      end = colon != -1 ? colon : end;
+    }
+    if (end > 0 && host.charAt(end - 1) == '.') {
+      end--;
+    }
+    String name = host.substring(0, end);
+    for (int i = 0; i < end; i++) {
+      char c = name.charAt(i);
+      if (c >= 'A' && c <= 'Z') {
+        return name.toLowerCase(Locale.ROOT);
+      }
+    }
+    return name;
+  }
+
+  private static Map<String, RouteMatcherImpl> freeze(Map<String, RouteMatcherImpl> matchers) {
+    Map<String, RouteMatcherImpl> copy = new HashMap<>();
+    matchers.forEach((host, matcher) -> copy.put(host, (RouteMatcherImpl) matcher.freeze()));
+    return copy;
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2011-2013 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher.impl;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Headers;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerFileUpload;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.net.NetSocket;
+import io.vertx.core.net.SocketAddress;
+
+import javax.net.ssl.SSLPeerUnverifiedException;
+import javax.security.cert.X509Certificate;
+
+/**
+ * A request delegating to another request, the subclasses override the calls they observe. The fluent methods
+ * return the wrapper so that the calls chained on their result go through it.
+ */
+class HttpServerRequestWrapper implements HttpServerRequest {
+
+  final HttpServerRequest delegate;
+
+  HttpServerRequestWrapper(HttpServerRequest delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public HttpServerRequest exceptionHandler(Handler<Throwable> handler) {
+    delegate.exceptionHandler(handler);
+    return this;
+  }
+
+  @Override
+  public HttpServerRequest dataHandler(Handler<Buffer> handler) {
+    delegate.dataHandler(handler);
+    return this;
+  }
+
+  @Override
+  public HttpServerRequest pause() {
+    delegate.pause();
+    return this;
+  }
+
+  @Override
+  public HttpServerRequest resume() {
+    delegate.resume();
+    return this;
+  }
+
+  @Override
+  public HttpServerRequest endHandler(Handler<Void> endHandler) {
+    delegate.endHandler(endHandler);
+    return this;
+  }
+
+  @Override
+  public HttpVersion version() {
+    return delegate.version();
+  }
+
+  @Override
+  public String method() {
+    return delegate.method();
+  }
+
+  @Override
+  public String uri() {
+    return delegate.uri();
+  }
+
+  @Override
+  public String path() {
+    return delegate.path();
+  }
+
+  @Override
+  public String query() {
+    return delegate.query();
+  }
+
+  @Override
+  public HttpServerResponse response() {
+    return delegate.response();
+  }
+
+  @Override
+  public Headers headers() {
+    return delegate.headers();
+  }
+
+  @Override
+  public Headers params() {
+    return delegate.params();
+  }
+
+  @Override
+  public SocketAddress remoteAddress() {
+    return delegate.remoteAddress();
+  }
+
+  @Override
+  public SocketAddress localAddress() {
+    return delegate.localAddress();
+  }
+
+  @Override
+  public X509Certificate[] peerCertificateChain() throws SSLPeerUnverifiedException {
+    return delegate.peerCertificateChain();
+  }
+
+  @Override
+  public String absoluteURI() {
+    return delegate.absoluteURI();
+  }
+
+  @Override
+  public HttpServerRequest bodyHandler(Handler<Buffer> bodyHandler) {
+    delegate.bodyHandler(bodyHandler);
+    return this;
+  }
+
+  @Override
+  public NetSocket netSocket() {
+    return delegate.netSocket();
+  }
+
+  @Override
+  public HttpServerRequest setExpectMultipart(boolean expect) {
+    delegate.setExpectMultipart(expect);
+    return this;
+  }
+
+  @Override
+  public boolean isExpectMultipart() {
+    return delegate.isExpectMultipart();
+  }
+
+  @Override
+  public HttpServerRequest uploadHandler(Handler<HttpServerFileUpload> uploadHandler) {
+    delegate.uploadHandler(uploadHandler);
+    return this;
+  }
+
+  @Override
+  public Headers formAttributes() {
+    return delegate.formAttributes();
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher.impl;
+
+import io.vertx.ext.routematcher.RegExEngine;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The {@link java.util.regex.Pattern} engine.
+ */
+class JdkRegExEngine implements RegExEngine {
+
+  static final JdkRegExEngine INSTANCE = new JdkRegExEngine();
+
+  @Override
+  public String name() {
+    return JDK;
+  }
+
+  @Override
+  public RegEx compile(String regex) {
+    Pattern pattern = Pattern.compile(regex);
+    int groupCount = pattern.matcher("").groupCount();
+    return new RegEx() {
+      @Override
+      public String pattern() {
+        return regex;
+      }
+
+      @Override
+      public int groupCount() {
+        return groupCount;
+      }
+
+      @Override
+      public Match matches(String input) {
+        Matcher m = pattern.matcher(input);
+        return m.matches() ? new JdkMatch(m) : null;
+      }
+    };
+  }
+
+  private static class JdkMatch implements Match {
+
+    private final Matcher m;
+
+    JdkMatch(Matcher m) {
+      this.m = m;
+    }
+
+    @Override
+    public String group(int group) {
+      return m.group(group);
+    }
+
+    @Override
+    public String group(String name) {
+      return m.group(name);
+    }
+  }
+}
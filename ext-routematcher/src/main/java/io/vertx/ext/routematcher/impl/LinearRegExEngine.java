@@ -0,0 +1,219 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher.impl;
+
+import io.vertx.ext.routematcher.RegExEngine;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * An engine matching in a time linear in the length of the input.<p>
+ * Expressions are parsed by {@link RegExParser} and compiled into a {@link RegExProgram} that is simulated with
+ * a Pike VM: all the threads of the NFA advance together one char at a time, each thread carrying its own
+ * capture slots. Threads are kept in priority order and a thread reaching an instruction already reached by a
+ * thread of higher priority is dropped, so the captures are the ones {@link java.util.regex.Pattern} would
+ * report while each char is processed at most once per instruction of the program.
+ */
+class LinearRegExEngine implements RegExEngine {
+
+  static final LinearRegExEngine INSTANCE = new LinearRegExEngine();
+
+  @Override
+  public String name() {
+    return LINEAR;
+  }
+
+  @Override
+  public RegEx compile(String regex) {
+    RegExParser parser = new RegExParser(regex);
+    RegExParser.Node node = parser.parse();
+    if (node == null) {
+      throw new IllegalArgumentException("Invalid regex or regex not supported by the linear engine: " + regex);
+    }
+    RegExProgram.Builder builder = new RegExProgram.Builder();
+    if (!builder.add(node, 0)) {
+      throw new IllegalArgumentException("Regex too large for the linear engine: " + regex);
+    }
+    return new LinearRegEx(regex, builder.build(), parser.groupCount(), parser.groupNames());
+  }
+
+  private static class LinearRegEx implements RegEx {
+
+    private final String pattern;
+    private final RegExProgram program;
+    private final int groupCount;
+    private final Map<String, Integer> groupNames;
+
+    LinearRegEx(String pattern, RegExProgram program, int groupCount, Map<String, Integer> groupNames) {
+      this.pattern = pattern;
+      this.program = program;
+      this.groupCount = groupCount;
+      this.groupNames = groupNames;
+    }
+
+    @Override
+    public String pattern() {
+      return pattern;
+    }
+
+    @Override
+    public int groupCount() {
+      return groupCount;
+    }
+
+    @Override
+    public Match matches(String input) {
+      int[] captures = run(input);
+      return captures != null ? new LinearMatch(input, captures, groupNames) : null;
+    }
+
+    /**
+     * @return the capture slots of the match, the start and the end of the group {@code i} are at {@code 2 * i}
+     * and {@code 2 * i + 1}
+     */
+    private int[] run(String input) {
+      int size = program.size();
+      int slots = 2 * (groupCount + 1);
+      Threads current = new Threads(size);
+      Threads next = new Threads(size);
+      int[] initial = new int[slots];
+      Arrays.fill(initial, -1);
+      initial[0] = 0;
+      current.add(program, program.starts[0], initial, 0);
+      int len = input.length();
+      for (int pos = 0; pos < len && current.count > 0; pos++) {
+        char c = input.charAt(pos);
+        next.clear();
+        for (int i = 0; i < current.count; i++) {
+          int pc = current.pcs[i];
+          if (program.consumes(pc, c)) {
+            next.add(program, pc + 1, current.captures[i], pos + 1);
+          }
+        }
+        Threads tmp = current;
+        current = next;
+        next = tmp;
+      }
+      // Threads are in priority order, the first one that matches wins
+      for (int i = 0; i < current.count; i++) {
+        if (program.ops[current.pcs[i]] == RegExProgram.MATCH) {
+          int[] captures = current.captures[i];
+          captures[1] = len;
+          return captures;
+        }
+      }
+      return null;
+    }
+  }
+
+  /**
+   * The threads waiting to consume the next char or to match, in priority order.
+   */
+  private static class Threads {
+
+    final int[] pcs;
+    final int[][] captures;
+    int count;
+    private final boolean[] visited;
+    // Explicit stack for the closure, the program may chain thousands of instructions not consuming any char
+    private final int[] stackPcs;
+    private final int[][] stackCaptures;
+
+    Threads(int size) {
+      pcs = new int[size];
+      captures = new int[size][];
+      visited = new boolean[size];
+      stackPcs = new int[2 * size + 1];
+      stackCaptures = new int[2 * size + 1][];
+    }
+
+    void clear() {
+      count = 0;
+      Arrays.fill(visited, false);
+    }
+
+    void add(RegExProgram program, int pc, int[] caps, int pos) {
+      int top = 0;
+      stackPcs[top] = pc;
+      stackCaptures[top++] = caps;
+      while (top > 0) {
+        pc = stackPcs[--top];
+        caps = stackCaptures[top];
+        stackCaptures[top] = null;
+        if (visited[pc]) {
+          continue;
+        }
+        visited[pc] = true;
+        switch (program.ops[pc]) {
+          case RegExProgram.JMP:
+            stackPcs[top] = program.args1[pc];
+            stackCaptures[top++] = caps;
+            break;
+          case RegExProgram.SPLIT:
+            // The preferred branch is pushed last to be explored first
+            stackPcs[top] = program.args2[pc];
+            stackCaptures[top++] = caps;
+            stackPcs[top] = program.args1[pc];
+            stackCaptures[top++] = caps;
+            break;
+          case RegExProgram.SAVE:
+            caps = caps.clone();
+            caps[program.args1[pc]] = pos;
+            stackPcs[top] = pc + 1;
+            stackCaptures[top++] = caps;
+            break;
+          default:
+            pcs[count] = pc;
+            captures[count++] = caps;
+        }
+      }
+    }
+  }
+
+  private static class LinearMatch implements Match {
+
+    private final String input;
+    private final int[] captures;
+    private final Map<String, Integer> groupNames;
+
+    LinearMatch(String input, int[] captures, Map<String, Integer> groupNames) {
+      this.input = input;
+      this.captures = captures;
+      this.groupNames = groupNames;
+    }
+
+    @Override
+    public String group(int group) {
+      if (group < 0 || 2 * group >= captures.length) {
+        throw new IndexOutOfBoundsException("No group " + group);
+      }
+      int start = captures[2 * group];
+      int end = captures[2 * group + 1];
+      return start != -1 && end != -1 ? input.substring(start, end) : null;
+    }
+
+    @Override
+    public String group(String name) {
+      Integer group = groupNames.get(name);
+      if (group == null) {
+        throw new IllegalArgumentException("No group with name <" + name + ">");
+      }
+      return group(group);
+    }
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2011-2013 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher.impl;
+
+import io.vertx.core.Headers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of the routing decisions of one HTTP method, keyed by the request path.<p>
+ * An entry holds the winning binding, or null when no binding matches, and the values of the binding params so
+ * that a cached path is dispatched without evaluating any pattern. Entries are evicted in least recently used
+ * order, the cache is split in stripes locked independently so that event loops sharing a frozen route matcher
+ * rarely contend. The cache must be cleared when a binding is added since it can change the outcome of any
+ * path.<p>
+ * Instances of this class are thread-safe
+ */
+class MatchCache {
+
+  private static final int STRIPES = 16;
+
+  private final Stripe[] stripes;
+
+  MatchCache(int maxSize) {
+    int count = maxSize >= STRIPES ? STRIPES : 1;
+    stripes = new Stripe[count];
+    for (int i = 0; i < count; i++) {
+      stripes[i] = new Stripe(maxSize / count);
+    }
+  }
+
+  Entry get(String path) {
+    Stripe stripe = stripe(path);
+    synchronized (stripe) {
+      return stripe.get(path);
+    }
+  }
+
+  /**
+   * @param binding the winning binding or null if no binding matches
+   * @param values the values of the binding params, a null value is an optional group that did not participate
+   * in the match
+   * @param typedValues the parsed values of the typed params or null when the binding has no typed param
+   * @return the cached entry
+   */
+  Entry put(String path, PatternBinding binding, String[] values, Object[] typedValues) {
+    Entry entry = new Entry(binding, values, typedValues);
+    Stripe stripe = stripe(path);
+    synchronized (stripe) {
+      stripe.put(path, entry);
+    }
+    return entry;
+  }
+
+  void clear() {
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        stripe.clear();
+      }
+    }
+  }
+
+  private Stripe stripe(String path) {
+    int hash = path.hashCode();
+    return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+  }
+
+  static final class Entry {
+
+    final PatternBinding binding;
+    final Object[] typedValues;
+    private final String[] values;
+
+    private Entry(PatternBinding binding, String[] values, Object[] typedValues) {
+      this.binding = binding;
+      this.values = values;
+      this.typedValues = typedValues;
+    }
+
+    void addParams(Headers params) {
+      String[] names = binding.paramNames;
+      for (int i = 0; i < values.length; i++) {
+        if (values[i] != null) {
+          params.add(names[i], values[i]);
+        }
+      }
+    }
+  }
+
+  private static final class Stripe extends LinkedHashMap<String, Entry> {
+
+    private final int maxSize;
+
+    Stripe(int maxSize) {
+      super(16, 0.75f, true);
+      this.maxSize = maxSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+      return size() > maxSize;
+    }
+  }
+}
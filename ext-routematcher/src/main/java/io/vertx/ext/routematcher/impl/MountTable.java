@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2011-2013 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The route matchers and the directories mounted under a path prefix, indexed in a tree whose edges are path
+ * segments so a lookup walks the path once whatever the number of mounts and returns the one under the longest
+ * prefix.<p>
+ * Instances of this class are not thread-safe, a table that is no longer modified can be read concurrently
+ */
+class MountTable {
+
+  private final Node root;
+  private int size;
+
+  MountTable() {
+    this.root = new Node();
+  }
+
+  /**
+   * Create a copy of a table whose route matchers are frozen.
+   */
+  private MountTable(MountTable other) {
+    this.root = other.root.freeze();
+    this.size = other.size;
+  }
+
+  MountTable freeze() {
+    return new MountTable(this);
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * @param prefix the prefix, starting with a {@code /} and not ending with one
+   * @throws IllegalArgumentException if a route matcher or a directory is already mounted under this prefix
+   */
+  void add(String prefix, RouteMatcherImpl matcher) {
+    add(new Mount(prefix, matcher, null));
+  }
+
+  /**
+   * @param prefix the prefix, starting with a {@code /} and not ending with one
+   * @throws IllegalArgumentException if a route matcher or a directory is already mounted under this prefix
+   */
+  void add(String prefix, StaticFiles files) {
+    add(new Mount(prefix, null, files));
+  }
+
+  private void add(Mount mount) {
+    Node node = root;
+    for (String segment : mount.prefix.substring(1).split("/", -1)) {
+      node = node.children.computeIfAbsent(segment, s -> new Node());
+    }
+    if (node.mount != null) {
+      throw new IllegalArgumentException("A route matcher or a directory is already mounted under " + mount.prefix);
+    }
+    node.mount = mount;
+    size++;
+  }
+
+  /**
+   * @return the mount with the longest prefix matching whole segments of the path or null
+   */
+  Mount lookup(String path) {
+    if (!path.startsWith("/")) {
+      return null;
+    }
+    Mount longest = null;
+    Node node = root;
+    int len = path.length();
+    int start = 1;
+    while (true) {
+      int end = path.indexOf('/', start);
+      if (end == -1) {
+        end = len;
+      }
+      node = node.children.get(path.substring(start, end));
+      if (node == null) {
+        return longest;
+      }
+      if (node.mount != null) {
+        longest = node.mount;
+      }
+      if (end == len) {
+        return longest;
+      }
+      start = end + 1;
+    }
+  }
+
+  static final class Mount {
+
+    final String prefix;
+    // Null when a directory is mounted
+    final RouteMatcherImpl matcher;
+    // Null when a route matcher is mounted
+    final StaticFiles files;
+
+    Mount(String prefix, RouteMatcherImpl matcher, StaticFiles files) {
+      this.prefix = prefix;
+      this.matcher = matcher;
+      this.files = files;
+    }
+
+    /**
+     * @return the part of the path the mounted route matcher matches, empty when the path is the prefix
+     */
+    String suffix(String path) {
+      return path.substring(prefix.length());
+    }
+  }
+
+  private static final class Node {
+
+    final Map<String, Node> children = new HashMap<>();
+    Mount mount;
+
+    Node freeze() {
+      Node copy = new Node();
+      if (mount != null) {
+        // The files of a directory are shared by the frozen copies
+        copy.mount = mount.matcher != null ?
+            new Mount(mount.prefix, (RouteMatcherImpl) mount.matcher.freeze(), null) : mount;
+      }
+      children.forEach((segment, child) -> copy.children.put(segment, child.freeze()));
+      return copy;
+    }
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2011-2013 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher.impl;
+
+import java.util.UUID;
+
+/**
+ * The types of the typed parameters of the simple patterns, such as {@code :id<int>}.<p>
+ * Each type parses a path segment with a hand-written scanner that validates and converts the value in a single
+ * pass, a segment that is not a valid value does not match the parameter. The regular expression of a type is
+ * only used when the parameter is part of a pattern evaluated as a regular expression, it accepts a superset of
+ * the valid values and the value is parsed after the match.
+ */
+enum ParamType {
+
+  INT("int", "-?[0-9]+") {
+    @Override
+    Object parse(String s, int start, int end) {
+      return parseNumber(s, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE, true);
+    }
+  },
+
+  LONG("long", "-?[0-9]+") {
+    @Override
+    Object parse(String s, int start, int end) {
+      return parseNumber(s, start, end, Long.MIN_VALUE, Long.MAX_VALUE, false);
+    }
+  },
+
+  UUID("uuid", "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}") {
+    @Override
+    Object parse(String s, int start, int end) {
+      if (end - start != 36) {
+        return null;
+      }
+      long msb = 0;
+      long lsb = 0;
+      for (int i = 0; i < 36; i++) {
+        char c = s.charAt(start + i);
+        if (i == 8 || i == 13 || i == 18 || i == 23) {
+          if (c != '-') {
+            return null;
+          }
+          continue;
+        }
+        int digit = Character.digit(c, 16);
+        if (digit == -1 || c > 'f') {
+          return null;
+        }
+        if (i < 18) {
+          msb = (msb << 4) | digit;
+        } else {
+          lsb = (lsb << 4) | digit;
+        }
+      }
+      return new UUID(msb, lsb);
+    }
+  };
+
+  final String name;
+  final String regex;
+
+  ParamType(String name, String regex) {
+    this.name = name;
+    this.regex = regex;
+  }
+
+  /**
+   * @return the value of the chars of {@code s} between {@code start} inclusive and {@code end} exclusive or null
+   * when they are not a valid value
+   */
+  abstract Object parse(String s, int start, int end);
+
+  Object parse(String s) {
+    return parse(s, 0, s.length());
+  }
+
+  static ParamType of(String name) {
+    for (ParamType type : values()) {
+      if (type.name.equals(name)) {
+        return type;
+      }
+    }
+    throw new IllegalArgumentException("Unknown parameter type " + name);
+  }
+
+  // Accumulates negatively like Long.parseLong so that the minimum value does not overflow
+  private static Object parseNumber(String s, int start, int end, long min, long max, boolean isInt) {
+    boolean negative = start < end && s.charAt(start) == '-';
+    int i = negative ? start + 1 : start;
+    if (i == end) {
+      return null;
+    }
+    long limit = negative ? min : -max;
+    long result = 0;
+    for (; i < end; i++) {
+      int digit = s.charAt(i) - '0';
+      if (digit < 0 || digit > 9 || result < (limit + digit) / 10) {
+        return null;
+      }
+      result = result * 10 - digit;
+    }
+    long value = negative ? result : -result;
+    return isInt ? (Object) (int) value : (Object) value;
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2011-2013 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher.impl;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.routematcher.RegExEngine;
+
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A handler registered for one HTTP method, either as a regular expression or as a simple pattern
+ * resolved by an exact path lookup or indexed in a {@link RadixTree}.<p>
+ * The ordinal is the registration order within the method, it is used to preserve the first-registered-wins
+ * semantics when a request matches several bindings.<p>
+ * A frozen route matcher has its own copies of the bindings, limiting or caching the routes of the route matcher
+ * it was copied from does not affect it.
+ */
+class PatternBinding {
+
+  private static final String[] NO_PARAMS = new String[0];
+  private static final int[] NO_SEGMENTS = new int[0];
+
+  final int ordinal;
+  // The pattern or the regular expression the binding was registered with
+  final String route;
+  final Handler<HttpServerRequest> handler;
+  // Only updated when the metrics are enabled, shared with the copies
+  final LongAdder hits;
+  // Null when the number of requests in flight is not limited
+  RouteLimiter limiter;
+  // Null when the responses are not cached
+  ResponseCache responseCache;
+
+  // Regex bindings, the param names are the names of the groups or param0, param1... for un-named groups
+  final RegExEngine.RegEx regex;
+  final boolean namedGroups;
+
+  // Indexed bindings, the index of the path segment captured by each param
+  final int[] paramSegments;
+
+  final String[] paramNames;
+  // The type of each param, null when the binding has no typed param
+  final ParamType[] paramTypes;
+
+  PatternBinding(int ordinal, String route, RegExEngine.RegEx regex, Set<String> groupNames,
+                 ParamType[] paramTypes, Handler<HttpServerRequest> handler) {
+    this.ordinal = ordinal;
+    this.route = route;
+    this.hits = new LongAdder();
+    this.regex = regex;
+    this.handler = handler;
+    this.paramSegments = null;
+    this.paramTypes = paramTypes;
+    if (groupNames != null) {
+      this.namedGroups = true;
+      this.paramNames = groupNames.toArray(new String[groupNames.size()]);
+    } else {
+      this.namedGroups = false;
+      int groupCount = regex.groupCount();
+      this.paramNames = new String[groupCount];
+      for (int i = 0; i < groupCount; i++) {
+        paramNames[i] = "param" + i;
+      }
+    }
+  }
+
+  PatternBinding(int ordinal, String route, String[] paramNames, int[] paramSegments, ParamType[] paramTypes,
+                 Handler<HttpServerRequest> handler) {
+    this.ordinal = ordinal;
+    this.route = route;
+    this.hits = new LongAdder();
+    this.regex = null;
+    this.namedGroups = false;
+    this.handler = handler;
+    this.paramNames = paramNames;
+    this.paramSegments = paramSegments;
+    this.paramTypes = paramTypes;
+  }
+
+  PatternBinding(int ordinal, String route, Handler<HttpServerRequest> handler) {
+    this(ordinal, route, NO_PARAMS, NO_SEGMENTS, null, handler);
+  }
+
+  /**
+   * Copy a binding with its current limiter and cache.
+   */
+  PatternBinding(PatternBinding other) {
+    this.ordinal = other.ordinal;
+    this.route = other.route;
+    this.handler = other.handler;
+    this.hits = other.hits;
+    this.limiter = other.limiter;
+    this.responseCache = other.responseCache;
+    this.regex = other.regex;
+    this.namedGroups = other.namedGroups;
+    this.paramSegments = other.paramSegments;
+    this.paramNames = other.paramNames;
+    this.paramTypes = other.paramTypes;
+  }
+
+  /**
+   * @param values the values of the params
+   * @return the parsed values of the typed params, null for the other params, or null when a value is not
+   * valid for its type
+   */
+  Object[] typedValues(String[] values) {
+    Object[] typed = new Object[values.length];
+    for (int i = 0; i < values.length; i++) {
+      ParamType type = paramTypes[i];
+      if (type != null && values[i] != null) {
+        typed[i] = type.parse(values[i]);
+        if (typed[i] == null) {
+          return null;
+        }
+      }
+    }
+    return typed;
+  }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2011-2013 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher.impl;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * A radix tree indexing the simple patterns of one HTTP method.<p>
+ * Literal parts of the patterns are stored as compressed edges keyed by their first character and each
+ * {@code :name} parameter is stored as a child matching exactly one path segment, so a lookup walks the path
+ * once whatever the number of patterns. A typed parameter such as {@code :id<int>} has its own child which
+ * only matches the segments its type can parse.<p>
+ * Several patterns may match the same path, for instance {@code /users/new} and {@code /users/:id}, so
+ * the lookup returns the matching binding with the lowest ordinal. Every node keeps the lowest ordinal of its
+ * subtree so that branches that cannot improve the current candidate are never visited.<p>
+ * Instances of this class are not thread-safe, a tree that is no longer modified can be read concurrently
+ */
+class RadixTree {
+
+  private static final char[] NO_KEYS = new char[0];
+  private static final Node[] NO_NODES = new Node[0];
+
+  private final Node root;
+
+  RadixTree() {
+    this.root = new Node("");
+  }
+
+  /**
+   * Create a deep copy of a tree.
+   *
+   * @param copies the copy of each binding of the tree
+   */
+  RadixTree(RadixTree other, Map<PatternBinding, PatternBinding> copies) {
+    this.root = other.root.copy(copies);
+  }
+
+  /**
+   * Add a binding to the tree.
+   *
+   * @param segments the pattern split on {@code '/'}
+   * @param binding the binding, its {@code paramSegments} tell which segments are parameters
+   */
+  void add(String[] segments, PatternBinding binding) {
+    int ordinal = binding.ordinal;
+    Node node = root;
+    node.visit(ordinal);
+    StringBuilder literal = new StringBuilder();
+    int param = 0;
+    for (int i = 0; i < segments.length; i++) {
+      if (i > 0) {
+        literal.append('/');
+      }
+      if (param < binding.paramSegments.length && binding.paramSegments[param] == i) {
+        node = addLiteral(node, literal.toString(), ordinal);
+        literal.setLength(0);
+        node = node.param(binding.paramTypes != null ? binding.paramTypes[param] : null);
+        node.visit(ordinal);
+        param++;
+      } else {
+        literal.append(segments[i]);
+      }
+    }
+    node = addLiteral(node, literal.toString(), ordinal);
+    if (node.binding == null) {
+      // A pattern with the same shape registered earlier always wins
+      node.binding = binding;
+    }
+  }
+
+  Node root() {
+    return root;
+  }
+
+  /**
+   * Find the matching binding with the lowest ordinal.
+   *
+   * @param path the request path
+   * @param bound only bindings with an ordinal strictly lower than this value are considered
+   * @return the binding or null if no binding matches
+   */
+  PatternBinding lookup(String path, int bound) {
+    if (root.minOrdinal >= bound) {
+      return null;
+    }
+    return lookup(root, path, 0, bound);
+  }
+
+  private static PatternBinding lookup(Node node, String path, int pos, int bound) {
+    int len = path.length();
+    if (pos == len) {
+      PatternBinding binding = node.binding;
+      return binding != null && binding.ordinal < bound ? binding : null;
+    }
+    PatternBinding best = null;
+    Node child = node.child(path.charAt(pos));
+    if (child != null && child.minOrdinal < bound) {
+      String label = child.label;
+      if (path.regionMatches(pos, label, 0, label.length())) {
+        PatternBinding binding = lookup(child, path, pos + label.length(), bound);
+        if (binding != null) {
+          best = binding;
+          bound = binding.ordinal;
+        }
+      }
+    }
+    Node[] params = node.params;
+    if (params.length > 0) {
+      int end = path.indexOf('/', pos);
+      if (end == -1) {
+        end = len;
+      }
+      if (end > pos) {
+        for (Node param : params) {
+          if (param.minOrdinal < bound && (param.type == null || param.type.parse(path, pos, end) != null)) {
+            PatternBinding binding = lookup(param, path, end, bound);
+            if (binding != null) {
+              best = binding;
+              bound = binding.ordinal;
+            }
+          }
+        }
+      }
+    }
+    return best;
+  }
+
+  private static Node addLiteral(Node node, String literal, int ordinal) {
+    while (!literal.isEmpty()) {
+      Node child = node.child(literal.charAt(0));
+      if (child == null) {
+        child = new Node(literal);
+        child.visit(ordinal);
+        node.addChild(child);
+        return child;
+      }
+      int common = commonPrefix(child.label, literal);
+      if (common < child.label.length()) {
+        // Split the edge, the existing child moves below the common prefix
+        Node split = new Node(child.label.substring(0, common));
+        split.minOrdinal = child.minOrdinal;
+        child.label = child.label.substring(common);
+        split.addChild(child);
+        node.replaceChild(split);
+        child = split;
+      }
+      child.visit(ordinal);
+      literal = literal.substring(common);
+      node = child;
+    }
+    return node;
+  }
+
+  private static int commonPrefix(String s1, String s2) {
+    int max = Math.min(s1.length(), s2.length());
+    int i = 0;
+    while (i < max && s1.charAt(i) == s2.charAt(i)) {
+      i++;
+    }
+    return i;
+  }
+
+  static final class Node {
+
+    String label;
+    // Literal children sorted by the first char of their label
+    char[] keys = NO_KEYS;
+    Node[] children = NO_NODES;
+    // Children matching one whole path segment, one per param type
+    Node[] params = NO_NODES;
+    // The type of the param this node matches, null when untyped
+    ParamType type;
+    PatternBinding binding;
+    int minOrdinal = Integer.MAX_VALUE;
+
+    Node(String label) {
+      this.label = label;
+    }
+
+    Node copy(Map<PatternBinding, PatternBinding> copies) {
+      Node copy = new Node(label);
+      copy.keys = keys;
+      copy.children = new Node[children.length];
+      for (int i = 0; i < children.length; i++) {
+        copy.children[i] = children[i].copy(copies);
+      }
+      copy.params = new Node[params.length];
+      for (int i = 0; i < params.length; i++) {
+        copy.params[i] = params[i].copy(copies);
+      }
+      copy.type = type;
+      copy.binding = binding != null ? copies.get(binding) : null;
+      copy.minOrdinal = minOrdinal;
+      return copy;
+    }
+
+    Node param(ParamType type) {
+      for (Node param : params) {
+        if (param.type == type) {
+          return param;
+        }
+      }
+      Node param = new Node("");
+      param.type = type;
+      params = Arrays.copyOf(params, params.length + 1);
+      params[params.length - 1] = param;
+      return param;
+    }
+
+    void visit(int ordinal) {
+      minOrdinal = Math.min(minOrdinal, ordinal);
+    }
+
+    Node child(char c) {
+      int index = Arrays.binarySearch(keys, c);
+      return index >= 0 ? children[index] : null;
+    }
+
+    void addChild(Node child) {
+      char c = child.label.charAt(0);
+      int index = -(Arrays.binarySearch(keys, c) + 1);
+      char[] newKeys = new char[keys.length + 1];
+      Node[] newChildren = new Node[children.length + 1];
+      System.arraycopy(keys, 0, newKeys, 0, index);
+      System.arraycopy(children, 0, newChildren, 0, index);
+      newKeys[index] = c;
+      newChildren[index] = child;
+      System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+      System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+      keys = newKeys;
+      children = newChildren;
+    }
+
+    void replaceChild(Node child) {
+      children[Arrays.binarySearch(keys, child.label.charAt(0))] = child;
+    }
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2011-2013 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher.impl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Matches an input against a list of regular expressions in a single pass and reports the index of the first
+ * expression of the list that matches the whole input.<p>
+ * The expressions are compiled into a single NFA which is lazily turned into a DFA: each DFA state is the set
+ * of NFA instructions active after reading a prefix of the input, states and their transitions for ASCII
+ * chars are cached as they are discovered. The number of cached states is bounded, beyond that transitions
+ * are computed on the fly which degrades to a NFA simulation that is still linear in the length of the
+ * input.<p>
+ * Expressions that cannot be parsed by {@link RegExParser} are not part of the automaton, see {@link #covers}.
+ * The automaton works on chars while {@link java.util.regex.Pattern} works on code points, so inputs containing
+ * surrogates are reported as {@link #UNKNOWN}.<p>
+ * Instances of this class are thread-safe.
+ */
+final class RegExAutomaton {
+
+  static final int NO_MATCH = -1;
+  static final int UNKNOWN = -2;
+
+  private static final int MAX_STATES = 10000;
+
+  private final RegExProgram program;
+  private final boolean[] covered;
+  private final ConcurrentHashMap<State, State> states = new ConcurrentHashMap<>();
+  private final State start;
+
+  private RegExAutomaton(RegExProgram program, boolean[] covered) {
+    this.program = program;
+    this.covered = covered;
+    int[] pcs = new int[program.size()];
+    int[] count = new int[1];
+    boolean[] visited = new boolean[program.size()];
+    for (int start : program.starts) {
+      program.closure(start, pcs, count, visited);
+    }
+    this.start = intern(Arrays.copyOf(pcs, count[0]));
+  }
+
+  /**
+   * Compile the expressions, the automaton can be built even if some or all of the expressions are not
+   * supported.
+   */
+  static RegExAutomaton compile(List<String> regexes) {
+    boolean[] covered = new boolean[regexes.size()];
+    RegExProgram.Builder builder = new RegExProgram.Builder();
+    for (int i = 0; i < regexes.size(); i++) {
+      RegExParser.Node node = RegExParser.parse(regexes.get(i));
+      covered[i] = node != null && builder.add(node, i);
+    }
+    return new RegExAutomaton(builder.build(), covered);
+  }
+
+  /**
+   * @return true if the expression at {@code index} is part of the automaton
+   */
+  boolean covers(int index) {
+    return covered[index];
+  }
+
+  /**
+   * @return the lowest index of the covered expressions matching the whole input, {@link #NO_MATCH} or
+   * {@link #UNKNOWN} when the automaton cannot decide
+   */
+  int match(String input) {
+    State state = start;
+    int len = input.length();
+    for (int i = 0; i < len && state.pcs.length > 0; i++) {
+      char c = input.charAt(i);
+      if (Character.isSurrogate(c)) {
+        return UNKNOWN;
+      }
+      State next = c < 128 ? state.next[c] : null;
+      if (next == null) {
+        next = step(state, c);
+        if (c < 128 && next.cached) {
+          state.next[c] = next;
+        }
+      }
+      state = next;
+    }
+    return state.match;
+  }
+
+  private State step(State state, char c) {
+    int[] pcs = new int[program.size()];
+    int[] count = new int[1];
+    boolean[] visited = new boolean[program.size()];
+    for (int pc : state.pcs) {
+      if (program.consumes(pc, c)) {
+        program.closure(pc + 1, pcs, count, visited);
+      }
+    }
+    return intern(Arrays.copyOf(pcs, count[0]));
+  }
+
+  private State intern(int[] pcs) {
+    Arrays.sort(pcs);
+    State state = new State(pcs, program);
+    State existing = states.get(state);
+    if (existing != null) {
+      return existing;
+    }
+    if (states.size() < MAX_STATES) {
+      existing = states.putIfAbsent(state, state);
+      if (existing != null) {
+        return existing;
+      }
+      state.cached = true;
+    }
+    return state;
+  }
+
+  /**
+   * A DFA state, the transition cache is filled concurrently, a race only causes a transition to be computed
+   * more than once.
+   */
+  private static final class State {
+
+    final int[] pcs;
+    final int match;
+    final State[] next = new State[128];
+    // Only the cached states are linked by transitions, which bounds the memory used by the automaton
+    volatile boolean cached;
+    private final int hash;
+
+    State(int[] pcs, RegExProgram program) {
+      this.pcs = pcs;
+      int match = NO_MATCH;
+      for (int pc : pcs) {
+        if (program.ops[pc] == RegExProgram.MATCH && (match == NO_MATCH || program.args1[pc] < match)) {
+          match = program.args1[pc];
+        }
+      }
+      this.match = match;
+      this.hash = Arrays.hashCode(pcs);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof State && Arrays.equals(pcs, ((State) o).pcs);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher.impl;
+
+import io.vertx.ext.routematcher.RegExEngine;
+import io.vertx.ext.routematcher.RegExEngineFactory;
+
+import java.util.ServiceLoader;
+
+public class RegExEngineFactoryImpl implements RegExEngineFactory {
+
+  @Override
+  public RegExEngine engine(String name) {
+    return lookup(name);
+  }
+
+  static RegExEngine lookup(String name) {
+    switch (name) {
+      case RegExEngine.JDK:
+        return JdkRegExEngine.INSTANCE;
+      case RegExEngine.LINEAR:
+        return LinearRegExEngine.INSTANCE;
+      default:
+        for (RegExEngine engine : ServiceLoader.load(RegExEngine.class)) {
+          if (engine.name().equals(name)) {
+            return engine;
+          }
+        }
+        throw new IllegalArgumentException("Unknown regex engine " + name);
+    }
+  }
+}
@@ -0,0 +1,420 @@
+/*
+ * Copyright (c) 2011-2013 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses the subset of the {@link java.util.regex.Pattern} syntax that can be matched by an automaton: literals,
+ * escapes, char classes, {@code .}, groups (capturing, named and non-capturing), alternations and greedy or
+ * reluctant quantifiers. A leading {@code ^} and a trailing {@code $} are accepted since expressions are
+ * always matched against the whole input.<p>
+ * Back references, look-arounds, possessive quantifiers, boundaries, flags and the other constructs that
+ * cannot be expressed with a finite automaton are not supported, {@link #parse} returns null for them and
+ * the caller is expected to use {@link java.util.regex.Pattern} instead.
+ */
+final class RegExParser {
+
+  private static final int MAX_REPEAT = 1000;
+
+  private final String regex;
+  private final Map<String, Integer> groupNames = new HashMap<>();
+  private int pos;
+  private int groupCount;
+
+  RegExParser(String regex) {
+    this.regex = regex;
+  }
+
+  /**
+   * @return the parsed expression or null when the expression uses an unsupported construct or is invalid
+   */
+  static Node parse(String regex) {
+    return new RegExParser(regex).parse();
+  }
+
+  /**
+   * @return the parsed expression or null when the expression uses an unsupported construct or is invalid
+   */
+  Node parse() {
+    try {
+      Node node = parseAlternation();
+      if (pos != regex.length()) {
+        return null;
+      }
+      return node;
+    } catch (UnsupportedException e) {
+      return null;
+    }
+  }
+
+  /**
+   * @return the number of capturing groups of the parsed expression
+   */
+  int groupCount() {
+    return groupCount;
+  }
+
+  /**
+   * @return the index of the named groups of the parsed expression
+   */
+  Map<String, Integer> groupNames() {
+    return groupNames;
+  }
+
+  private Node parseAlternation() throws UnsupportedException {
+    List<Node> alternatives = new ArrayList<>();
+    alternatives.add(parseConcatenation());
+    while (pos < regex.length() && regex.charAt(pos) == '|') {
+      pos++;
+      alternatives.add(parseConcatenation());
+    }
+    return alternatives.size() == 1 ? alternatives.get(0) : new AltNode(alternatives);
+  }
+
+  private Node parseConcatenation() throws UnsupportedException {
+    List<Node> nodes = new ArrayList<>();
+    while (pos < regex.length() && regex.charAt(pos) != '|' && regex.charAt(pos) != ')') {
+      nodes.add(parseRepetition());
+    }
+    return nodes.size() == 1 ? nodes.get(0) : new ConcatNode(nodes);
+  }
+
+  private Node parseRepetition() throws UnsupportedException {
+    Node atom = parseAtom();
+    if (pos == regex.length()) {
+      return atom;
+    }
+    int min;
+    int max;
+    switch (regex.charAt(pos)) {
+      case '*':
+        min = 0;
+        max = -1;
+        pos++;
+        break;
+      case '+':
+        min = 1;
+        max = -1;
+        pos++;
+        break;
+      case '?':
+        min = 0;
+        max = 1;
+        pos++;
+        break;
+      case '{':
+        pos++;
+        min = parseInt();
+        if (peek() == ',') {
+          pos++;
+          max = peek() == '}' ? -1 : parseInt();
+        } else {
+          max = min;
+        }
+        expect('}');
+        if (min > MAX_REPEAT || max > MAX_REPEAT || (max != -1 && max < min)) {
+          throw new UnsupportedException();
+        }
+        break;
+      default:
+        return atom;
+    }
+    boolean greedy = true;
+    if (peek() == '?') {
+      greedy = false;
+      pos++;
+    } else if (peek() == '+') {
+      // Possessive
+      throw new UnsupportedException();
+    }
+    return new RepeatNode(atom, min, max, greedy);
+  }
+
+  private Node parseAtom() throws UnsupportedException {
+    char c = regex.charAt(pos++);
+    switch (c) {
+      case '(':
+        return parseGroup();
+      case '[':
+        return new SetNode(parseSet());
+      case '.':
+        return new SetNode(RegExProgram.CharSet.DOT);
+      case '\\':
+        return parseEscape(false);
+      case '^':
+        if (pos == 1) {
+          return new ConcatNode(Collections.emptyList());
+        }
+        throw new UnsupportedException();
+      case '$':
+        if (pos == regex.length()) {
+          return new ConcatNode(Collections.emptyList());
+        }
+        throw new UnsupportedException();
+      case '*':
+      case '+':
+      case '?':
+      case '{':
+        throw new UnsupportedException();
+      default:
+        return new CharNode(c);
+    }
+  }
+
+  private Node parseGroup() throws UnsupportedException {
+    int index;
+    if (peek() == '?') {
+      pos++;
+      char c = next();
+      if (c == ':') {
+        index = 0;
+      } else if (c == '<' && isAsciiLetter(peek())) {
+        int start = pos;
+        while (isAsciiLetter(peek()) || (peek() >= '0' && peek() <= '9')) {
+          pos++;
+        }
+        String name = regex.substring(start, pos);
+        expect('>');
+        index = ++groupCount;
+        if (groupNames.put(name, index) != null) {
+          throw new UnsupportedException();
+        }
+      } else {
+        // Look-around, atomic group or flags
+        throw new UnsupportedException();
+      }
+    } else {
+      index = ++groupCount;
+    }
+    Node node = parseAlternation();
+    expect(')');
+    return new GroupNode(node, index);
+  }
+
+  private RegExProgram.CharSet parseSet() throws UnsupportedException {
+    boolean negated = false;
+    if (peek() == '^') {
+      negated = true;
+      pos++;
+    }
+    if (peek() == ']') {
+      throw new UnsupportedException();
+    }
+    List<char[]> ranges = new ArrayList<>();
+    while (true) {
+      char c = next();
+      if (c == ']') {
+        break;
+      }
+      if (c == '[' || (c == '&' && peek() == '&')) {
+        // Union or intersection
+        throw new UnsupportedException();
+      }
+      char lo = c;
+      if (c == '\\') {
+        Node escape = parseEscape(true);
+        if (escape instanceof SetNode) {
+          if (peek() == '-') {
+            throw new UnsupportedException();
+          }
+          ((SetNode) escape).set.addTo(ranges);
+          continue;
+        }
+        lo = ((CharNode) escape).c;
+      }
+      char hi = lo;
+      if (peek() == '-' && pos + 1 < regex.length() && regex.charAt(pos + 1) != ']') {
+        pos++;
+        hi = next();
+        if (hi == '[') {
+          throw new UnsupportedException();
+        }
+        if (hi == '\\') {
+          Node escape = parseEscape(true);
+          if (!(escape instanceof CharNode)) {
+            throw new UnsupportedException();
+          }
+          hi = ((CharNode) escape).c;
+        }
+        if (hi < lo) {
+          throw new UnsupportedException();
+        }
+      }
+      ranges.add(new char[]{lo, hi});
+    }
+    RegExProgram.CharSet set = RegExProgram.CharSet.of(ranges);
+    return negated ? set.negate() : set;
+  }
+
+  private Node parseEscape(boolean inSet) throws UnsupportedException {
+    char c = next();
+    switch (c) {
+      case 'd':
+        return new SetNode(RegExProgram.CharSet.DIGIT);
+      case 'D':
+        return new SetNode(RegExProgram.CharSet.DIGIT.negate());
+      case 'w':
+        return new SetNode(RegExProgram.CharSet.WORD);
+      case 'W':
+        return new SetNode(RegExProgram.CharSet.WORD.negate());
+      case 's':
+        return new SetNode(RegExProgram.CharSet.SPACE);
+      case 'S':
+        return new SetNode(RegExProgram.CharSet.SPACE.negate());
+      case 't':
+        return new CharNode('\t');
+      case 'n':
+        return new CharNode('\n');
+      case 'r':
+        return new CharNode('\r');
+      case 'f':
+        return new CharNode('\f');
+      case 'a':
+        return new CharNode('\u0007');
+      case 'e':
+        return new CharNode('\u001B');
+      case 'x':
+        return new CharNode((char) parseHex(2));
+      case 'u':
+        return new CharNode((char) parseHex(4));
+      default:
+        if (Character.isLetterOrDigit(c)) {
+          // Back references, boundaries, properties, quotes...
+          throw new UnsupportedException();
+        }
+        return new CharNode(c);
+    }
+  }
+
+  private int parseHex(int digits) throws UnsupportedException {
+    if (pos + digits > regex.length()) {
+      throw new UnsupportedException();
+    }
+    int value = 0;
+    for (int i = 0; i < digits; i++) {
+      int digit = Character.digit(regex.charAt(pos++), 16);
+      if (digit == -1) {
+        throw new UnsupportedException();
+      }
+      value = value * 16 + digit;
+    }
+    return value;
+  }
+
+  private int parseInt() throws UnsupportedException {
+    int start = pos;
+    while (pos < regex.length() && pos - start < 5 && Character.isDigit(regex.charAt(pos))) {
+      pos++;
+    }
+    if (start == pos) {
+      throw new UnsupportedException();
+    }
+    return Integer.parseInt(regex.substring(start, pos));
+  }
+
+  private static boolean isAsciiLetter(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+  }
+
+  private char peek() {
+    return pos < regex.length() ? regex.charAt(pos) : 0;
+  }
+
+  private char next() throws UnsupportedException {
+    if (pos == regex.length()) {
+      throw new UnsupportedException();
+    }
+    return regex.charAt(pos++);
+  }
+
+  private void expect(char c) throws UnsupportedException {
+    if (next() != c) {
+      throw new UnsupportedException();
+    }
+  }
+
+  private static class UnsupportedException extends Exception {
+    UnsupportedException() {
+      super(null, null, false, false);
+    }
+  }
+
+  static abstract class Node {
+  }
+
+  static final class CharNode extends Node {
+    final char c;
+
+    CharNode(char c) {
+      this.c = c;
+    }
+  }
+
+  static final class SetNode extends Node {
+    final RegExProgram.CharSet set;
+
+    SetNode(RegExProgram.CharSet set) {
+      this.set = set;
+    }
+  }
+
+  static final class ConcatNode extends Node {
+    final List<Node> nodes;
+
+    ConcatNode(List<Node> nodes) {
+      this.nodes = nodes;
+    }
+  }
+
+  static final class AltNode extends Node {
+    final List<Node> alternatives;
+
+    AltNode(List<Node> alternatives) {
+      this.alternatives = alternatives;
+    }
+  }
+
+  static final class RepeatNode extends Node {
+    final Node node;
+    final int min;
+    final int max;
+    final boolean greedy;
+
+    RepeatNode(Node node, int min, int max, boolean greedy) {
+      this.node = node;
+      this.min = min;
+      this.max = max;
+      this.greedy = greedy;
+    }
+  }
+
+  static final class GroupNode extends Node {
+    final Node node;
+    // 0 for non capturing groups
+    final int index;
+
+    GroupNode(Node node, int index) {
+      this.node = node;
+      this.index = index;
+    }
+  }
+}
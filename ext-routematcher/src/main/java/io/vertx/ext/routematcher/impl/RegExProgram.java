@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2011-2013 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A Thompson NFA compiled from one or several parsed regular expressions.<p>
+ * Each instruction is one of:
+ * <ul>
+ *   <li>{@link #CHAR} consumes the char {@code arg1}</li>
+ *   <li>{@link #SET} consumes a char of the set {@code sets[arg1]}</li>
+ *   <li>{@link #SPLIT} continues at {@code arg1} and at {@code arg2}, {@code arg1} being preferred</li>
+ *   <li>{@link #JMP} continues at {@code arg1}</li>
+ *   <li>{@link #SAVE} records the current position in the capture slot {@code arg1}</li>
+ *   <li>{@link #MATCH} accepts the input for the expression {@code arg1}</li>
+ * </ul>
+ * Programs are immutable once built and can be shared between threads.
+ */
+final class RegExProgram {
+
+  static final int CHAR = 0;
+  static final int SET = 1;
+  static final int SPLIT = 2;
+  static final int JMP = 3;
+  static final int SAVE = 4;
+  static final int MATCH = 5;
+
+  // Maximum number of instructions of an expression, guards against expressions like (a{1,1000}){1,1000}
+  private static final int MAX_SIZE = 20000;
+
+  final int[] ops;
+  final int[] args1;
+  final int[] args2;
+  final CharSet[] sets;
+  final int[] starts;
+
+  private RegExProgram(Builder builder) {
+    this.ops = Arrays.copyOf(builder.ops, builder.size);
+    this.args1 = Arrays.copyOf(builder.args1, builder.size);
+    this.args2 = Arrays.copyOf(builder.args2, builder.size);
+    this.sets = builder.sets.toArray(new CharSet[builder.sets.size()]);
+    this.starts = builder.starts.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  int size() {
+    return ops.length;
+  }
+
+  /**
+   * Add to {@code states} the instructions consuming a char or matching that are reachable from {@code pc}
+   * without consuming any char, in priority order.
+   *
+   * @param visited marks the instructions already added, it must be cleared by the caller
+   */
+  void closure(int pc, int[] states, int[] count, boolean[] visited) {
+    while (!visited[pc]) {
+      visited[pc] = true;
+      switch (ops[pc]) {
+        case SPLIT:
+          closure(args1[pc], states, count, visited);
+          pc = args2[pc];
+          break;
+        case JMP:
+          pc = args1[pc];
+          break;
+        case SAVE:
+          pc++;
+          break;
+        default:
+          states[count[0]++] = pc;
+          return;
+      }
+    }
+  }
+
+  boolean consumes(int pc, char c) {
+    switch (ops[pc]) {
+      case CHAR:
+        return args1[pc] == c;
+      case SET:
+        return sets[args1[pc]].contains(c);
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Compiles the parsed expressions, the {@link #MATCH} instruction of each expression carries its index.
+   */
+  static class Builder {
+
+    private int[] ops = new int[64];
+    private int[] args1 = new int[64];
+    private int[] args2 = new int[64];
+    private int size;
+    private int limit;
+    private final List<CharSet> sets = new ArrayList<>();
+    private final List<Integer> starts = new ArrayList<>();
+
+    /**
+     * @return false if the expression is too large, in which case it is not added
+     */
+    boolean add(RegExParser.Node node, int id) {
+      int start = size;
+      limit = start + MAX_SIZE;
+      emit(node);
+      if (size > limit) {
+        size = start;
+        return false;
+      }
+      starts.add(start);
+      add(MATCH, id, 0);
+      return true;
+    }
+
+    RegExProgram build() {
+      return new RegExProgram(this);
+    }
+
+    private void emit(RegExParser.Node node) {
+      if (size > limit) {
+        return;
+      }
+      if (node instanceof RegExParser.CharNode) {
+        add(CHAR, ((RegExParser.CharNode) node).c, 0);
+      } else if (node instanceof RegExParser.SetNode) {
+        sets.add(((RegExParser.SetNode) node).set);
+        add(SET, sets.size() - 1, 0);
+      } else if (node instanceof RegExParser.ConcatNode) {
+        for (RegExParser.Node child : ((RegExParser.ConcatNode) node).nodes) {
+          emit(child);
+        }
+      } else if (node instanceof RegExParser.AltNode) {
+        List<RegExParser.Node> alternatives = ((RegExParser.AltNode) node).alternatives;
+        int[] jumps = new int[alternatives.size() - 1];
+        for (int i = 0; i < jumps.length; i++) {
+          int split = add(SPLIT, size + 1, 0);
+          emit(alternatives.get(i));
+          jumps[i] = add(JMP, 0, 0);
+          args2[split] = size;
+        }
+        emit(alternatives.get(jumps.length));
+        for (int jump : jumps) {
+          args1[jump] = size;
+        }
+      } else if (node instanceof RegExParser.RepeatNode) {
+        RegExParser.RepeatNode repeat = (RegExParser.RepeatNode) node;
+        for (int i = 0; i < repeat.min; i++) {
+          emit(repeat.node);
+        }
+        if (repeat.max == -1) {
+          int split = add(SPLIT, 0, 0);
+          emit(repeat.node);
+          add(JMP, split, 0);
+          prefer(split, split + 1, size, repeat.greedy);
+        } else {
+          int[] splits = new int[repeat.max - repeat.min];
+          for (int i = 0; i < splits.length; i++) {
+            splits[i] = add(SPLIT, 0, 0);
+            emit(repeat.node);
+          }
+          for (int split : splits) {
+            prefer(split, split + 1, size, repeat.greedy);
+          }
+        }
+      } else if (node instanceof RegExParser.GroupNode) {
+        RegExParser.GroupNode group = (RegExParser.GroupNode) node;
+        if (group.index > 0) {
+          add(SAVE, 2 * group.index, 0);
+          emit(group.node);
+          add(SAVE, 2 * group.index + 1, 0);
+        } else {
+          emit(group.node);
+        }
+      }
+    }
+
+    private void prefer(int split, int loop, int out, boolean greedy) {
+      args1[split] = greedy ? loop : out;
+      args2[split] = greedy ? out : loop;
+    }
+
+    private int add(int op, int arg1, int arg2) {
+      if (size == ops.length) {
+        ops = Arrays.copyOf(ops, size * 2);
+        args1 = Arrays.copyOf(args1, size * 2);
+        args2 = Arrays.copyOf(args2, size * 2);
+      }
+      ops[size] = op;
+      args1[size] = arg1;
+      args2[size] = arg2;
+      return size++;
+    }
+  }
+
+  /**
+   * An immutable set of chars stored as sorted, disjoint and non adjacent inclusive ranges.
+   */
+  static final class CharSet {
+
+    // The line terminators excluded by '.'
+    static final CharSet DOT = of('\n', '\n', '\r', '\r', '\u0085', '\u0085', '\u2028', '\u2029').negate();
+    static final CharSet DIGIT = of('0', '9');
+    static final CharSet WORD = of('0', '9', 'A', 'Z', '_', '_', 'a', 'z');
+    static final CharSet SPACE = of('\t', '\r', ' ', ' ');
+
+    private final char[] ranges;
+
+    private CharSet(char[] ranges) {
+      this.ranges = ranges;
+    }
+
+    static CharSet of(char... ranges) {
+      List<char[]> list = new ArrayList<>();
+      for (int i = 0; i < ranges.length; i += 2) {
+        list.add(new char[]{ranges[i], ranges[i + 1]});
+      }
+      return of(list);
+    }
+
+    static CharSet of(List<char[]> ranges) {
+      List<char[]> sorted = new ArrayList<>(ranges);
+      sorted.sort((r1, r2) -> r1[0] - r2[0]);
+      char[] merged = new char[sorted.size() * 2];
+      int size = 0;
+      for (char[] range : sorted) {
+        if (size > 0 && range[0] <= merged[size - 1] + 1) {
+          merged[size - 1] = (char) Math.max(merged[size - 1], range[1]);
+        } else {
+          merged[size++] = range[0];
+          merged[size++] = range[1];
+        }
+      }
+      return new CharSet(Arrays.copyOf(merged, size));
+    }
+
+    CharSet negate() {
+      List<char[]> complement = new ArrayList<>();
+      int next = 0;
+      for (int i = 0; i < ranges.length; i += 2) {
+        if (ranges[i] > next) {
+          complement.add(new char[]{(char) next, (char) (ranges[i] - 1)});
+        }
+        next = ranges[i + 1] + 1;
+      }
+      if (next <= Character.MAX_VALUE) {
+        complement.add(new char[]{(char) next, Character.MAX_VALUE});
+      }
+      return of(complement);
+    }
+
+    void addTo(List<char[]> list) {
+      for (int i = 0; i < ranges.length; i += 2) {
+        list.add(new char[]{ranges[i], ranges[i + 1]});
+      }
+    }
+
+    boolean contains(char c) {
+      for (int i = 0; i < ranges.length; i += 2) {
+        if (c < ranges[i]) {
+          return false;
+        }
+        if (c <= ranges[i + 1]) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
@@ -0,0 +1,533 @@
+/*
+ * Copyright (c) 2011-2013 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+
+package io.vertx.ext.routematcher.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Headers;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.routematcher.ResponseCacheOptions;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+
+/**
+ * Caches the responses of the GET bindings of a pattern, keyed by the request URI and the values of the vary
+ * headers.<p>
+ * On a miss the handler sees the request through a wrapper that copies the body written to the response, the
+ * response is stored when it ends with a 200. The response is not delayed: the {@code ETag} header is added
+ * when the headers have not been sent before the end, otherwise only the later hits carry it. A response that
+ * sends a file, is closed or outgrows a stripe is not stored, nor is a response that sets a cookie, whose
+ * {@code Cache-Control} header is {@code private}, {@code no-store} or {@code no-cache}, or whose {@code Vary}
+ * header names a request header that is not one of the vary headers of the cache. HEAD requests are answered from the entries of
+ * their GET counterpart and otherwise dispatched to their handler without being stored.<p>
+ * A request whose {@code If-None-Match} header matches the entity tag of the response is answered with a 304.
+ * Entries are evicted in least recently used order once the size of their stripe exceeds its share of the
+ * maximum size, the cache is split in stripes locked independently like {@link MatchCache}.<p>
+ * Instances of this class are thread-safe, a cache is shared by the frozen copies of a route matcher.
+ */
+class ResponseCache {
+
+  private static final int STRIPES = 16;
+  private static final long MIN_STRIPE_SIZE = 1024 * 1024;
+  // The estimated size of an entry besides its body and its strings
+  private static final int ENTRY_OVERHEAD = 128;
+
+  private final long ttl;
+  private final String[] varyHeaders;
+  private final Stripe[] stripes;
+  private final long maxEntrySize;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder notModified = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  ResponseCache(ResponseCacheOptions options) {
+    this.ttl = TimeUnit.MILLISECONDS.toNanos(options.getTtl());
+    this.varyHeaders = options.getVaryHeaders().toArray(new String[options.getVaryHeaders().size()]);
+    long maxSize = options.getMaxSize();
+    int count = 1;
+    while (count < STRIPES && maxSize / (count * 2) >= MIN_STRIPE_SIZE) {
+      count *= 2;
+    }
+    this.stripes = new Stripe[count];
+    for (int i = 0; i < count; i++) {
+      stripes[i] = new Stripe(maxSize / count);
+    }
+    this.maxEntrySize = maxSize / count;
+  }
+
+  /**
+   * Answer the request from the cache or dispatch it to the handler.
+   */
+  void accept(HttpServerRequest request, Handler<HttpServerRequest> handler) {
+    boolean head = "HEAD".equals(request.method());
+    String key = key(request);
+    Entry entry = get(key);
+    if (entry != null) {
+      hits.increment();
+      serve(request, entry, head);
+    } else {
+      misses.increment();
+      handler.handle(head ? request : new Capture(request, key).request);
+    }
+  }
+
+  /**
+   * Remove the responses of the URI, whatever the values of their vary headers.
+   *
+   * @return true if a response was removed
+   */
+  boolean invalidate(String uri) {
+    boolean removed = false;
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        removed |= stripe.removeUri(uri);
+      }
+    }
+    return removed;
+  }
+
+  JsonObject snapshot() {
+    int entries = 0;
+    long size = 0;
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        entries += stripe.size();
+        size += stripe.size;
+      }
+    }
+    return new JsonObject()
+        .putNumber("entries", entries)
+        .putNumber("size", size)
+        .putNumber("hits", hits.sum())
+        .putNumber("notModified", notModified.sum())
+        .putNumber("misses", misses.sum());
+  }
+
+  private String key(HttpServerRequest request) {
+    String uri = request.uri();
+    if (varyHeaders.length == 0) {
+      return uri;
+    }
+    StringBuilder key = new StringBuilder(uri);
+    Headers headers = request.headers();
+    for (String name : varyHeaders) {
+      // A URI has no control character, the separator cannot be confused with a part of the key
+      key.append('\0');
+      String value = headers.get(name);
+      if (value != null) {
+        key.append(value);
+      }
+    }
+    return key.toString();
+  }
+
+  private Entry get(String key) {
+    Stripe stripe = stripe(key);
+    synchronized (stripe) {
+      Entry entry = stripe.get(key);
+      if (entry != null && entry.expires - System.nanoTime() < 0) {
+        stripe.remove(key);
+        return null;
+      }
+      return entry;
+    }
+  }
+
+  private void put(String key, Entry entry) {
+    Stripe stripe = stripe(key);
+    synchronized (stripe) {
+      stripe.put(key, entry);
+    }
+  }
+
+  private Stripe stripe(String key) {
+    int hash = key.hashCode();
+    return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+  }
+
+  private void serve(HttpServerRequest request, Entry entry, boolean head) {
+    HttpServerResponse response = request.response();
+    String ifNoneMatch = request.headers().get("If-None-Match");
+    if (ifNoneMatch != null && matches(ifNoneMatch, entry.etag)) {
+      notModified.increment();
+      response.setStatusCode(304);
+      response.headers().set("ETag", entry.etag);
+      response.end();
+      return;
+    }
+    Headers headers = response.headers();
+    for (int i = 0; i < entry.headers.length; i += 2) {
+      headers.add(entry.headers[i], entry.headers[i + 1]);
+    }
+    if (head) {
+      headers.set("Content-Length", String.valueOf(entry.body.length()));
+      response.end();
+    } else {
+      // The connection may release the buffer it writes, each response gets its own copy
+      response.end(entry.body.copy());
+    }
+  }
+
+  /**
+   * @return true if the {@code If-None-Match} header value lists the entity tag, weak tags compare equal to
+   * the strong tags with the same value
+   */
+  static boolean matches(String ifNoneMatch, String etag) {
+    int start = 0;
+    int length = ifNoneMatch.length();
+    while (start < length) {
+      int end = ifNoneMatch.indexOf(',', start);
+      if (end < 0) {
+        end = length;
+      }
+      while (start < end && ifNoneMatch.charAt(start) == ' ') {
+        start++;
+      }
+      int last = end;
+      while (last > start && ifNoneMatch.charAt(last - 1) == ' ') {
+        last--;
+      }
+      if (ifNoneMatch.startsWith("W/", start)) {
+        start += 2;
+      }
+      if (last - start == 1 && ifNoneMatch.charAt(start) == '*' ||
+          last - start == etag.length() && ifNoneMatch.regionMatches(start, etag, 0, last - start)) {
+        return true;
+      }
+      start = end + 1;
+    }
+    return false;
+  }
+
+  /**
+   * @return true if a response with these headers can be served to other requests
+   */
+  private boolean cacheable(Headers headers) {
+    // A cookie is meant for one client only
+    if (headers.get("Set-Cookie") != null) {
+      return false;
+    }
+    for (String directive : tokens(headers.get("Cache-Control"))) {
+      int eq = directive.indexOf('=');
+      String name = eq < 0 ? directive : directive.substring(0, eq).trim();
+      if (name.equalsIgnoreCase("private") || name.equalsIgnoreCase("no-store") || name.equalsIgnoreCase("no-cache")) {
+        return false;
+      }
+    }
+    // The entries are only told apart by the vary headers of the cache
+    for (String name : tokens(headers.get("Vary"))) {
+      boolean known = name.isEmpty();
+      for (String varyHeader : varyHeaders) {
+        known |= varyHeader.equalsIgnoreCase(name);
+      }
+      if (!known) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String[] tokens(String value) {
+    if (value == null) {
+      return new String[0];
+    }
+    String[] tokens = value.split(",");
+    for (int i = 0; i < tokens.length; i++) {
+      tokens[i] = tokens[i].trim();
+    }
+    return tokens;
+  }
+
+  private static String etag(byte[] body) {
+    CRC32 crc = new CRC32();
+    crc.update(body, 0, body.length);
+    return "\"" + Integer.toHexString(body.length) + "-" + Long.toHexString(crc.getValue()) + "\"";
+  }
+
+  private static final class Entry {
+
+    final String uri;
+    final String etag;
+    // The names and the values of the response headers
+    final String[] headers;
+    final Buffer body;
+    final long expires;
+    final long size;
+
+    Entry(String uri, String etag, String[] headers, Buffer body, long expires) {
+      this.uri = uri;
+      this.etag = etag;
+      this.headers = headers;
+      this.body = body;
+      this.expires = expires;
+      long size = ENTRY_OVERHEAD + body.length() + 2 * (uri.length() + etag.length());
+      for (String s : headers) {
+        size += 2 * s.length();
+      }
+      this.size = size;
+    }
+  }
+
+  private static final class Stripe extends LinkedHashMap<String, Entry> {
+
+    private final long maxSize;
+    long size;
+
+    Stripe(long maxSize) {
+      super(16, 0.75f, true);
+      this.maxSize = maxSize;
+    }
+
+    @Override
+    public Entry put(String key, Entry entry) {
+      Entry previous = super.put(key, entry);
+      if (previous != null) {
+        size -= previous.size;
+      }
+      size += entry.size;
+      Iterator<Entry> it = values().iterator();
+      while (size > maxSize && it.hasNext()) {
+        size -= it.next().size;
+        it.remove();
+      }
+      return previous;
+    }
+
+    @Override
+    public Entry remove(Object key) {
+      Entry removed = super.remove(key);
+      if (removed != null) {
+        size -= removed.size;
+      }
+      return removed;
+    }
+
+    boolean removeUri(String uri) {
+      boolean removed = false;
+      for (Iterator<Entry> it = values().iterator(); it.hasNext(); ) {
+        Entry entry = it.next();
+        if (entry.uri.equals(uri)) {
+          size -= entry.size;
+          it.remove();
+          removed = true;
+        }
+      }
+      return removed;
+    }
+  }
+
+  /**
+   * Wraps the response of a request to copy its body and store it when it ends.
+   */
+  private final class Capture extends HttpServerResponseWrapper {
+
+    private final HttpServerRequest target;
+    private final String key;
+    private Buffer body = Buffer.buffer();
+    // The headers are sent by the first write
+    private boolean written;
+    final HttpServerRequest request;
+
+    Capture(HttpServerRequest target, String key) {
+      super(target.response());
+      this.target = target;
+      this.key = key;
+      this.request = new HttpServerRequestWrapper(target) {
+        @Override
+        public HttpServerResponse response() {
+          return Capture.this;
+        }
+      };
+    }
+
+    @Override
+    public HttpServerResponse write(Buffer data) {
+      append(data);
+      written = true;
+      delegate.write(data);
+      return this;
+    }
+
+    @Override
+    public HttpServerResponse write(String chunk, String enc) {
+      append(chunk, enc);
+      written = true;
+      delegate.write(chunk, enc);
+      return this;
+    }
+
+    @Override
+    public HttpServerResponse write(String chunk) {
+      append(chunk, null);
+      written = true;
+      delegate.write(chunk);
+      return this;
+    }
+
+    @Override
+    public void end(String chunk) {
+      append(chunk, null);
+      if (!store()) {
+        delegate.end(chunk);
+      }
+    }
+
+    @Override
+    public void end(String chunk, String enc) {
+      append(chunk, enc);
+      if (!store()) {
+        delegate.end(chunk, enc);
+      }
+    }
+
+    @Override
+    public void end(Buffer chunk) {
+      append(chunk);
+      if (!store()) {
+        delegate.end(chunk);
+      }
+    }
+
+    @Override
+    public void end() {
+      if (!store()) {
+        delegate.end();
+      }
+    }
+
+    @Override
+    public HttpServerResponse sendFile(String filename) {
+      body = null;
+      delegate.sendFile(filename);
+      return this;
+    }
+
+    @Override
+    public HttpServerResponse sendFile(String filename, String notFoundFile) {
+      body = null;
+      delegate.sendFile(filename, notFoundFile);
+      return this;
+    }
+
+    @Override
+    public HttpServerResponse sendFile(String filename, Handler<AsyncResult<Void>> resultHandler) {
+      body = null;
+      delegate.sendFile(filename, resultHandler);
+      return this;
+    }
+
+    @Override
+    public HttpServerResponse sendFile(String filename, String notFoundFile, Handler<AsyncResult<Void>> resultHandler) {
+      body = null;
+      delegate.sendFile(filename, notFoundFile, resultHandler);
+      return this;
+    }
+
+    @Override
+    public void close() {
+      body = null;
+      delegate.close();
+    }
+
+    private void append(Buffer chunk) {
+      if (body != null) {
+        body.appendBuffer(chunk);
+        checkSize();
+      }
+    }
+
+    private void append(String chunk, String enc) {
+      if (body != null) {
+        if (enc == null) {
+          body.appendString(chunk);
+        } else {
+          body.appendString(chunk, enc);
+        }
+        checkSize();
+      }
+    }
+
+    private void checkSize() {
+      if (body.length() > maxEntrySize) {
+        body = null;
+      }
+    }
+
+    /**
+     * Store the response when it can be cached.
+     *
+     * @return true if the request has been answered with a 304 instead of the response
+     */
+    private boolean store() {
+      if (body == null || delegate.getStatusCode() != 200) {
+        return false;
+      }
+      Buffer stored = body;
+      body = null;
+      Headers headers = delegate.headers();
+      if (!cacheable(headers)) {
+        return false;
+      }
+      // The entity tag set by the handler is kept
+      String etag = headers.get("ETag");
+      boolean generated = etag == null;
+      if (generated) {
+        etag = etag(stored.getBytes());
+        if (!written) {
+          headers.set("ETag", etag);
+        }
+      }
+      List<String> copy = new ArrayList<>();
+      for (Map.Entry<String, String> header : headers) {
+        String name = header.getKey();
+        // The length of the stored body is known and not chunked
+        if (!name.equalsIgnoreCase("Content-Length") && !name.equalsIgnoreCase("Transfer-Encoding")) {
+          copy.add(name);
+          copy.add(header.getValue());
+        }
+      }
+      if (generated && written) {
+        copy.add("ETag");
+        copy.add(etag);
+      }
+      Entry entry = new Entry(target.uri(), etag, copy.toArray(new String[copy.size()]), stored,
+          System.nanoTime() + ttl);
+      if (entry.size <= maxEntrySize) {
+        put(key, entry);
+      }
+      String ifNoneMatch = target.headers().get("If-None-Match");
+      if (!written && ifNoneMatch != null && matches(ifNoneMatch, etag)) {
+        notModified.increment();
+        delegate.setStatusCode(304);
+        delegate.end();
+        return true;
+      }
+      return false;
+    }
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher.impl;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.routematcher.ResponseCacheOptions;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+public class ResponseCacheOptionsImpl implements ResponseCacheOptions {
+
+  private static final long DEFAULT_MAXSIZE = 10 * 1024 * 1024;
+  private static final long DEFAULT_TTL = 60000;
+
+  private long maxSize;
+  private long ttl;
+  private Set<String> varyHeaders = new LinkedHashSet<>();
+
+  ResponseCacheOptionsImpl() {
+    this.maxSize = DEFAULT_MAXSIZE;
+    this.ttl = DEFAULT_TTL;
+  }
+
+  ResponseCacheOptionsImpl(JsonObject json) {
+    this.maxSize = json.getLong("maxSize", DEFAULT_MAXSIZE);
+    this.ttl = json.getLong("ttl", DEFAULT_TTL);
+    JsonArray arr = json.getArray("varyHeaders");
+    if (arr != null) {
+      for (Object str : arr) {
+        if (str instanceof String) {
+          varyHeaders.add((String) str);
+        } else {
+          throw new IllegalArgumentException("Invalid type " + str.getClass() + " in varyHeaders array");
+        }
+      }
+    }
+  }
+
+  @Override
+  public long getMaxSize() {
+    return maxSize;
+  }
+
+  @Override
+  public ResponseCacheOptions setMaxSize(long maxSize) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("maxSize must be > 0");
+    }
+    this.maxSize = maxSize;
+    return this;
+  }
+
+  @Override
+  public long getTtl() {
+    return ttl;
+  }
+
+  @Override
+  public ResponseCacheOptions setTtl(long ttl) {
+    if (ttl < 1) {
+      throw new IllegalArgumentException("ttl must be > 0");
+    }
+    this.ttl = ttl;
+    return this;
+  }
+
+  @Override
+  public ResponseCacheOptions addVaryHeader(String header) {
+    if (header == null || header.isEmpty()) {
+      throw new IllegalArgumentException("header must not be empty");
+    }
+    varyHeaders.add(header);
+    return this;
+  }
+
+  @Override
+  public Set<String> getVaryHeaders() {
+    return varyHeaders;
+  }
+}
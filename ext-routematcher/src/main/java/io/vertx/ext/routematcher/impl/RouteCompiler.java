@@ -0,0 +1,754 @@
+/*
+ * Copyright (c) 2011-2013 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher.impl;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpServerRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compiles the indexed bindings of an HTTP method into a generated subclass of {@link CompiledRoutes}, the literal
+ * bindings are already found with a single hash lookup.<p>
+ * The bindings are added to a {@link RadixTree} in registration order and the tree is turned into code: a switch on
+ * the next character of the path selects the literal child, short labels are then compared char by char and longer
+ * ones with {@link String#startsWith(String, int)}, and the param children are tried in turn. The children are
+ * inlined in the code of their parent until the method reaches its size budget, the others get their own method.
+ * The lowest ordinal wins exactly as with {@link RadixTree#lookup(String, int)}.<p>
+ * The {@code invoke} method switches on the ordinal and calls each handler from its own call site, so every call
+ * site only ever sees one handler class and the JIT can inline it.<p>
+ * The class file version is 49, which is verified by type inference and needs no stack map frames. A table that
+ * does not fit in the limits of a class file is not compiled.
+ */
+final class RouteCompiler {
+
+  private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+  // Longer labels are compared with String.startsWith
+  private static final int MAX_INLINED_LABEL = 8;
+  // The code size of the node methods, HotSpot does not compile the methods larger than 8000 bytes
+  private static final int METHOD_BUDGET = 4000;
+  // Keeps the locals addressable with one byte
+  private static final int MAX_INLINED_DEPTH = 64;
+  // The number of handlers called by one method, HotSpot does not compile the methods larger than 8000 bytes
+  private static final int INVOKE_CHUNK_BITS = 8;
+
+  private static final String SUPER = "io/vertx/ext/routematcher/impl/CompiledRoutes";
+  private static final String HANDLER = "io/vertx/core/Handler";
+  private static final String STRING = "java/lang/String";
+  private static final String NODE_DESC = "(Ljava/lang/String;II)I";
+  private static final String CHUNK_DESC = "([L" + HANDLER + ";ILio/vertx/core/http/HttpServerRequest;)V";
+
+  private static final int ACC_PUBLIC = 0x0001;
+  private static final int ACC_PRIVATE = 0x0002;
+  private static final int ACC_STATIC = 0x0008;
+  private static final int ACC_FINAL = 0x0010;
+  private static final int ACC_SUPER = 0x0020;
+
+  private static final int ICONST_0 = 0x03;
+  private static final int BIPUSH = 0x10;
+  private static final int SIPUSH = 0x11;
+  private static final int LDC = 0x12;
+  private static final int LDC_W = 0x13;
+  private static final int ILOAD = 0x15;
+  private static final int ALOAD = 0x19;
+  private static final int AALOAD = 0x32;
+  private static final int ISTORE = 0x36;
+  private static final int IADD = 0x60;
+  private static final int ISHR = 0x7a;
+  private static final int IFLT = 0x9b;
+  private static final int IFGE = 0x9c;
+  private static final int IFEQ = 0x99;
+  private static final int IF_ICMPNE = 0xa0;
+  private static final int IF_ICMPGE = 0xa2;
+  private static final int IF_ICMPGT = 0xa3;
+  private static final int IF_ICMPLE = 0xa4;
+  private static final int GOTO = 0xa7;
+  private static final int TABLESWITCH = 0xaa;
+  private static final int LOOKUPSWITCH = 0xab;
+  private static final int IRETURN = 0xac;
+  private static final int RETURN = 0xb1;
+  private static final int GETFIELD = 0xb4;
+  private static final int INVOKEVIRTUAL = 0xb6;
+  private static final int INVOKESPECIAL = 0xb7;
+  private static final int INVOKESTATIC = 0xb8;
+  private static final int INVOKEINTERFACE = 0xb9;
+
+  // Locals of the node methods
+  private static final int PATH = 0;
+  private static final int POS = 1;
+  private static final int BOUND = 2;
+  private static final int BEST = 3;
+  private static final int LEN = 4;
+  private static final int RESULT = 5;
+  private static final int END = 6;
+  // The position and the segment end of the inlined nodes follow, two locals per depth
+
+  private final String name;
+  private final ConstantPool pool = new ConstantPool();
+  private final ByteArrayOutputStream methods = new ByteArrayOutputStream();
+  private final Map<RadixTree.Node, String> nodeMethods = new IdentityHashMap<>();
+  private final Map<RadixTree.Node, Integer> sizes = new IdentityHashMap<>();
+  private int methodCount;
+  // The state of the node method being generated
+  private int budget;
+  private int maxDepth;
+
+  private RouteCompiler(String name) {
+    this.name = name;
+  }
+
+  /**
+   * @param bindings all the bindings of an HTTP method in registration order
+   * @return the compiled routes or null when they do not fit in a class file
+   */
+  @SuppressWarnings("unchecked")
+  static CompiledRoutes compile(List<PatternBinding> bindings) {
+    RadixTree tree = new RadixTree();
+    Handler<HttpServerRequest>[] handlers = new Handler[bindings.size()];
+    for (PatternBinding binding : bindings) {
+      handlers[binding.ordinal] = binding.handler;
+      // The literal bindings stay in the hash table
+      if (binding.regex == null && binding.paramSegments.length > 0) {
+        tree.add(binding.route.split("/", -1), binding);
+      }
+    }
+    String name = "io/vertx/ext/routematcher/impl/GeneratedRoutes" + SEQUENCE.incrementAndGet();
+    byte[] bytes;
+    try {
+      bytes = new RouteCompiler(name).generate(tree.root(), handlers.length);
+    } catch (ClassTooLargeException e) {
+      return null;
+    }
+    Class<?> clazz = new Loader().define(name.replace('/', '.'), bytes);
+    try {
+      return (CompiledRoutes) clazz.getConstructor(Handler[].class).newInstance((Object) handlers);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private byte[] generate(RadixTree.Node root, int handlerCount) {
+    List<RadixTree.Node> nodes = new ArrayList<>();
+    constructor();
+    lookup(nodeMethod(root, nodes), root.minOrdinal);
+    // The nodes that are not inlined get their own method, every node method is generated once
+    for (int i = 0; i < nodes.size(); i++) {
+      node(nodes.get(i), nodes);
+    }
+    invoke(handlerCount);
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      DataOutputStream out = new DataOutputStream(bytes);
+      int thisClass = pool.classRef(name);
+      int superClass = pool.classRef(SUPER);
+      out.writeInt(0xCAFEBABE);
+      out.writeShort(0);
+      out.writeShort(49);
+      pool.write(out);
+      out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+      out.writeShort(thisClass);
+      out.writeShort(superClass);
+      // No interface and no field
+      out.writeShort(0);
+      out.writeShort(0);
+      out.writeShort(methodCount);
+      methods.writeTo(out);
+      // No class attribute
+      out.writeShort(0);
+      return bytes.toByteArray();
+    } catch (IOException e) {
+      // Modified UTF-8 constants are limited to 64KB
+      throw new ClassTooLargeException();
+    }
+  }
+
+  private void constructor() {
+    Code code = new Code();
+    code.load(ALOAD, 0);
+    code.load(ALOAD, 1);
+    code.invoke(INVOKESPECIAL, pool.methodRef(SUPER, "<init>", "([L" + HANDLER + ";)V"));
+    code.op(RETURN);
+    method(ACC_PUBLIC, "<init>", "([L" + HANDLER + ";)V", code, 2);
+  }
+
+  private void lookup(String rootMethod, int minOrdinal) {
+    Code code = new Code();
+    Label none = new Label();
+    code.push(minOrdinal);
+    code.load(ILOAD, 2);
+    code.jump(IF_ICMPGE, none);
+    code.load(ALOAD, 1);
+    code.op(ICONST_0);
+    code.load(ILOAD, 2);
+    code.invoke(INVOKESTATIC, pool.methodRef(name, rootMethod, NODE_DESC));
+    code.op(IRETURN);
+    code.place(none);
+    code.push(-1);
+    code.op(IRETURN);
+    method(ACC_PUBLIC, "lookup", "(Ljava/lang/String;I)I", code, 3);
+  }
+
+  private String nodeMethod(RadixTree.Node node, List<RadixTree.Node> nodes) {
+    String method = nodeMethods.get(node);
+    if (method == null) {
+      method = "node" + nodeMethods.size();
+      nodeMethods.put(node, method);
+      nodes.add(node);
+    }
+    return method;
+  }
+
+  private void node(RadixTree.Node node, List<RadixTree.Node> nodes) {
+    Code code = new Code();
+    code.push(-1);
+    code.store(BEST);
+    code.load(ALOAD, PATH);
+    code.invoke(INVOKEVIRTUAL, pool.methodRef(STRING, "length", "()I"));
+    code.store(LEN);
+    Label exit = new Label();
+    maxDepth = 0;
+    budget = METHOD_BUDGET;
+    subtree(code, node, 0, exit, nodes);
+    code.place(exit);
+    code.load(ILOAD, BEST);
+    code.op(IRETURN);
+    method(ACC_PRIVATE | ACC_STATIC, nodeMethods.get(node), NODE_DESC, code, end(maxDepth) + 1);
+  }
+
+  /**
+   * Generate the code matching the subtree of a node, the children are inlined as long as the method stays
+   * within its budget and the others are matched by a call to their own method.
+   *
+   * @param depth the depth of the node in the method, each depth has its own position and segment end locals
+   * @param exit the label to jump to once the subtree is matched
+   */
+  private void subtree(Code code, RadixTree.Node node, int depth, Label exit, List<RadixTree.Node> nodes) {
+    int pos = pos(depth);
+    int end = end(depth);
+    maxDepth = Math.max(maxDepth, depth);
+
+    // End of the path, any match has a lower ordinal than the bound so it is the best candidate
+    Label notEnd = new Label();
+    code.load(ILOAD, pos);
+    code.load(ILOAD, LEN);
+    code.jump(IF_ICMPNE, notEnd);
+    if (node.binding != null) {
+      code.push(node.binding.ordinal);
+      code.load(ILOAD, BOUND);
+      code.jump(IF_ICMPGE, exit);
+      code.push(node.binding.ordinal);
+      code.store(BEST);
+      code.push(node.binding.ordinal);
+      code.store(BOUND);
+    }
+    code.jump(GOTO, exit);
+    code.place(notEnd);
+
+    // The literal children start with distinct characters, at most one of them is visited
+    Label params = new Label();
+    RadixTree.Node[] children = node.children;
+    if (children.length > 0) {
+      Label[] cases = new Label[children.length];
+      int[] keys = new int[children.length];
+      for (int i = 0; i < children.length; i++) {
+        cases[i] = new Label();
+        keys[i] = node.keys[i];
+      }
+      code.load(ALOAD, PATH);
+      code.load(ILOAD, pos);
+      code.invoke(INVOKEVIRTUAL, pool.methodRef(STRING, "charAt", "(I)C"));
+      code.lookupSwitch(keys, cases, params);
+      for (int i = 0; i < children.length; i++) {
+        RadixTree.Node child = children[i];
+        String label = child.label;
+        code.place(cases[i]);
+        code.push(child.minOrdinal);
+        code.load(ILOAD, BOUND);
+        code.jump(IF_ICMPGE, params);
+        if (label.length() > MAX_INLINED_LABEL) {
+          code.load(ALOAD, PATH);
+          code.ldc(pool.string(label));
+          code.load(ILOAD, pos);
+          code.invoke(INVOKEVIRTUAL, pool.methodRef(STRING, "startsWith", "(Ljava/lang/String;I)Z"));
+          code.jump(IFEQ, params);
+        } else if (label.length() > 1) {
+          code.load(ILOAD, pos);
+          code.push(label.length());
+          code.op(IADD);
+          code.load(ILOAD, LEN);
+          code.jump(IF_ICMPGT, params);
+          // The switch already matched the first character
+          for (int j = 1; j < label.length(); j++) {
+            code.load(ALOAD, PATH);
+            code.load(ILOAD, pos);
+            code.push(j);
+            code.op(IADD);
+            code.invoke(INVOKEVIRTUAL, pool.methodRef(STRING, "charAt", "(I)C"));
+            code.push(label.charAt(j));
+            code.jump(IF_ICMPNE, params);
+          }
+        }
+        code.load(ILOAD, pos);
+        code.push(label.length());
+        code.op(IADD);
+        child(code, child, depth, params, nodes);
+      }
+    }
+    code.place(params);
+
+    // The param children match the whole segment
+    if (node.params.length > 0) {
+      Label found = new Label();
+      code.load(ALOAD, PATH);
+      code.push('/');
+      code.load(ILOAD, pos);
+      code.invoke(INVOKEVIRTUAL, pool.methodRef(STRING, "indexOf", "(II)I"));
+      code.store(end);
+      code.load(ILOAD, end);
+      code.jump(IFGE, found);
+      code.load(ILOAD, LEN);
+      code.store(end);
+      code.place(found);
+      code.load(ILOAD, end);
+      code.load(ILOAD, pos);
+      code.jump(IF_ICMPLE, exit);
+      for (RadixTree.Node param : node.params) {
+        Label next = new Label();
+        code.push(param.minOrdinal);
+        code.load(ILOAD, BOUND);
+        code.jump(IF_ICMPGE, next);
+        if (param.type != null) {
+          code.push(param.type.ordinal());
+          code.load(ALOAD, PATH);
+          code.load(ILOAD, pos);
+          code.load(ILOAD, end);
+          code.invoke(INVOKESTATIC, pool.methodRef(SUPER, "parses", "(ILjava/lang/String;II)Z"));
+          code.jump(IFEQ, next);
+        }
+        code.load(ILOAD, end);
+        child(code, param, depth, next, nodes);
+        code.place(next);
+      }
+    }
+    code.jump(GOTO, exit);
+  }
+
+  /**
+   * Generate the code matching a child, its position is on the stack.
+   */
+  private void child(Code code, RadixTree.Node child, int depth, Label exit, List<RadixTree.Node> nodes) {
+    int size = size(child);
+    if (size <= budget && depth + 1 < MAX_INLINED_DEPTH) {
+      budget -= size;
+      code.store(pos(depth + 1));
+      subtree(code, child, depth + 1, exit, nodes);
+    } else {
+      code.store(RESULT);
+      code.load(ALOAD, PATH);
+      code.load(ILOAD, RESULT);
+      code.load(ILOAD, BOUND);
+      code.invoke(INVOKESTATIC, pool.methodRef(name, nodeMethod(child, nodes), NODE_DESC));
+      // A match has a lower ordinal than the bound so it is the best candidate
+      code.store(RESULT);
+      code.load(ILOAD, RESULT);
+      code.jump(IFLT, exit);
+      code.load(ILOAD, RESULT);
+      code.store(BEST);
+      code.load(ILOAD, RESULT);
+      code.store(BOUND);
+      code.jump(GOTO, exit);
+    }
+  }
+
+  // An upper bound of the code size of a subtree when it is inlined
+  private int size(RadixTree.Node node) {
+    Integer size = sizes.get(node);
+    if (size == null) {
+      int total = 32;
+      for (RadixTree.Node child : node.children) {
+        total += 40 + 12 * Math.min(child.label.length(), MAX_INLINED_LABEL) + size(child);
+      }
+      for (RadixTree.Node param : node.params) {
+        total += 40 + size(param);
+      }
+      size = total;
+      sizes.put(node, size);
+    }
+    return size;
+  }
+
+  private static int pos(int depth) {
+    return depth == 0 ? POS : END + 2 * depth - 1;
+  }
+
+  private static int end(int depth) {
+    return END + 2 * depth;
+  }
+
+  private void invoke(int handlerCount) {
+    int chunks = (handlerCount + (1 << INVOKE_CHUNK_BITS) - 1) >> INVOKE_CHUNK_BITS;
+    Code code = new Code();
+    Label done = new Label();
+    Label[] cases = new Label[chunks];
+    for (int i = 0; i < chunks; i++) {
+      cases[i] = new Label();
+    }
+    code.load(ILOAD, 1);
+    code.push(INVOKE_CHUNK_BITS);
+    code.op(ISHR);
+    code.tableSwitch(0, cases, done);
+    for (int i = 0; i < chunks; i++) {
+      code.place(cases[i]);
+      code.load(ALOAD, 0);
+      code.field(GETFIELD, pool.fieldRef(SUPER, "handlers", "[L" + HANDLER + ";"));
+      code.load(ILOAD, 1);
+      code.load(ALOAD, 2);
+      code.invoke(INVOKESTATIC, pool.methodRef(name, "invoke" + i, CHUNK_DESC));
+      code.op(RETURN);
+      invokeChunk(i, Math.min(handlerCount, (i + 1) << INVOKE_CHUNK_BITS));
+    }
+    code.place(done);
+    code.op(RETURN);
+    method(ACC_PUBLIC, "invoke", "(ILio/vertx/core/http/HttpServerRequest;)V", code, 3);
+  }
+
+  private void invokeChunk(int chunk, int end) {
+    int start = chunk << INVOKE_CHUNK_BITS;
+    Code code = new Code();
+    Label done = new Label();
+    Label[] cases = new Label[end - start];
+    for (int i = 0; i < cases.length; i++) {
+      cases[i] = new Label();
+    }
+    code.load(ILOAD, 1);
+    code.tableSwitch(start, cases, done);
+    for (int i = 0; i < cases.length; i++) {
+      code.place(cases[i]);
+      code.load(ALOAD, 0);
+      code.push(start + i);
+      code.op(AALOAD);
+      code.load(ALOAD, 2);
+      code.invokeInterface(pool.interfaceMethodRef(HANDLER, "handle", "(Ljava/lang/Object;)V"), 2);
+      code.op(RETURN);
+    }
+    code.place(done);
+    code.op(RETURN);
+    method(ACC_PRIVATE | ACC_STATIC, "invoke" + chunk, CHUNK_DESC, code, 3);
+  }
+
+  private void method(int access, String methodName, String desc, Code code, int maxLocals) {
+    byte[] bytecode = code.toByteArray();
+    if (bytecode.length > 65535) {
+      throw new ClassTooLargeException();
+    }
+    DataOutputStream out = new DataOutputStream(methods);
+    try {
+      out.writeShort(access);
+      out.writeShort(pool.utf8(methodName));
+      out.writeShort(pool.utf8(desc));
+      out.writeShort(1);
+      out.writeShort(pool.utf8("Code"));
+      out.writeInt(12 + bytecode.length);
+      // Enough for the deepest expression of the generated code
+      out.writeShort(6);
+      out.writeShort(maxLocals);
+      out.writeInt(bytecode.length);
+      out.write(bytecode);
+      // No exception table and no attribute
+      out.writeShort(0);
+      out.writeShort(0);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    methodCount++;
+  }
+
+  private static final class ClassTooLargeException extends RuntimeException {
+
+    ClassTooLargeException() {
+      super(null, null, false, false);
+    }
+  }
+
+  private static final class Loader extends ClassLoader {
+
+    Loader() {
+      super(CompiledRoutes.class.getClassLoader());
+    }
+
+    Class<?> define(String className, byte[] bytes) {
+      return defineClass(className, bytes, 0, bytes.length);
+    }
+  }
+
+  private static final class ConstantPool {
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(bytes);
+    private final Map<String, Integer> entries = new HashMap<>();
+    private int count = 1;
+
+    int utf8(String value) {
+      Integer index = entries.get("U" + value);
+      if (index == null) {
+        try {
+          out.writeByte(1);
+          out.writeUTF(value);
+        } catch (IOException e) {
+          throw new ClassTooLargeException();
+        }
+        index = add("U" + value);
+      }
+      return index;
+    }
+
+    int integer(int value) {
+      Integer index = entries.get("I" + value);
+      if (index == null) {
+        try {
+          out.writeByte(3);
+          out.writeInt(value);
+        } catch (IOException e) {
+          throw new IllegalStateException(e);
+        }
+        index = add("I" + value);
+      }
+      return index;
+    }
+
+    int classRef(String internalName) {
+      return ref(7, "C" + internalName, utf8(internalName), -1);
+    }
+
+    int string(String value) {
+      return ref(8, "S" + value, utf8(value), -1);
+    }
+
+    int fieldRef(String owner, String fieldName, String desc) {
+      return ref(9, "F" + owner + '.' + fieldName + desc, classRef(owner), nameAndType(fieldName, desc));
+    }
+
+    int methodRef(String owner, String methodName, String desc) {
+      return ref(10, "M" + owner + '.' + methodName + desc, classRef(owner), nameAndType(methodName, desc));
+    }
+
+    int interfaceMethodRef(String owner, String methodName, String desc) {
+      return ref(11, "J" + owner + '.' + methodName + desc, classRef(owner), nameAndType(methodName, desc));
+    }
+
+    private int nameAndType(String entryName, String desc) {
+      return ref(12, "N" + entryName + ':' + desc, utf8(entryName), utf8(desc));
+    }
+
+    private int ref(int tag, String key, int first, int second) {
+      Integer index = entries.get(key);
+      if (index == null) {
+        try {
+          out.writeByte(tag);
+          out.writeShort(first);
+          if (second != -1) {
+            out.writeShort(second);
+          }
+        } catch (IOException e) {
+          throw new IllegalStateException(e);
+        }
+        index = add(key);
+      }
+      return index;
+    }
+
+    private int add(String key) {
+      if (count == 65535) {
+        throw new ClassTooLargeException();
+      }
+      entries.put(key, count);
+      return count++;
+    }
+
+    void write(DataOutputStream dst) throws IOException {
+      dst.writeShort(count);
+      bytes.writeTo(dst);
+    }
+  }
+
+  private static final class Label {
+
+    int position = -1;
+    // The position of each branch to this label, followed by the position of its offset and the offset size
+    final List<int[]> branches = new ArrayList<>();
+  }
+
+  private final class Code {
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final List<Label> labels = new ArrayList<>();
+
+    void op(int opcode) {
+      bytes.write(opcode);
+    }
+
+    void push(int value) {
+      if (value >= -1 && value <= 5) {
+        op(ICONST_0 + value);
+      } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+        op(BIPUSH);
+        op(value);
+      } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+        op(SIPUSH);
+        u2(value);
+      } else {
+        ldc(pool.integer(value));
+      }
+    }
+
+    void ldc(int index) {
+      if (index < 256) {
+        op(LDC);
+        op(index);
+      } else {
+        op(LDC_W);
+        u2(index);
+      }
+    }
+
+    // The short forms of the load and store instructions exist for the first four locals
+    void load(int opcode, int local) {
+      if (local < 4) {
+        op((opcode == ILOAD ? 0x1a : 0x2a) + local);
+      } else {
+        op(opcode);
+        op(local);
+      }
+    }
+
+    void store(int local) {
+      if (local < 4) {
+        op(0x3b + local);
+      } else {
+        op(ISTORE);
+        op(local);
+      }
+    }
+
+    void invoke(int opcode, int index) {
+      op(opcode);
+      u2(index);
+    }
+
+    void invokeInterface(int index, int argSlots) {
+      op(INVOKEINTERFACE);
+      u2(index);
+      op(argSlots);
+      op(0);
+    }
+
+    void field(int opcode, int index) {
+      op(opcode);
+      u2(index);
+    }
+
+    void jump(int opcode, Label label) {
+      int position = bytes.size();
+      op(opcode);
+      branch(label, position, 2);
+    }
+
+    void lookupSwitch(int[] keys, Label[] cases, Label defaultCase) {
+      int position = bytes.size();
+      op(LOOKUPSWITCH);
+      align();
+      branch(defaultCase, position, 4);
+      u4(keys.length);
+      for (int i = 0; i < keys.length; i++) {
+        u4(keys[i]);
+        branch(cases[i], position, 4);
+      }
+    }
+
+    void tableSwitch(int low, Label[] cases, Label defaultCase) {
+      int position = bytes.size();
+      op(TABLESWITCH);
+      align();
+      branch(defaultCase, position, 4);
+      u4(low);
+      u4(low + cases.length - 1);
+      for (Label label : cases) {
+        branch(label, position, 4);
+      }
+    }
+
+    void place(Label label) {
+      label.position = bytes.size();
+      labels.add(label);
+    }
+
+    byte[] toByteArray() {
+      byte[] code = bytes.toByteArray();
+      for (Label label : labels) {
+        for (int[] branch : label.branches) {
+          int offset = label.position - branch[0];
+          int at = branch[1];
+          if (branch[2] == 2) {
+            if (offset < Short.MIN_VALUE || offset > Short.MAX_VALUE) {
+              throw new ClassTooLargeException();
+            }
+          } else {
+            code[at++] = (byte) (offset >> 24);
+            code[at++] = (byte) (offset >> 16);
+          }
+          code[at++] = (byte) (offset >> 8);
+          code[at] = (byte) offset;
+        }
+      }
+      return code;
+    }
+
+    private void branch(Label label, int position, int size) {
+      label.branches.add(new int[]{position, bytes.size(), size});
+      if (size == 2) {
+        u2(0);
+      } else {
+        u4(0);
+      }
+    }
+
+    private void align() {
+      while (bytes.size() % 4 != 0) {
+        op(0);
+      }
+    }
+
+    private void u2(int value) {
+      op(value >> 8);
+      op(value);
+    }
+
+    private void u4(int value) {
+      u2(value >> 16);
+      u2(value);
+    }
+  }
+}
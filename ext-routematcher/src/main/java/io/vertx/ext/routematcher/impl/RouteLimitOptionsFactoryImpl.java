@@ -0,0 +1,33 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.routematcher.impl;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.routematcher.RouteLimitOptions;
+import io.vertx.ext.routematcher.RouteLimitOptionsFactory;
+
+public class RouteLimitOptionsFactoryImpl implements RouteLimitOptionsFactory {
+
+  @Override
+  public RouteLimitOptions options() {
+    return new RouteLimitOptionsImpl();
+  }
+
+  @Override
+  public RouteLimitOptions options(JsonObject json) {
+    return new RouteLimitOptionsImpl(json);
+  }
+}
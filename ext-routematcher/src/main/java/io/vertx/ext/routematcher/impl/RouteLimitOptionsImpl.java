@@ -0,0 +1,84 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.routematcher.impl;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.routematcher.RouteLimitOptions;
+
+public class RouteLimitOptionsImpl implements RouteLimitOptions {
+
+  private static final int DEFAULT_MAXINFLIGHT = 100;
+  private static final int DEFAULT_MAXQUEUED = 0;
+  private static final long DEFAULT_QUEUETIMEOUT = 1000;
+
+  private int maxInFlight;
+  private int maxQueued;
+  private long queueTimeout;
+
+  RouteLimitOptionsImpl() {
+    this.maxInFlight = DEFAULT_MAXINFLIGHT;
+    this.maxQueued = DEFAULT_MAXQUEUED;
+    this.queueTimeout = DEFAULT_QUEUETIMEOUT;
+  }
+
+  RouteLimitOptionsImpl(JsonObject json) {
+    this.maxInFlight = json.getInteger("maxInFlight", DEFAULT_MAXINFLIGHT);
+    this.maxQueued = json.getInteger("maxQueued", DEFAULT_MAXQUEUED);
+    this.queueTimeout = json.getLong("queueTimeout", DEFAULT_QUEUETIMEOUT);
+  }
+
+  @Override
+  public int getMaxInFlight() {
+    return maxInFlight;
+  }
+
+  @Override
+  public RouteLimitOptions setMaxInFlight(int maxInFlight) {
+    if (maxInFlight < 1) {
+      throw new IllegalArgumentException("maxInFlight must be > 0");
+    }
+    this.maxInFlight = maxInFlight;
+    return this;
+  }
+
+  @Override
+  public int getMaxQueued() {
+    return maxQueued;
+  }
+
+  @Override
+  public RouteLimitOptions setMaxQueued(int maxQueued) {
+    if (maxQueued < 0) {
+      throw new IllegalArgumentException("maxQueued must be >= 0");
+    }
+    this.maxQueued = maxQueued;
+    return this;
+  }
+
+  @Override
+  public long getQueueTimeout() {
+    return queueTimeout;
+  }
+
+  @Override
+  public RouteLimitOptions setQueueTimeout(long queueTimeout) {
+    if (queueTimeout < 1) {
+      throw new IllegalArgumentException("queueTimeout must be > 0");
+    }
+    this.queueTimeout = queueTimeout;
+    return this;
+  }
+}
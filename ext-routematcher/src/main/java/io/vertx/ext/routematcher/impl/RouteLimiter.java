@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2011-2013 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.routematcher.RouteLimitOptions;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits the number of requests of the bindings of a pattern handled at the same time.<p>
+ * A request holds a slot from the call to its handler until its response is ended, a file is sent or its
+ * connection is closed. The handler sees the request through a wrapper that reports these events, the wrapper
+ * is only created for the bindings that have a limit. When a request completes, its slot is handed over to
+ * the oldest queued request which is dispatched on its own context. A queued request is paused so that its body
+ * is delivered to its handler once it is dispatched, and it leaves the queue when its connection is closed. The
+ * excess requests and the queued requests whose timeout elapses are answered with a 503 before their handler is
+ * called.<p>
+ * Instances of this class are thread-safe, a limiter is shared by the frozen copies of a route matcher.
+ */
+class RouteLimiter {
+
+  private final Vertx vertx;
+  private final int maxInFlight;
+  private final int maxQueued;
+  private final long queueTimeout;
+  private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder expired = new LongAdder();
+  private int inFlight;
+
+  RouteLimiter(Vertx vertx, RouteLimitOptions options) {
+    this.vertx = vertx;
+    this.maxInFlight = options.getMaxInFlight();
+    this.maxQueued = options.getMaxQueued();
+    this.queueTimeout = options.getQueueTimeout();
+  }
+
+  /**
+   * Dispatch the request to the handler now, later or never depending on the requests in flight.
+   */
+  void accept(HttpServerRequest request, Handler<HttpServerRequest> handler) {
+    Waiter waiter = null;
+    synchronized (this) {
+      if (inFlight < maxInFlight) {
+        inFlight++;
+      } else if (queue.size() < maxQueued) {
+        waiter = new Waiter(request, handler, vertx.context());
+        queue.add(waiter);
+        Waiter queued = waiter;
+        waiter.timerID = vertx.setTimer(queueTimeout, id -> expire(queued));
+      } else {
+        rejected.increment();
+        handler = null;
+      }
+    }
+    if (waiter != null) {
+      // The body is buffered until the request is dispatched and the handler can read it
+      request.pause();
+      Waiter queued = waiter;
+      request.response().closeHandler(v -> abandon(queued));
+    } else if (handler != null) {
+      run(request, handler);
+    } else {
+      reject(request);
+    }
+  }
+
+  JsonObject snapshot() {
+    synchronized (this) {
+      return new JsonObject()
+          .putNumber("maxInFlight", maxInFlight)
+          .putNumber("inFlight", inFlight)
+          .putNumber("queued", queue.size())
+          .putNumber("rejected", rejected.sum())
+          .putNumber("expired", expired.sum());
+    }
+  }
+
+  private void run(HttpServerRequest request, Handler<HttpServerRequest> handler) {
+    Completion completion = new Completion(request);
+    try {
+      handler.handle(completion.request);
+    } catch (RuntimeException e) {
+      completion.complete();
+      throw e;
+    }
+  }
+
+  private void release() {
+    Waiter next;
+    synchronized (this) {
+      next = queue.poll();
+      if (next == null) {
+        inFlight--;
+        return;
+      }
+      // The slot goes to the next request
+      vertx.cancelTimer(next.timerID);
+    }
+    next.context.runOnContext(v -> {
+      try {
+        run(next.request, next.handler);
+      } finally {
+        // After the handler has set its body handlers
+        next.request.resume();
+      }
+    });
+  }
+
+  private void expire(Waiter waiter) {
+    synchronized (this) {
+      if (!queue.remove(waiter)) {
+        return;
+      }
+    }
+    expired.increment();
+    reject(waiter.request);
+    waiter.request.resume();
+  }
+
+  // The connection of a queued request is closed, the request gives up its place in the queue
+  private void abandon(Waiter waiter) {
+    synchronized (this) {
+      if (!queue.remove(waiter)) {
+        return;
+      }
+      vertx.cancelTimer(waiter.timerID);
+    }
+  }
+
+  private static void reject(HttpServerRequest request) {
+    request.response().setStatusCode(503);
+    request.response().end();
+  }
+
+  private static final class Waiter {
+
+    final HttpServerRequest request;
+    final Handler<HttpServerRequest> handler;
+    final Context context;
+    long timerID;
+
+    Waiter(HttpServerRequest request, Handler<HttpServerRequest> handler, Context context) {
+      this.request = request;
+      this.handler = handler;
+      this.context = context;
+    }
+  }
+
+  /**
+   * Wraps the response of a request to release the slot of the request when it completes.
+   */
+  private final class Completion extends HttpServerResponseWrapper {
+
+    private final AtomicBoolean completed = new AtomicBoolean();
+    final HttpServerRequest request;
+
+    Completion(HttpServerRequest target) {
+      super(target.response());
+      delegate.closeHandler(v -> complete());
+      this.request = new HttpServerRequestWrapper(target) {
+        @Override
+        public HttpServerResponse response() {
+          return Completion.this;
+        }
+      };
+    }
+
+    @Override
+    public HttpServerResponse closeHandler(Handler<Void> handler) {
+      delegate.closeHandler(v -> {
+        complete();
+        if (handler != null) {
+          handler.handle(v);
+        }
+      });
+      return this;
+    }
+
+    @Override
+    public void end(String chunk) {
+      delegate.end(chunk);
+      complete();
+    }
+
+    @Override
+    public void end(String chunk, String enc) {
+      delegate.end(chunk, enc);
+      complete();
+    }
+
+    @Override
+    public void end(Buffer chunk) {
+      delegate.end(chunk);
+      complete();
+    }
+
+    @Override
+    public void end() {
+      delegate.end();
+      complete();
+    }
+
+    @Override
+    public HttpServerResponse sendFile(String filename) {
+      delegate.sendFile(filename);
+      complete();
+      return this;
+    }
+
+    @Override
+    public HttpServerResponse sendFile(String filename, String notFoundFile) {
+      delegate.sendFile(filename, notFoundFile);
+      complete();
+      return this;
+    }
+
+    @Override
+    public HttpServerResponse sendFile(String filename, Handler<AsyncResult<Void>> resultHandler) {
+      delegate.sendFile(filename, resultHandler);
+      complete();
+      return this;
+    }
+
+    @Override
+    public HttpServerResponse sendFile(String filename, String notFoundFile, Handler<AsyncResult<Void>> resultHandler) {
+      delegate.sendFile(filename, notFoundFile, resultHandler);
+      complete();
+      return this;
+    }
+
+    @Override
+    public void close() {
+      delegate.close();
+      complete();
+    }
+
+    void complete() {
+      if (completed.compareAndSet(false, true)) {
+        release();
+      }
+    }
+  }
+}
@@ -16,8 +16,10 @@
 
 package io.vertx.ext.routematcher.impl;
 
+import io.vertx.core.http.HttpServerRequest;
 import io.vertx.ext.routematcher.RouteMatcher;
 import io.vertx.ext.routematcher.RouteMatcherFactory;
+import io.vertx.ext.routematcher.RouteMatcherOptions;
 
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
@@ -28,4 +30,14 @@ public class RouteMatcherFactoryImpl implements RouteMatcherFactory {
   public RouteMatcher routeMatcher() {
     return new RouteMatcherImpl();
   }
+
+  @Override
+  public RouteMatcher routeMatcher(RouteMatcherOptions options) {
+    return new RouteMatcherImpl(options);
+  }
+
+  @Override
+  public Object typedParam(HttpServerRequest request, String name) {
+    return TypedParams.get(request, name);
+  }
 }
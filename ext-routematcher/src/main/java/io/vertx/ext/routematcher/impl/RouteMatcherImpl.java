@@ -17,12 +17,22 @@
 package io.vertx.ext.routematcher.impl;
 
 import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.Headers;
 import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.routematcher.RegExEngine;
+import io.vertx.ext.routematcher.ResponseCacheOptions;
+import io.vertx.ext.routematcher.RouteLimitOptions;
 import io.vertx.ext.routematcher.RouteMatcher;
+import io.vertx.ext.routematcher.RouteMatcherOptions;
+import io.vertx.ext.routematcher.StaticFilesOptions;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -37,68 +47,169 @@ import java.util.regex.Pattern;
  * which will be available to you in your request handler.<p>
  * It's particularly useful when writing REST-ful web applications.<p>
  * To use a simple pattern to extract parameters simply prefix the parameter name in the pattern with a ':' (colon).<p>
+ * A parameter can be given a type with {@code :name<type>}, where type is {@code int}, {@code long} or {@code uuid}.
+ * A path whose segment is not a valid value for the type does not match the pattern, and the parsed value is
+ * available to the handler with {@link RouteMatcher#typedParam}.<p>
  * Different handlers can be specified for each of the HTTP verbs, GET, POST, PUT, DELETE etc.<p>
  * For more complex matches regular expressions can be used in the pattern. When regular expressions are used, the extracted
  * parameters do not have a name, so they are put into the HTTP request with names of param0, param1, param2 etc.<p>
  * Multiple matches can be specified for each HTTP verb. In the case there are more than one matching patterns for
  * a particular request, the first matching one will be used.<p>
- * Instances of this class are not thread-safe<p>
+ * Simple patterns without parameters are resolved with a hash lookup and simple patterns whose parameters span
+ * whole path segments are indexed in a radix tree, so their matching cost depends on the length of the request
+ * path rather than on the number of patterns.<p>
+ * When combined regex matching is enabled in the {@link RouteMatcherOptions}, the regular expressions of each
+ * HTTP method are also compiled into a single automaton that finds the first matching expression in one pass.<p>
+ * When compiled dispatch is enabled, the frozen copies generate a class per HTTP method matching the simple
+ * patterns with inlined comparisons, see {@link RouteCompiler}.<p>
+ * Route matchers mounted under a path prefix are found with a single lookup in a tree of path segments and only
+ * match the remainder of the path, the directories of static files are mounted the same way.<p>
+ * The route matchers of virtual hosts are found from the {@code Host} header with a hash lookup, before the
+ * mounted route matchers and the routes.<p>
+ * The number of requests of a pattern handled at the same time can be limited, the excess requests are queued
+ * or rejected before their handler is called.<p>
+ * The responses of the GET routes of a pattern can be cached, a cached response is served without calling the
+ * handler or answered with a 304 when the request carries its entity tag.<p>
+ * Instances of this class are not thread-safe, except the immutable copies returned by {@link #freeze()}<p>
  *
  * @author <a href="http://tfox.org">Tim Fox</a>
  */
 public class RouteMatcherImpl implements RouteMatcher {
 
-  private final List<PatternBinding> getBindings = new ArrayList<>();
-  private final List<PatternBinding> putBindings = new ArrayList<>();
-  private final List<PatternBinding> postBindings = new ArrayList<>();
-  private final List<PatternBinding> deleteBindings = new ArrayList<>();
-  private final List<PatternBinding> optionsBindings = new ArrayList<>();
-  private final List<PatternBinding> headBindings = new ArrayList<>();
-  private final List<PatternBinding> traceBindings = new ArrayList<>();
-  private final List<PatternBinding> connectBindings = new ArrayList<>();
-  private final List<PatternBinding> patchBindings = new ArrayList<>();
+  static final Pattern TOKEN_PATTERN = Pattern.compile(":([A-Za-z][A-Za-z0-9_]*)(?:<([A-Za-z]+)>)?");
+  private static final String REGEX_METACHARS = "\\.[]{}()*+?^$|";
+  private static final String[] NO_VALUES = new String[0];
+
+  private final Bindings getBindings;
+  private final Bindings putBindings;
+  private final Bindings postBindings;
+  private final Bindings deleteBindings;
+  private final Bindings optionsBindings;
+  private final Bindings headBindings;
+  private final Bindings traceBindings;
+  private final Bindings connectBindings;
+  private final Bindings patchBindings;
+  private final boolean combinedRegExMatching;
+  private final int matchCacheSize;
+  private final boolean compiledDispatch;
+  private final RegExEngine regExEngine;
+  private final MountTable mounts;
+  private final HostTable hosts;
+  private final boolean frozen;
+  // Null when the metrics are disabled
+  private final RouteMatcherMetrics metrics;
   private Handler<HttpServerRequest> noMatchHandler;
 
   /**
    * Do not instantiate this directly - use RouteMatcher.newRouteMatcher() instead
    */
   public RouteMatcherImpl() {
+    this(new RouteMatcherOptionsImpl());
+  }
+
+  public RouteMatcherImpl(RouteMatcherOptions options) {
+    this.combinedRegExMatching = options.isCombinedRegExMatching();
+    this.matchCacheSize = options.getMatchCacheSize();
+    this.compiledDispatch = options.isCompiledDispatch();
+    this.regExEngine = RegExEngineFactoryImpl.lookup(options.getRegExEngine());
+    this.mounts = new MountTable();
+    this.hosts = new HostTable();
+    this.frozen = false;
+    this.metrics = options.isMetricsEnabled() ? new RouteMatcherMetrics() : null;
+    this.getBindings = new Bindings(matchCacheSize);
+    this.putBindings = new Bindings(matchCacheSize);
+    this.postBindings = new Bindings(matchCacheSize);
+    this.deleteBindings = new Bindings(matchCacheSize);
+    this.optionsBindings = new Bindings(matchCacheSize);
+    this.headBindings = new Bindings(matchCacheSize);
+    this.traceBindings = new Bindings(matchCacheSize);
+    this.connectBindings = new Bindings(matchCacheSize);
+    this.patchBindings = new Bindings(matchCacheSize);
+  }
+
+  // The copy owns its bindings so the route matcher it is copied from can still be modified
+  private RouteMatcherImpl(RouteMatcherImpl other) {
+    this.combinedRegExMatching = other.combinedRegExMatching;
+    this.matchCacheSize = other.matchCacheSize;
+    this.compiledDispatch = other.compiledDispatch;
+    this.regExEngine = other.regExEngine;
+    this.mounts = other.mounts.freeze();
+    this.hosts = other.hosts.freeze();
+    this.frozen = true;
+    this.metrics = other.metrics;
+    this.getBindings = other.getBindings.freeze(combinedRegExMatching, matchCacheSize, compiledDispatch);
+    this.putBindings = other.putBindings.freeze(combinedRegExMatching, matchCacheSize, compiledDispatch);
+    this.postBindings = other.postBindings.freeze(combinedRegExMatching, matchCacheSize, compiledDispatch);
+    this.deleteBindings = other.deleteBindings.freeze(combinedRegExMatching, matchCacheSize, compiledDispatch);
+    this.optionsBindings = other.optionsBindings.freeze(combinedRegExMatching, matchCacheSize, compiledDispatch);
+    this.headBindings = other.headBindings.freeze(combinedRegExMatching, matchCacheSize, compiledDispatch);
+    this.traceBindings = other.traceBindings.freeze(combinedRegExMatching, matchCacheSize, compiledDispatch);
+    this.connectBindings = other.connectBindings.freeze(combinedRegExMatching, matchCacheSize, compiledDispatch);
+    this.patchBindings = other.patchBindings.freeze(combinedRegExMatching, matchCacheSize, compiledDispatch);
+    this.noMatchHandler = other.noMatchHandler;
   }
 
   @Override
   public RouteMatcher accept(HttpServerRequest request) {
+    dispatch(request, request.path(), null);
+    return this;
+  }
+
+  /**
+   * @param path the path matched by the routes, the request path stripped of the prefixes of the parents
+   * @param fallback the no match handler of the parents or null
+   */
+  private void dispatch(HttpServerRequest request, String path, Handler<HttpServerRequest> fallback) {
+    if (!hosts.isEmpty()) {
+      RouteMatcherImpl host = hosts.lookup(request.headers().get("Host"));
+      if (host != null) {
+        host.dispatch(request, path, noMatchHandler != null ? noMatchHandler : fallback);
+        return;
+      }
+    }
+    if (!mounts.isEmpty()) {
+      MountTable.Mount mount = mounts.lookup(path);
+      if (mount != null) {
+        if (mount.files != null) {
+          mount.files.handle(request, mount.suffix(path), noMatchHandler != null ? noMatchHandler : fallback);
+        } else {
+          mount.matcher.dispatch(request, mount.suffix(path), noMatchHandler != null ? noMatchHandler : fallback);
+        }
+        return;
+      }
+    }
+    long start = metrics != null ? System.nanoTime() : 0;
     switch (request.method()) {
       case "GET":
-        route(request, getBindings);
+        route(request, path, getBindings, start, fallback);
         break;
       case "PUT":
-        route(request, putBindings);
+        route(request, path, putBindings, start, fallback);
         break;
       case "POST":
-        route(request, postBindings);
+        route(request, path, postBindings, start, fallback);
         break;
       case "DELETE":
-        route(request, deleteBindings);
+        route(request, path, deleteBindings, start, fallback);
         break;
       case "OPTIONS":
-        route(request, optionsBindings);
+        route(request, path, optionsBindings, start, fallback);
         break;
       case "HEAD":
-        route(request, headBindings);
+        route(request, path, headBindings, start, fallback);
         break;
       case "TRACE":
-        route(request, traceBindings);
+        route(request, path, traceBindings, start, fallback);
         break;
       case "PATCH":
-        route(request, patchBindings);
+        route(request, path, patchBindings, start, fallback);
         break;
       case "CONNECT":
-        route(request, connectBindings);
+        route(request, path, connectBindings, start, fallback);
         break;
       default:
-        notFound(request);
+        notFound(request, start, fallback);
     }
-    return this;
   }
 
   /**
@@ -337,67 +448,429 @@ public class RouteMatcherImpl implements RouteMatcher {
     return this;
   }
 
+  @Override
+  public RouteMatcherImpl mount(String prefix, RouteMatcher child) {
+    checkNotFrozen();
+    if (prefix == null || !prefix.startsWith("/") || prefix.endsWith("/")) {
+      throw new IllegalArgumentException("Invalid prefix: " + prefix);
+    }
+    if (!(child instanceof RouteMatcherImpl) || child == this) {
+      throw new IllegalArgumentException("Cannot mount " + child);
+    }
+    mounts.add(prefix, (RouteMatcherImpl) child);
+    return this;
+  }
+
+  @Override
+  public RouteMatcherImpl staticFiles(Vertx vertx, String prefix, String directory, StaticFilesOptions options) {
+    checkNotFrozen();
+    if (prefix == null || !prefix.startsWith("/") || prefix.endsWith("/")) {
+      throw new IllegalArgumentException("Invalid prefix: " + prefix);
+    }
+    if (directory == null || directory.isEmpty()) {
+      throw new IllegalArgumentException("Invalid directory: " + directory);
+    }
+    mounts.add(prefix, new StaticFiles(vertx, directory, options));
+    return this;
+  }
+
+  @Override
+  public RouteMatcherImpl virtualHost(String host, RouteMatcher child) {
+    checkNotFrozen();
+    if (host == null || host.isEmpty() || host.startsWith(".") || host.indexOf('*', 1) != -1 ||
+        (host.startsWith("*") && !host.startsWith("*."))) {
+      throw new IllegalArgumentException("Invalid host: " + host);
+    }
+    if (!(child instanceof RouteMatcherImpl) || child == this) {
+      throw new IllegalArgumentException("Cannot route host " + host + " to " + child);
+    }
+    hosts.add(host, (RouteMatcherImpl) child);
+    return this;
+  }
+
+  @Override
+  public RouteMatcherImpl limit(Vertx vertx, String pattern, RouteLimitOptions options) {
+    checkNotFrozen();
+    RouteLimiter limiter = new RouteLimiter(vertx, options);
+    boolean found = getBindings.limit(pattern, limiter);
+    found |= putBindings.limit(pattern, limiter);
+    found |= postBindings.limit(pattern, limiter);
+    found |= deleteBindings.limit(pattern, limiter);
+    found |= optionsBindings.limit(pattern, limiter);
+    found |= headBindings.limit(pattern, limiter);
+    found |= traceBindings.limit(pattern, limiter);
+    found |= connectBindings.limit(pattern, limiter);
+    found |= patchBindings.limit(pattern, limiter);
+    if (!found) {
+      throw new IllegalArgumentException("No handler registered with pattern " + pattern);
+    }
+    return this;
+  }
+
+  @Override
+  public RouteMatcherImpl cache(String pattern, ResponseCacheOptions options) {
+    checkNotFrozen();
+    ResponseCache cache = new ResponseCache(options);
+    boolean found = getBindings.cache(pattern, cache);
+    found |= headBindings.cache(pattern, cache);
+    if (!found) {
+      throw new IllegalArgumentException("No GET or HEAD handler registered with pattern " + pattern);
+    }
+    return this;
+  }
+
+  @Override
+  public RouteMatcherImpl invalidate(String uri) {
+    // The GET and HEAD bindings of a pattern share their cache
+    for (PatternBinding binding : getBindings.all) {
+      ResponseCache cache = binding.responseCache;
+      if (cache != null) {
+        cache.invalidate(uri);
+      }
+    }
+    for (PatternBinding binding : headBindings.all) {
+      ResponseCache cache = binding.responseCache;
+      if (cache != null) {
+        cache.invalidate(uri);
+      }
+    }
+    return this;
+  }
+
   /**
    * Specify a handler that will be called when no other handlers match.
    * If this handler is not specified default behaviour is to return a 404
    */
   @Override
   public RouteMatcherImpl noMatch(Handler<HttpServerRequest> handler) {
+    checkNotFrozen();
     noMatchHandler = handler;
     return this;
   }
 
-  private void addPattern(String input, Handler<HttpServerRequest> handler, List<PatternBinding> bindings) {
+  @Override
+  public RouteMatcher freeze() {
+    return frozen ? this : new RouteMatcherImpl(this);
+  }
+
+  @Override
+  public JsonObject metrics() {
+    if (metrics == null) {
+      return new JsonObject();
+    }
+    JsonArray routes = new JsonArray();
+    addRouteMetrics(routes, "GET", getBindings);
+    addRouteMetrics(routes, "PUT", putBindings);
+    addRouteMetrics(routes, "POST", postBindings);
+    addRouteMetrics(routes, "DELETE", deleteBindings);
+    addRouteMetrics(routes, "OPTIONS", optionsBindings);
+    addRouteMetrics(routes, "HEAD", headBindings);
+    addRouteMetrics(routes, "TRACE", traceBindings);
+    addRouteMetrics(routes, "CONNECT", connectBindings);
+    addRouteMetrics(routes, "PATCH", patchBindings);
+    return metrics.snapshot(routes);
+  }
+
+  private static void addRouteMetrics(JsonArray routes, String method, Bindings bindings) {
+    for (PatternBinding binding : bindings.all) {
+      JsonObject route = new JsonObject()
+          .putString("method", method)
+          .putString("pattern", binding.route)
+          .putNumber("hits", binding.hits.sum());
+      RouteLimiter limiter = binding.limiter;
+      if (limiter != null) {
+        route.putObject("limit", limiter.snapshot());
+      }
+      ResponseCache cache = binding.responseCache;
+      if (cache != null) {
+        route.putObject("cache", cache.snapshot());
+      }
+      routes.addObject(route);
+    }
+  }
+
+  private void checkNotFrozen() {
+    if (frozen) {
+      throw new IllegalStateException("Route matcher is frozen");
+    }
+  }
+
+  private void addPattern(String input, Handler<HttpServerRequest> handler, Bindings bindings) {
+    checkNotFrozen();
     // We need to search for any :<token name> tokens in the String and replace them with named capture groups
-    Matcher m =  Pattern.compile(":([A-Za-z][A-Za-z0-9_]*)").matcher(input);
+    Matcher m =  TOKEN_PATTERN.matcher(input);
     StringBuffer sb = new StringBuffer();
-    Set<String> groups = new HashSet<>();
+    Set<String> groups = new LinkedHashSet<>();
+    List<ParamType> types = new ArrayList<>();
+    boolean typed = false;
     while (m.find()) {
-      String group = m.group().substring(1);
+      String group = m.group(1);
       if (groups.contains(group)) {
         throw new IllegalArgumentException("Cannot use identifier " + group + " more than once in pattern string");
       }
-      m.appendReplacement(sb, "(?<$1>[^\\/]+)");
+      ParamType type = m.group(2) != null ? ParamType.of(m.group(2)) : null;
+      String regex = type != null ? type.regex : "[^\\/]+";
+      m.appendReplacement(sb, Matcher.quoteReplacement("(?<" + group + ">" + regex + ")"));
       groups.add(group);
+      types.add(type);
+      typed |= type != null;
     }
     m.appendTail(sb);
-    String regex = sb.toString();
-    PatternBinding binding = new PatternBinding(Pattern.compile(regex), groups, handler);
-    bindings.add(binding);
+    ParamType[] paramTypes = typed ? types.toArray(new ParamType[types.size()]) : null;
+    // Patterns made of literal segments and whole segment tokens go in the literal table or in the radix tree,
+    // the others are evaluated as regular expressions
+    String[] segments = input.split("/", -1);
+    int[] paramSegments = indexedParamSegments(segments, groups.size());
+    if (paramSegments != null && paramSegments.length == 0) {
+      bindings.addLiteral(input, handler);
+    } else if (paramSegments != null) {
+      // The tokens are whole segments, so they are in the order of the segments
+      String[] paramNames = groups.toArray(new String[groups.size()]);
+      bindings.addIndexed(input, segments, paramNames, paramSegments, paramTypes, handler);
+    } else {
+      String regex = sb.toString();
+      bindings.addRegEx(input, regExEngine.compile(regex), groups, paramTypes, handler);
+    }
   }
 
-  private static void addRegEx(String input, Handler<HttpServerRequest> handler, List<PatternBinding> bindings) {
-    PatternBinding binding = new PatternBinding(Pattern.compile(input), null, handler);
-    bindings.add(binding);
+  private void addRegEx(String input, Handler<HttpServerRequest> handler, Bindings bindings) {
+    checkNotFrozen();
+    bindings.addRegEx(input, regExEngine.compile(input), null, null, handler);
   }
 
-  private void route(HttpServerRequest request, List<PatternBinding> bindings) {
-    for (PatternBinding binding: bindings) {
-      Matcher m = binding.pattern.matcher(request.path());
-      if (m.matches()) {
-        Map<String, String> params = new HashMap<>(m.groupCount());
-        if (binding.paramNames != null) {
-          // Named params
-          for (String param: binding.paramNames) {
-            params.put(param, m.group(param));
-          }
+  /**
+   * @return the index of the segments holding a token or null when a segment is neither a token nor a literal
+   * free of regex metacharacters
+   */
+  private static int[] indexedParamSegments(String[] segments, int tokenCount) {
+    int[] paramSegments = new int[tokenCount];
+    int param = 0;
+    for (int i = 0; i < segments.length; i++) {
+      String segment = segments[i];
+      if (TOKEN_PATTERN.matcher(segment).matches()) {
+        paramSegments[param++] = i;
+      } else if (TOKEN_PATTERN.matcher(segment).find() || !isLiteral(segment)) {
+        return null;
+      }
+    }
+    return paramSegments;
+  }
+
+  private static boolean isLiteral(String s) {
+    for (int i = 0; i < s.length(); i++) {
+      if (REGEX_METACHARS.indexOf(s.charAt(i)) != -1) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void route(HttpServerRequest request, String path, Bindings bindings, long start,
+                     Handler<HttpServerRequest> fallback) {
+    MatchCache cache = bindings.cache;
+    if (cache != null) {
+      MatchCache.Entry entry = cache.get(path);
+      if (metrics != null) {
+        metrics.matchCache(entry != null);
+      }
+      if (entry != null) {
+        if (entry.binding != null) {
+          entry.addParams(request.params());
+          handle(request, bindings, entry.binding, start, entry.typedValues);
         } else {
-          // Un-named params
-          for (int i = 0; i < m.groupCount(); i++) {
-            params.put("param" + i, m.group(i + 1));
-          }
+          notFound(request, start, fallback);
         }
-        request.params().addAll(params);
-        binding.handler.handle(request);
         return;
       }
     }
-    notFound(request);
+    PatternBinding indexed = bindings.literals.get(path);
+    int bound = indexed == null ? Integer.MAX_VALUE : indexed.ordinal;
+    // Only the bindings registered before the current candidate can take precedence over it, when a literal
+    // pattern is registered first this is a single hash lookup
+    CompiledRoutes compiled = bindings.compiled;
+    if (compiled != null) {
+      int ordinal = compiled.lookup(path, bound);
+      if (ordinal != -1) {
+        indexed = bindings.all.get(ordinal);
+        bound = ordinal;
+      }
+    } else {
+      PatternBinding tree = bindings.tree.lookup(path, bound);
+      if (tree != null) {
+        indexed = tree;
+        bound = tree.ordinal;
+      }
+    }
+    // Regex bindings registered before the indexed match take precedence
+    List<PatternBinding> regexBindings = bindings.regexBindings;
+    if (!regexBindings.isEmpty() && regexBindings.get(0).ordinal < bound) {
+      RegExAutomaton automaton = combinedRegExMatching ? bindings.automaton() : null;
+      int winner = automaton != null ? automaton.match(path) : RegExAutomaton.UNKNOWN;
+      for (int i = 0; i < regexBindings.size(); i++) {
+        PatternBinding binding = regexBindings.get(i);
+        if (binding.ordinal >= bound) {
+          break;
+        }
+        if (winner != RegExAutomaton.UNKNOWN && automaton.covers(i)) {
+          // The automaton already knows the outcome, the regex is only evaluated to extract the params
+          if (i != winner) {
+            continue;
+          }
+          if (binding.paramNames.length == 0) {
+            if (cache != null) {
+              cache.put(path, binding, NO_VALUES, null);
+            }
+            handle(request, bindings, binding, start, null);
+            return;
+          }
+        }
+        RegExEngine.Match m = binding.regex.matches(path);
+        if (m != null) {
+          if (cache != null || binding.paramTypes != null) {
+            String[] values = groupValues(m, binding);
+            Object[] typedValues = null;
+            if (binding.paramTypes != null) {
+              typedValues = binding.typedValues(values);
+              if (typedValues == null) {
+                // A typed param is out of the range of its type, the next bindings are evaluated one by one
+                winner = RegExAutomaton.UNKNOWN;
+                continue;
+              }
+            }
+            handle(request, path, bindings, binding, values, typedValues, start);
+          } else {
+            addGroupParams(m, binding, request.params());
+            handle(request, bindings, binding, start, null);
+          }
+          return;
+        }
+      }
+    }
+    if (indexed != null) {
+      if (cache != null || indexed.paramTypes != null) {
+        String[] values = segmentValues(path, indexed);
+        // The tree only matches the segments the typed params can parse
+        Object[] typedValues = indexed.paramTypes != null ? indexed.typedValues(values) : null;
+        handle(request, path, bindings, indexed, values, typedValues, start);
+      } else {
+        addSegmentParams(path, indexed, request.params());
+        handle(request, bindings, indexed, start, null);
+      }
+      return;
+    }
+    if (cache != null) {
+      cache.put(path, null, NO_VALUES, null);
+    }
+    notFound(request, start, fallback);
+  }
+
+  private void handle(HttpServerRequest request, String path, Bindings bindings, PatternBinding binding,
+                      String[] values, Object[] typedValues, long start) {
+    MatchCache cache = bindings.cache;
+    if (cache != null) {
+      cache.put(path, binding, values, typedValues).addParams(request.params());
+    } else {
+      String[] names = binding.paramNames;
+      for (int i = 0; i < values.length; i++) {
+        if (values[i] != null) {
+          request.params().add(names[i], values[i]);
+        }
+      }
+    }
+    handle(request, bindings, binding, start, typedValues);
+  }
+
+  private void handle(HttpServerRequest request, Bindings bindings, PatternBinding binding, long start,
+                      Object[] typedValues) {
+    if (metrics != null) {
+      metrics.match(binding, start);
+    }
+    ResponseCache cache = binding.responseCache;
+    CompiledRoutes compiled = bindings.compiled;
+    if (cache != null) {
+      // A cached response is served without taking a slot of the limiter
+      cache.accept(request, req -> limit(req, compiled, binding, typedValues));
+    } else {
+      limit(request, compiled, binding, typedValues);
+    }
+  }
+
+  private static void limit(HttpServerRequest request, CompiledRoutes compiled, PatternBinding binding,
+                            Object[] typedValues) {
+    RouteLimiter limiter = binding.limiter;
+    if (limiter != null) {
+      limiter.accept(request, req -> invoke(req, compiled, binding, typedValues));
+    } else {
+      invoke(request, compiled, binding, typedValues);
+    }
+  }
+
+  private static void invoke(HttpServerRequest request, CompiledRoutes compiled, PatternBinding binding,
+                             Object[] typedValues) {
+    if (typedValues != null) {
+      TypedParams.dispatch(request, binding.paramNames, typedValues, binding.handler);
+    } else if (compiled != null) {
+      compiled.invoke(binding.ordinal, request);
+    } else {
+      binding.handler.handle(request);
+    }
+  }
+
+  private static void addGroupParams(RegExEngine.Match m, PatternBinding binding, Headers params) {
+    String[] names = binding.paramNames;
+    for (int i = 0; i < names.length; i++) {
+      String value = binding.namedGroups ? m.group(names[i]) : m.group(i + 1);
+      // Optional groups may not participate in the match
+      if (value != null) {
+        params.add(names[i], value);
+      }
+    }
   }
 
-  private void notFound(HttpServerRequest request) {
+  private static String[] groupValues(RegExEngine.Match m, PatternBinding binding) {
+    String[] names = binding.paramNames;
+    String[] values = new String[names.length];
+    for (int i = 0; i < names.length; i++) {
+      values[i] = binding.namedGroups ? m.group(names[i]) : m.group(i + 1);
+    }
+    return values;
+  }
+
+  private static String[] segmentValues(String path, PatternBinding binding) {
+    String[] values = new String[binding.paramSegments.length];
+    String[] segments = path.split("/", -1);
+    for (int i = 0; i < values.length; i++) {
+      values[i] = segments[binding.paramSegments[i]];
+    }
+    return values;
+  }
+
+  // The param segments are sorted, so the values are read in a single scan of the path
+  private static void addSegmentParams(String path, PatternBinding binding, Headers params) {
+    int[] paramSegments = binding.paramSegments;
+    int param = 0;
+    int segment = 0;
+    int start = 0;
+    int len = path.length();
+    for (int i = 0; i <= len && param < paramSegments.length; i++) {
+      if (i == len || path.charAt(i) == '/') {
+        if (paramSegments[param] == segment) {
+          params.add(binding.paramNames[param++], path.substring(start, i));
+        }
+        segment++;
+        start = i + 1;
+      }
+    }
+  }
+
+  private void notFound(HttpServerRequest request, long start, Handler<HttpServerRequest> fallback) {
+    if (metrics != null) {
+      metrics.noMatch(start);
+    }
     if (noMatchHandler != null) {
       noMatchHandler.handle(request);
+    } else if (fallback != null) {
+      fallback.handle(request);
     } else {
       // Default 404
       request.response().setStatusCode(404);
@@ -405,15 +878,126 @@ public class RouteMatcherImpl implements RouteMatcher {
     }
   }
 
-  private static class PatternBinding {
-    final Pattern pattern;
-    final Handler<HttpServerRequest> handler;
-    final Set<String> paramNames;
+  private static class Bindings {
+    final Map<String, PatternBinding> literals;
+    final RadixTree tree;
+    final List<PatternBinding> regexBindings;
+    // All the bindings in registration order
+    final List<PatternBinding> all;
+    // Null when the match cache is disabled
+    final MatchCache cache;
+    // Built on first use when combined regex matching is enabled
+    RegExAutomaton automaton;
+    // Only set on frozen bindings when compiled dispatch is enabled
+    final CompiledRoutes compiled;
+    int size;
+
+    Bindings(int matchCacheSize) {
+      this.cache = matchCacheSize > 0 ? new MatchCache(matchCacheSize) : null;
+      this.literals = new HashMap<>();
+      this.tree = new RadixTree();
+      this.regexBindings = new ArrayList<>();
+      this.all = new ArrayList<>();
+      this.compiled = null;
+    }
+
+    private Bindings(Bindings other, boolean combinedRegExMatching, int matchCacheSize, boolean compiledDispatch) {
+      this.cache = matchCacheSize > 0 ? new MatchCache(matchCacheSize) : null;
+      // The bindings are copied since their limiter and their cache can still be set, the automaton is immutable
+      // and can be shared
+      Map<PatternBinding, PatternBinding> copies = new IdentityHashMap<>();
+      this.all = new ArrayList<>(other.all.size());
+      for (PatternBinding binding : other.all) {
+        PatternBinding copy = new PatternBinding(binding);
+        copies.put(binding, copy);
+        all.add(copy);
+      }
+      this.literals = new HashMap<>();
+      for (Map.Entry<String, PatternBinding> literal : other.literals.entrySet()) {
+        literals.put(literal.getKey(), copies.get(literal.getValue()));
+      }
+      this.tree = new RadixTree(other.tree, copies);
+      this.regexBindings = new ArrayList<>(other.regexBindings.size());
+      for (PatternBinding binding : other.regexBindings) {
+        regexBindings.add(copies.get(binding));
+      }
+      this.automaton = other.automaton;
+      this.size = other.size;
+      if (combinedRegExMatching) {
+        // Frozen bindings are read concurrently so nothing can be built lazily
+        automaton();
+      }
+      // Null when the bindings do not fit in a generated class
+      this.compiled = compiledDispatch && !all.isEmpty() ? RouteCompiler.compile(all) : null;
+    }
+
+    Bindings freeze(boolean combinedRegExMatching, int matchCacheSize, boolean compiledDispatch) {
+      return new Bindings(this, combinedRegExMatching, matchCacheSize, compiledDispatch);
+    }
+
+    void addLiteral(String path, Handler<HttpServerRequest> handler) {
+      PatternBinding binding = add(new PatternBinding(size++, path, handler));
+      // The same path registered earlier always wins
+      literals.putIfAbsent(path, binding);
+    }
+
+    void addIndexed(String pattern, String[] segments, String[] paramNames, int[] paramSegments,
+                    ParamType[] paramTypes, Handler<HttpServerRequest> handler) {
+      tree.add(segments, add(new PatternBinding(size++, pattern, paramNames, paramSegments, paramTypes, handler)));
+    }
+
+    void addRegEx(String route, RegExEngine.RegEx regex, Set<String> paramNames, ParamType[] paramTypes,
+                  Handler<HttpServerRequest> handler) {
+      regexBindings.add(add(new PatternBinding(size++, route, regex, paramNames, paramTypes, handler)));
+      automaton = null;
+    }
+
+    /**
+     * @return true if a binding was registered with the pattern
+     */
+    boolean limit(String pattern, RouteLimiter limiter) {
+      boolean found = false;
+      for (PatternBinding binding : all) {
+        if (binding.route.equals(pattern)) {
+          binding.limiter = limiter;
+          found = true;
+        }
+      }
+      return found;
+    }
+
+    /**
+     * @return true if a binding was registered with the pattern
+     */
+    boolean cache(String pattern, ResponseCache cache) {
+      boolean found = false;
+      for (PatternBinding binding : all) {
+        if (binding.route.equals(pattern)) {
+          binding.responseCache = cache;
+          found = true;
+        }
+      }
+      return found;
+    }
 
-    private PatternBinding(Pattern pattern, Set<String> paramNames, Handler<HttpServerRequest> handler) {
-      this.pattern = pattern;
-      this.paramNames = paramNames;
-      this.handler = handler;
+    private PatternBinding add(PatternBinding binding) {
+      all.add(binding);
+      if (cache != null) {
+        // Cached decisions only hold for the bindings they were computed with
+        cache.clear();
+      }
+      return binding;
+    }
+
+    RegExAutomaton automaton() {
+      if (automaton == null) {
+        List<String> regexes = new ArrayList<>(regexBindings.size());
+        for (PatternBinding binding : regexBindings) {
+          regexes.add(binding.regex.pattern());
+        }
+        automaton = RegExAutomaton.compile(regexes);
+      }
+      return automaton;
     }
   }
 
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2011-2013 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher.impl;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The dispatch metrics of a route matcher, the hits of each route are counted by its {@link PatternBinding}.<p>
+ * Counters are {@link LongAdder}s so event loops updating the metrics of a shared route matcher do not contend.<p>
+ * Instances of this class are thread-safe
+ */
+class RouteMatcherMetrics {
+
+  // Upper bounds of the match latency buckets in nanoseconds, the last bucket is unbounded
+  private static final long[] LATENCY_BOUNDS = {250, 500, 1000, 2500, 5000, 10000, 25000, 50000, 100000};
+
+  private final LongAdder noMatch = new LongAdder();
+  private final LongAdder matchCacheHits = new LongAdder();
+  private final LongAdder matchCacheMisses = new LongAdder();
+  private final LongAdder[] latencyBuckets = new LongAdder[LATENCY_BOUNDS.length + 1];
+  private final LongAdder latencyTotal = new LongAdder();
+
+  RouteMatcherMetrics() {
+    for (int i = 0; i < latencyBuckets.length; i++) {
+      latencyBuckets[i] = new LongAdder();
+    }
+  }
+
+  void match(PatternBinding binding, long start) {
+    binding.hits.increment();
+    latency(start);
+  }
+
+  void noMatch(long start) {
+    noMatch.increment();
+    latency(start);
+  }
+
+  void matchCache(boolean hit) {
+    (hit ? matchCacheHits : matchCacheMisses).increment();
+  }
+
+  private void latency(long start) {
+    long elapsed = System.nanoTime() - start;
+    int bucket = 0;
+    while (bucket < LATENCY_BOUNDS.length && elapsed > LATENCY_BOUNDS[bucket]) {
+      bucket++;
+    }
+    latencyBuckets[bucket].increment();
+    latencyTotal.add(elapsed);
+  }
+
+  /**
+   * @param routes the hits of each route
+   */
+  JsonObject snapshot(JsonArray routes) {
+    JsonArray buckets = new JsonArray();
+    long count = 0;
+    for (int i = 0; i < latencyBuckets.length; i++) {
+      long bucketCount = latencyBuckets[i].sum();
+      count += bucketCount;
+      long bound = i < LATENCY_BOUNDS.length ? LATENCY_BOUNDS[i] : Long.MAX_VALUE;
+      buckets.addObject(new JsonObject().putNumber("le", bound).putNumber("count", bucketCount));
+    }
+    JsonObject latency = new JsonObject()
+        .putNumber("count", count)
+        .putNumber("totalNanos", latencyTotal.sum())
+        .putArray("buckets", buckets);
+    return new JsonObject()
+        .putArray("routes", routes)
+        .putNumber("noMatch", noMatch.sum())
+        .putObject("matchCache", new JsonObject()
+            .putNumber("hits", matchCacheHits.sum())
+            .putNumber("misses", matchCacheMisses.sum()))
+        .putObject("matchLatency", latency);
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher.impl;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.routematcher.RegExEngine;
+import io.vertx.ext.routematcher.RouteMatcherOptions;
+
+public class RouteMatcherOptionsImpl implements RouteMatcherOptions {
+
+  private static final boolean DEFAULT_COMBINEDREGEXMATCHING = false;
+  private static final boolean DEFAULT_METRICSENABLED = false;
+  private static final int DEFAULT_MATCHCACHESIZE = 0;
+  private static final String DEFAULT_REGEXENGINE = RegExEngine.JDK;
+  private static final boolean DEFAULT_COMPILEDDISPATCH = false;
+
+  private boolean combinedRegExMatching;
+  private boolean metricsEnabled;
+  private int matchCacheSize;
+  private String regExEngine;
+  private boolean compiledDispatch;
+
+  RouteMatcherOptionsImpl() {
+    this.combinedRegExMatching = DEFAULT_COMBINEDREGEXMATCHING;
+    this.metricsEnabled = DEFAULT_METRICSENABLED;
+    this.matchCacheSize = DEFAULT_MATCHCACHESIZE;
+    this.regExEngine = DEFAULT_REGEXENGINE;
+    this.compiledDispatch = DEFAULT_COMPILEDDISPATCH;
+  }
+
+  RouteMatcherOptionsImpl(JsonObject json) {
+    this.combinedRegExMatching = json.getBoolean("combinedRegExMatching", DEFAULT_COMBINEDREGEXMATCHING);
+    this.metricsEnabled = json.getBoolean("metricsEnabled", DEFAULT_METRICSENABLED);
+    this.matchCacheSize = json.getInteger("matchCacheSize", DEFAULT_MATCHCACHESIZE);
+    this.regExEngine = json.getString("regExEngine", DEFAULT_REGEXENGINE);
+    this.compiledDispatch = json.getBoolean("compiledDispatch", DEFAULT_COMPILEDDISPATCH);
+  }
+
+  @Override
+  public boolean isCombinedRegExMatching() {
+    return combinedRegExMatching;
+  }
+
+  @Override
+  public RouteMatcherOptions setCombinedRegExMatching(boolean combinedRegExMatching) {
+    this.combinedRegExMatching = combinedRegExMatching;
+    return this;
+  }
+
+  @Override
+  public boolean isMetricsEnabled() {
+    return metricsEnabled;
+  }
+
+  @Override
+  public RouteMatcherOptions setMetricsEnabled(boolean metricsEnabled) {
+    this.metricsEnabled = metricsEnabled;
+    return this;
+  }
+
+  @Override
+  public int getMatchCacheSize() {
+    return matchCacheSize;
+  }
+
+  @Override
+  public RouteMatcherOptions setMatchCacheSize(int matchCacheSize) {
+    if (matchCacheSize < 0) {
+      throw new IllegalArgumentException("matchCacheSize must be >= 0");
+    }
+    this.matchCacheSize = matchCacheSize;
+    return this;
+  }
+
+  @Override
+  public String getRegExEngine() {
+    return regExEngine;
+  }
+
+  @Override
+  public RouteMatcherOptions setRegExEngine(String regExEngine) {
+    this.regExEngine = regExEngine;
+    return this;
+  }
+
+  @Override
+  public boolean isCompiledDispatch() {
+    return compiledDispatch;
+  }
+
+  @Override
+  public RouteMatcherOptions setCompiledDispatch(boolean compiledDispatch) {
+    this.compiledDispatch = compiledDispatch;
+    return this;
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher.impl;
+
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.routematcher.RouteMatcher;
+import io.vertx.ext.routematcher.SharedRouteMatcher;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Instances of this class are thread-safe
+ */
+public class SharedRouteMatcherImpl implements SharedRouteMatcher {
+
+  private final AtomicReference<RouteMatcher> current;
+
+  public SharedRouteMatcherImpl(RouteMatcher routeMatcher) {
+    this.current = new AtomicReference<>(routeMatcher.freeze());
+  }
+
+  @Override
+  public SharedRouteMatcher accept(HttpServerRequest request) {
+    current.get().accept(request);
+    return this;
+  }
+
+  @Override
+  public SharedRouteMatcher swap(RouteMatcher routeMatcher) {
+    current.set(routeMatcher.freeze());
+    return this;
+  }
+
+  @Override
+  public RouteMatcher current() {
+    return current.get();
+  }
+}
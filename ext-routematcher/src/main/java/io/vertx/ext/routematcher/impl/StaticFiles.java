@@ -0,0 +1,425 @@
+/*
+ * Copyright (c) 2011-2013 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+
+package io.vertx.ext.routematcher.impl;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Headers;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.FileProps;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.routematcher.StaticFilesOptions;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves the files of a directory mounted under a path prefix, for the GET and HEAD requests.<p>
+ * The files up to the maximum cached file size are read once and kept in memory with their {@code Content-Type},
+ * {@code ETag} and {@code Last-Modified} headers, a cached file is served without touching the disk until the
+ * cache timeout elapses, its modification time is then checked again. The single byte range requests are
+ * answered with a 206 and the requested bytes of the cached body, each response writes its own copy of the bytes
+ * it sends since the connection may release the buffer it writes. The larger files are sent with
+ * {@code sendFile} so that their content is copied by the kernel. The response has no way to send a part of a
+ * file, so their range requests are answered with the whole file and a 200, and their responses carry
+ * {@code Accept-Ranges: none} so that clients do not ask for ranges. Both kinds of files
+ * answer the conditional requests with a 304.<p>
+ * The paths are percent-decoded and the paths with an empty, {@code .} or {@code ..} segment are not resolved,
+ * so a request cannot reach a file outside of the directory. The requests for missing files go to the no match
+ * handler.<p>
+ * The cache is split in stripes locked independently like {@link MatchCache}. Instances of this class are
+ * thread-safe, they are shared by the frozen copies of a route matcher.
+ */
+class StaticFiles {
+
+  private static final int STRIPES = 16;
+  private static final long MIN_STRIPE_SIZE = 1024 * 1024;
+  // The estimated size of an entry besides its body and its name
+  private static final int ENTRY_OVERHEAD = 256;
+  private static final int[] UNSATISFIABLE = new int[0];
+  private static final DateTimeFormatter HTTP_DATE =
+      DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.ENGLISH).withZone(ZoneOffset.UTC);
+  private static final Map<String, String> CONTENT_TYPES = new HashMap<>();
+
+  static {
+    CONTENT_TYPES.put("html", "text/html");
+    CONTENT_TYPES.put("htm", "text/html");
+    CONTENT_TYPES.put("css", "text/css");
+    CONTENT_TYPES.put("js", "application/javascript");
+    CONTENT_TYPES.put("json", "application/json");
+    CONTENT_TYPES.put("map", "application/json");
+    CONTENT_TYPES.put("txt", "text/plain");
+    CONTENT_TYPES.put("xml", "application/xml");
+    CONTENT_TYPES.put("svg", "image/svg+xml");
+    CONTENT_TYPES.put("png", "image/png");
+    CONTENT_TYPES.put("jpg", "image/jpeg");
+    CONTENT_TYPES.put("jpeg", "image/jpeg");
+    CONTENT_TYPES.put("gif", "image/gif");
+    CONTENT_TYPES.put("ico", "image/x-icon");
+    CONTENT_TYPES.put("woff", "application/font-woff");
+    CONTENT_TYPES.put("ttf", "application/x-font-ttf");
+    CONTENT_TYPES.put("eot", "application/vnd.ms-fontobject");
+    CONTENT_TYPES.put("pdf", "application/pdf");
+    CONTENT_TYPES.put("zip", "application/zip");
+  }
+
+  private final Vertx vertx;
+  private final String directory;
+  private final long maxCachedFileSize;
+  private final long cacheTimeout;
+  // Empty when no file is kept in memory
+  private final Stripe[] stripes;
+
+  StaticFiles(Vertx vertx, String directory, StaticFilesOptions options) {
+    this.vertx = vertx;
+    String path = new File(directory).getAbsolutePath();
+    this.directory = path.endsWith(File.separator) ? path.substring(0, path.length() - 1) : path;
+    this.cacheTimeout = TimeUnit.MILLISECONDS.toNanos(options.getCacheTimeout());
+    long maxCacheSize = options.getMaxCacheSize();
+    int count = maxCacheSize == 0 ? 0 : 1;
+    while (count > 0 && count < STRIPES && maxCacheSize / (count * 2) >= MIN_STRIPE_SIZE) {
+      count *= 2;
+    }
+    this.stripes = new Stripe[count];
+    for (int i = 0; i < count; i++) {
+      stripes[i] = new Stripe(maxCacheSize / count);
+    }
+    this.maxCachedFileSize = count == 0 ? -1 : Math.min(options.getMaxCachedFileSize(), maxCacheSize / count);
+  }
+
+  /**
+   * @param path the path relative to the prefix of the directory
+   * @param fallback the handler of the requests for missing files or null to answer them with a 404
+   */
+  void handle(HttpServerRequest request, String path, Handler<HttpServerRequest> fallback) {
+    String method = request.method();
+    boolean head = "HEAD".equals(method);
+    String name = head || "GET".equals(method) ? name(path) : null;
+    if (name == null) {
+      notFound(request, fallback);
+      return;
+    }
+    Entry entry = get(name);
+    if (entry != null && entry.validUntil - System.nanoTime() >= 0) {
+      serve(request, entry, head);
+      return;
+    }
+    String file = directory + name.replace('/', File.separatorChar);
+    vertx.fileSystem().props(file, ar -> {
+      if (ar.failed() || !ar.result().isRegularFile()) {
+        notFound(request, fallback);
+        return;
+      }
+      FileProps props = ar.result();
+      if (entry != null && entry.lastModifiedTime == props.lastModifiedTime() &&
+          entry.body.length() == props.size()) {
+        entry.validUntil = System.nanoTime() + cacheTimeout;
+        serve(request, entry, head);
+      } else if (props.size() <= maxCachedFileSize) {
+        vertx.fileSystem().readFile(file, ar2 -> {
+          if (ar2.failed()) {
+            notFound(request, fallback);
+            return;
+          }
+          Entry loaded = new Entry(name, props, ar2.result(), System.nanoTime() + cacheTimeout);
+          // The file changed while it was read when the sizes differ, it is served without being kept
+          if (loaded.body.length() == props.size()) {
+            put(name, loaded);
+          }
+          serve(request, loaded, head);
+        });
+      } else {
+        sendFile(request, file, name, props, head);
+      }
+    });
+  }
+
+  private Entry get(String name) {
+    if (stripes.length == 0) {
+      return null;
+    }
+    Stripe stripe = stripe(name);
+    synchronized (stripe) {
+      return stripe.get(name);
+    }
+  }
+
+  private void put(String name, Entry entry) {
+    Stripe stripe = stripe(name);
+    synchronized (stripe) {
+      stripe.put(name, entry);
+    }
+  }
+
+  private Stripe stripe(String name) {
+    int hash = name.hashCode();
+    return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+  }
+
+  private static void serve(HttpServerRequest request, Entry entry, boolean head) {
+    HttpServerResponse response = request.response();
+    Headers headers = response.headers();
+    headers.set("ETag", entry.etag);
+    headers.set("Last-Modified", entry.lastModified);
+    if (notModified(request, entry.etag, entry.lastModifiedTime)) {
+      response.setStatusCode(304);
+      response.end();
+      return;
+    }
+    headers.set("Content-Type", entry.contentType);
+    headers.set("Accept-Ranges", "bytes");
+    int length = entry.body.length();
+    int start = 0;
+    int end = length;
+    String rangeHeader = request.headers().get("Range");
+    if (rangeHeader != null) {
+      int[] range = range(rangeHeader, length);
+      if (range == UNSATISFIABLE) {
+        response.setStatusCode(416);
+        headers.set("Content-Range", "bytes */" + length);
+        response.end();
+        return;
+      }
+      if (range != null) {
+        start = range[0];
+        end = range[1] + 1;
+        response.setStatusCode(206);
+        headers.set("Content-Range", "bytes " + range[0] + "-" + range[1] + "/" + length);
+      }
+    }
+    if (head) {
+      headers.set("Content-Length", String.valueOf(end - start));
+      response.end();
+    } else {
+      // The connection may release the buffer it writes, each response gets its own copy
+      response.end(entry.body.getBuffer(start, end));
+    }
+  }
+
+  private static void sendFile(HttpServerRequest request, String file, String name, FileProps props, boolean head) {
+    HttpServerResponse response = request.response();
+    Headers headers = response.headers();
+    String etag = etag(props);
+    headers.set("ETag", etag);
+    headers.set("Last-Modified", HTTP_DATE.format(Instant.ofEpochMilli(props.lastModifiedTime())));
+    if (notModified(request, etag, props.lastModifiedTime())) {
+      response.setStatusCode(304);
+      response.end();
+      return;
+    }
+    headers.set("Content-Type", contentType(name));
+    // The Range header is ignored, the whole file is sent
+    headers.set("Accept-Ranges", "none");
+    if (head) {
+      headers.set("Content-Length", String.valueOf(props.size()));
+      response.end();
+    } else {
+      response.sendFile(file);
+    }
+  }
+
+  private static void notFound(HttpServerRequest request, Handler<HttpServerRequest> fallback) {
+    if (fallback != null) {
+      fallback.handle(request);
+    } else {
+      request.response().setStatusCode(404);
+      request.response().end();
+    }
+  }
+
+  /**
+   * @return true if the conditional headers of the request show that the client has the current file, the
+   * {@code If-None-Match} header takes precedence over the {@code If-Modified-Since} header
+   */
+  private static boolean notModified(HttpServerRequest request, String etag, long lastModifiedTime) {
+    String ifNoneMatch = request.headers().get("If-None-Match");
+    if (ifNoneMatch != null) {
+      return ResponseCache.matches(ifNoneMatch, etag);
+    }
+    String ifModifiedSince = request.headers().get("If-Modified-Since");
+    if (ifModifiedSince != null) {
+      try {
+        return lastModifiedTime / 1000 <= Instant.from(HTTP_DATE.parse(ifModifiedSince)).getEpochSecond();
+      } catch (DateTimeParseException e) {
+        // Ignored as required by RFC 7232
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return the first and the last byte of the range, null when the header is not a single byte range or
+   * {@link #UNSATISFIABLE} when the range is outside of the body
+   */
+  static int[] range(String header, int length) {
+    if (!header.startsWith("bytes=") || header.indexOf(',') != -1) {
+      return null;
+    }
+    int dash = header.indexOf('-', 6);
+    if (dash == -1) {
+      return null;
+    }
+    try {
+      String first = header.substring(6, dash).trim();
+      String last = header.substring(dash + 1).trim();
+      if (first.isEmpty()) {
+        // The suffix range of the last bytes
+        long suffix = Long.parseLong(last);
+        if (suffix < 0) {
+          return null;
+        }
+        if (suffix == 0 || length == 0) {
+          return UNSATISFIABLE;
+        }
+        return new int[]{(int) Math.max(0, length - suffix), length - 1};
+      }
+      long start = Long.parseLong(first);
+      long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+      if (start > end) {
+        return start >= length ? UNSATISFIABLE : null;
+      }
+      return new int[]{(int) start, (int) end};
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  /**
+   * @return the percent-decoded path or null when it does not name a file of the directory
+   */
+  static String name(String path) {
+    if (path.isEmpty() || path.charAt(0) != '/' || path.endsWith("/")) {
+      return null;
+    }
+    String name = path.indexOf('%') == -1 ? path : decode(path);
+    if (name == null || name.indexOf('\\') != -1 || name.indexOf('\0') != -1) {
+      return null;
+    }
+    int length = name.length();
+    int start = 1;
+    while (start <= length) {
+      int end = name.indexOf('/', start);
+      if (end == -1) {
+        end = length;
+      }
+      int segment = end - start;
+      if (segment == 0 || (segment == 1 && name.charAt(start) == '.') ||
+          (segment == 2 && name.startsWith("..", start))) {
+        return null;
+      }
+      start = end + 1;
+    }
+    return name;
+  }
+
+  private static String decode(String path) {
+    byte[] bytes = new byte[path.length()];
+    int count = 0;
+    for (int i = 0; i < path.length(); i++) {
+      char c = path.charAt(i);
+      if (c == '%') {
+        if (i + 2 >= path.length()) {
+          return null;
+        }
+        int high = Character.digit(path.charAt(i + 1), 16);
+        int low = Character.digit(path.charAt(i + 2), 16);
+        if (high == -1 || low == -1) {
+          return null;
+        }
+        bytes[count++] = (byte) (high << 4 | low);
+        i += 2;
+      } else if (c < 0x80) {
+        bytes[count++] = (byte) c;
+      } else {
+        return null;
+      }
+    }
+    return new String(bytes, 0, count, StandardCharsets.UTF_8);
+  }
+
+  private static String contentType(String name) {
+    int dot = name.lastIndexOf('.');
+    String contentType = dot > name.lastIndexOf('/') ?
+        CONTENT_TYPES.get(name.substring(dot + 1).toLowerCase(Locale.ENGLISH)) : null;
+    return contentType != null ? contentType : "application/octet-stream";
+  }
+
+  private static String etag(FileProps props) {
+    return "\"" + Long.toHexString(props.size()) + "-" + Long.toHexString(props.lastModifiedTime()) + "\"";
+  }
+
+  private static final class Entry {
+
+    final String contentType;
+    final String etag;
+    final String lastModified;
+    final long lastModifiedTime;
+    final Buffer body;
+    // The estimated memory used by the entry
+    final long size;
+    // Written by the event loop that checked the file again
+    volatile long validUntil;
+
+    Entry(String name, FileProps props, Buffer body, long validUntil) {
+      this.contentType = contentType(name);
+      this.etag = etag(props);
+      this.lastModified = HTTP_DATE.format(Instant.ofEpochMilli(props.lastModifiedTime()));
+      this.lastModifiedTime = props.lastModifiedTime();
+      this.size = ENTRY_OVERHEAD + body.length() + 2 * name.length();
+      this.body = body;
+      this.validUntil = validUntil;
+    }
+  }
+
+  private static final class Stripe extends LinkedHashMap<String, Entry> {
+
+    private final long maxSize;
+    private long size;
+
+    Stripe(long maxSize) {
+      super(16, 0.75f, true);
+      this.maxSize = maxSize;
+    }
+
+    @Override
+    public Entry put(String name, Entry entry) {
+      Entry previous = super.put(name, entry);
+      if (previous != null) {
+        size -= previous.size;
+      }
+      size += entry.size;
+      Iterator<Entry> it = values().iterator();
+      while (size > maxSize && it.hasNext()) {
+        size -= it.next().size;
+        it.remove();
+      }
+      return previous;
+    }
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ * The Eclipse Public License is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * The Apache License v2.0 is available at
+ * http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher.impl;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.routematcher.StaticFilesOptions;
+
+public class StaticFilesOptionsImpl implements StaticFilesOptions {
+
+  private static final long DEFAULT_MAXCACHESIZE = 10 * 1024 * 1024;
+  private static final long DEFAULT_MAXCACHEDFILESIZE = 64 * 1024;
+  private static final long DEFAULT_CACHETIMEOUT = 10000;
+
+  private long maxCacheSize;
+  private long maxCachedFileSize;
+  private long cacheTimeout;
+
+  StaticFilesOptionsImpl() {
+    this.maxCacheSize = DEFAULT_MAXCACHESIZE;
+    this.maxCachedFileSize = DEFAULT_MAXCACHEDFILESIZE;
+    this.cacheTimeout = DEFAULT_CACHETIMEOUT;
+  }
+
+  StaticFilesOptionsImpl(JsonObject json) {
+    this.maxCacheSize = json.getLong("maxCacheSize", DEFAULT_MAXCACHESIZE);
+    this.maxCachedFileSize = json.getLong("maxCachedFileSize", DEFAULT_MAXCACHEDFILESIZE);
+    this.cacheTimeout = json.getLong("cacheTimeout", DEFAULT_CACHETIMEOUT);
+  }
+
+  @Override
+  public long getMaxCacheSize() {
+    return maxCacheSize;
+  }
+
+  @Override
+  public StaticFilesOptions setMaxCacheSize(long maxCacheSize) {
+    if (maxCacheSize < 0) {
+      throw new IllegalArgumentException("maxCacheSize must be >= 0");
+    }
+    this.maxCacheSize = maxCacheSize;
+    return this;
+  }
+
+  @Override
+  public long getMaxCachedFileSize() {
+    return maxCachedFileSize;
+  }
+
+  @Override
+  public StaticFilesOptions setMaxCachedFileSize(long maxCachedFileSize) {
+    if (maxCachedFileSize < 1) {
+      throw new IllegalArgumentException("maxCachedFileSize must be > 0");
+    }
+    this.maxCachedFileSize = maxCachedFileSize;
+    return this;
+  }
+
+  @Override
+  public long getCacheTimeout() {
+    return cacheTimeout;
+  }
+
+  @Override
+  public StaticFilesOptions setCacheTimeout(long cacheTimeout) {
+    if (cacheTimeout < 1) {
+      throw new IllegalArgumentException("cacheTimeout must be > 0");
+    }
+    this.cacheTimeout = cacheTimeout;
+    return this;
+  }
+}
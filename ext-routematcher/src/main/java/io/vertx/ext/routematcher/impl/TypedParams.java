@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2011-2013 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.routematcher.impl;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpServerRequest;
+
+/**
+ * A request carrying the parsed values of the typed parameters of the binding it is dispatched to. The values stay
+ * attached to the request after the handler returns, a handler dispatching the request to another route matcher
+ * passes them along and the values of the inner dispatch are found first.
+ */
+final class TypedParams extends HttpServerRequestWrapper {
+
+  private final String[] names;
+  private final Object[] values;
+
+  private TypedParams(HttpServerRequest request, String[] names, Object[] values) {
+    super(request);
+    this.names = names;
+    this.values = values;
+  }
+
+  static void dispatch(HttpServerRequest request, String[] names, Object[] values,
+                       Handler<HttpServerRequest> handler) {
+    handler.handle(new TypedParams(request, names, values));
+  }
+
+  /**
+   * @return the value of the param or null when the request was not dispatched with a typed param with this name
+   */
+  static Object get(HttpServerRequest request, String name) {
+    while (request instanceof HttpServerRequestWrapper) {
+      if (request instanceof TypedParams) {
+        TypedParams params = (TypedParams) request;
+        for (int i = 0; i < params.names.length; i++) {
+          if (params.values[i] != null && params.names[i].equals(name)) {
+            return params.values[i];
+          }
+        }
+      }
+      request = ((HttpServerRequestWrapper) request).delegate;
+    }
+    return null;
+  }
+}
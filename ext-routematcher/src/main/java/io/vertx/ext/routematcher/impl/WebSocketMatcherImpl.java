@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2011-2013 The original author or authors
+ * ------------------------------------------------------
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *     The Eclipse Public License is available at
+ *     http://www.eclipse.org/legal/epl-v10.html
+ *
+ *     The Apache License v2.0 is available at
+ *     http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+
+
+package io.vertx.ext.routematcher.impl;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.ServerWebSocket;
+import io.vertx.ext.routematcher.WebSocketMatch;
+import io.vertx.ext.routematcher.WebSocketMatcher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+
+/**
+ * Matches the websockets with the literal table and the {@link RadixTree} of the route matcher. The bindings
+ * have no request handler, the handler of a binding is the one registered at its ordinal.<p>
+ * Unlike the routes, a pattern is never evaluated as a regular expression so its literal segments may hold any
+ * character.
+ */
+public class WebSocketMatcherImpl implements WebSocketMatcher {
+
+  private final Map<String, PatternBinding> literals = new HashMap<>();
+  private final RadixTree tree = new RadixTree();
+  private final List<Handler<WebSocketMatch>> handlers = new ArrayList<>();
+  private Handler<ServerWebSocket> noMatchHandler;
+
+  @Override
+  public WebSocketMatcherImpl accept(ServerWebSocket webSocket) {
+    String path = webSocket.path();
+    PatternBinding binding = literals.get(path);
+    PatternBinding indexed = tree.lookup(path, binding == null ? Integer.MAX_VALUE : binding.ordinal);
+    if (indexed != null) {
+      binding = indexed;
+    }
+    if (binding != null) {
+      handlers.get(binding.ordinal).handle(new Match(webSocket, path, binding));
+    } else if (noMatchHandler != null) {
+      noMatchHandler.handle(webSocket);
+    } else {
+      webSocket.reject();
+    }
+    return this;
+  }
+
+  @Override
+  public WebSocketMatcherImpl add(String pattern, Handler<WebSocketMatch> handler) {
+    if (pattern == null || !pattern.startsWith("/")) {
+      throw new IllegalArgumentException("Invalid pattern: " + pattern);
+    }
+    String[] segments = pattern.split("/", -1);
+    Set<String> names = new LinkedHashSet<>();
+    List<ParamType> types = new ArrayList<>();
+    boolean typed = false;
+    List<Integer> paramSegments = new ArrayList<>();
+    for (int i = 0; i < segments.length; i++) {
+      Matcher m = RouteMatcherImpl.TOKEN_PATTERN.matcher(segments[i]);
+      if (m.matches()) {
+        if (!names.add(m.group(1))) {
+          throw new IllegalArgumentException("Cannot use identifier " + m.group(1) +
+              " more than once in pattern string");
+        }
+        ParamType type = m.group(2) != null ? ParamType.of(m.group(2)) : null;
+        types.add(type);
+        typed |= type != null;
+        paramSegments.add(i);
+      } else if (m.find()) {
+        throw new IllegalArgumentException("The params of a websocket pattern must be whole segments: " + pattern);
+      }
+    }
+    int ordinal = handlers.size();
+    if (paramSegments.isEmpty()) {
+      // The same path registered earlier always wins
+      literals.putIfAbsent(pattern, new PatternBinding(ordinal, pattern, null));
+    } else {
+      int[] indices = new int[paramSegments.size()];
+      for (int i = 0; i < indices.length; i++) {
+        indices[i] = paramSegments.get(i);
+      }
+      ParamType[] paramTypes = typed ? types.toArray(new ParamType[types.size()]) : null;
+      tree.add(segments, new PatternBinding(ordinal, pattern, names.toArray(new String[names.size()]), indices,
+          paramTypes, null));
+    }
+    handlers.add(handler);
+    return this;
+  }
+
+  @Override
+  public WebSocketMatcherImpl noMatch(Handler<ServerWebSocket> handler) {
+    noMatchHandler = handler;
+    return this;
+  }
+
+  private static final class Match implements WebSocketMatch {
+
+    private final ServerWebSocket webSocket;
+    private final String path;
+    private final PatternBinding binding;
+
+    Match(ServerWebSocket webSocket, String path, PatternBinding binding) {
+      this.webSocket = webSocket;
+      this.path = path;
+      this.binding = binding;
+    }
+
+    @Override
+    public ServerWebSocket webSocket() {
+      return webSocket;
+    }
+
+    @Override
+    public String param(String name) {
+      String[] names = binding.paramNames;
+      for (int param = 0; param < names.length; param++) {
+        if (names[param].equals(name)) {
+          return segment(binding.paramSegments[param]);
+        }
+      }
+      return null;
+    }
+
+    private String segment(int index) {
+      int start = 0;
+      for (int i = 0; i < index; i++) {
+        start = path.indexOf('/', start) + 1;
+      }
+      int end = path.indexOf('/', start);
+      return path.substring(start, end == -1 ? path.length() : end);
+    }
+  }
+}
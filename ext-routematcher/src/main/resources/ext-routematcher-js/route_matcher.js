@@ -16,10 +16,15 @@
 
 var utils = require('vertx-js/util/utils');
 var HttpServerRequest = require('vertx-js/http_server_request');
+var Vertx = require('vertx-js/vertx');
 
 var io = Packages.io;
 var JsonObject = io.vertx.core.json.JsonObject;
 var JRouteMatcher = io.vertx.ext.routematcher.RouteMatcher;
+var RouteMatcherOptions = io.vertx.ext.routematcher.RouteMatcherOptions;
+var RouteLimitOptions = io.vertx.ext.routematcher.RouteLimitOptions;
+var ResponseCacheOptions = io.vertx.ext.routematcher.ResponseCacheOptions;
+var StaticFilesOptions = io.vertx.ext.routematcher.StaticFilesOptions;
 
 /**
 
@@ -298,6 +303,98 @@ var RouteMatcher = function(j_val) {
     } else utils.invalidArgs();
   };
 
+  /*
+   Mount a route matcher under a path prefix. The requests whose path is the prefix or starts with the prefix
+   followed by a {@code /} are dispatched to the child with the remainder of the path, so {@code /app/info}
+   is matched as {@code /info} by a child mounted under {@code /app}. The mounted route matchers are looked up
+   before the routes of this route matcher, the longest prefix wins. When no route of the child matches, the
+   request goes to the no match handler of the child or, when it has none, to the one of this route matcher.
+  */
+  this.mount = function(prefix, child) {
+    var __args = arguments;
+    if (__args.length === 2 && typeof __args[0] === 'string' && typeof __args[1] === 'object' && __args[1]._vertxgen) {
+      j_routeMatcher.mount(prefix, child._jdel());
+      return that;
+    } else utils.invalidArgs();
+  };
+
+  /*
+   Serve the files of a directory to the GET and HEAD requests whose path starts with a prefix, the rest of the
+   path names the file. The small files are kept in memory with their {@code Content-Type}, {@code ETag} and
+   {@code Last-Modified} headers and also answer the single byte range requests, the larger files are sent from
+   the disk by the kernel. The directory is mounted like a route matcher: it is looked up before the routes of
+   this route matcher and the requests for missing files go to its no match handler.
+  
+  */
+  this.staticFiles = function(vertx, prefix, directory, options) {
+    var __args = arguments;
+    if (__args.length === 4 && typeof __args[0] === 'object' && __args[0]._vertxgen && typeof __args[1] === 'string' && typeof __args[2] === 'string' && typeof __args[3] === 'object') {
+      j_routeMatcher.staticFiles(vertx._jdel(), prefix, directory, options != null ? StaticFilesOptions.optionsFromJson(new JsonObject(JSON.stringify(options))) : null);
+      return that;
+    } else utils.invalidArgs();
+  };
+
+  /*
+   Route the requests for a virtual host to a route matcher, the host is read from the {@code Host} header of
+   the request without its port. A wildcard host such as {@code *.example.com} matches the subdomains of
+   {@code example.com} at any depth, the most specific wildcard wins and an exact host wins over any wildcard.
+   The virtual hosts are looked up before the mounted route matchers and the routes of this route matcher, the
+   requests for the other hosts are routed by this route matcher. When no route of the child matches, the
+   request goes to the no match handler of the child or, when it has none, to the one of this route matcher.
+  
+  */
+  this.virtualHost = function(host, child) {
+    var __args = arguments;
+    if (__args.length === 2 && typeof __args[0] === 'string' && typeof __args[1] === 'object' && __args[1]._vertxgen) {
+      j_routeMatcher.virtualHost(host, child._jdel());
+      return that;
+    } else utils.invalidArgs();
+  };
+
+  /*
+   Limit the number of requests handled at the same time by the handlers registered with a pattern, for any
+   HTTP method. The excess requests are queued or answered with a 503 according to the options, before their
+   handler is called. The limit is shared by the frozen copies of this route matcher and its counters are
+   reported by {@link RouteMatcher#metrics}.
+  
+  */
+  this.limit = function(vertx, pattern, options) {
+    var __args = arguments;
+    if (__args.length === 3 && typeof __args[0] === 'object' && __args[0]._vertxgen && typeof __args[1] === 'string' && typeof __args[2] === 'object') {
+      j_routeMatcher.limit(vertx._jdel(), pattern, options != null ? RouteLimitOptions.optionsFromJson(new JsonObject(JSON.stringify(options))) : null);
+      return that;
+    } else utils.invalidArgs();
+  };
+
+  /*
+   Cache the responses of the GET handlers registered with a pattern. A response ended with a 200 is served
+   from the cache, to the GET and HEAD requests for the same URI and vary header values, until it expires or is
+   invalidated. The cached responses carry an {@code ETag} header and the requests whose {@code If-None-Match}
+   header matches it are answered with a 304. The cache is shared by the frozen copies of this route matcher
+   and its counters are reported by {@link RouteMatcher#metrics}.
+  
+  */
+  this.cache = function(pattern, options) {
+    var __args = arguments;
+    if (__args.length === 2 && typeof __args[0] === 'string' && typeof __args[1] === 'object') {
+      j_routeMatcher.cache(pattern, options != null ? ResponseCacheOptions.optionsFromJson(new JsonObject(JSON.stringify(options))) : null);
+      return that;
+    } else utils.invalidArgs();
+  };
+
+  /*
+   Remove the cached responses of a request URI from the caches of this route matcher, for any vary header
+   value. The responses are removed from the frozen copies of this route matcher as well.
+  
+  */
+  this.invalidate = function(uri) {
+    var __args = arguments;
+    if (__args.length === 1 && typeof __args[0] === 'string') {
+      j_routeMatcher.invalidate(uri);
+      return that;
+    } else utils.invalidArgs();
+  };
+
   /*
    Specify a handler that will be called when no other handlers match.
    If this handler is not specified default behaviour is to return a 404
@@ -313,6 +410,33 @@ var RouteMatcher = function(j_val) {
     } else utils.invalidArgs();
   };
 
+  /*
+   Create an immutable copy of this route matcher. The copy can be shared by all the verticle instances and
+   used concurrently from any event loop, registering a handler on it throws an {@link IllegalStateException}.
+   Freezing an already frozen route matcher returns it unchanged.
+  
+  */
+  this.freeze = function() {
+    var __args = arguments;
+    if (__args.length === 0) {
+      return new RouteMatcher(j_routeMatcher.freeze());
+    } else utils.invalidArgs();
+  };
+
+  /*
+   Take a snapshot of the dispatch metrics: the hits of each route, the number of requests that matched no route
+   and a histogram of the time spent matching the requests. The metrics of a frozen route matcher are shared
+   with the route matcher it was frozen from.
+  
+   @return the snapshot, empty when the metrics are not enabled in the {@link RouteMatcherOptions}
+  */
+  this.metrics = function() {
+    var __args = arguments;
+    if (__args.length === 0) {
+      return utils.convJsonToJS(j_routeMatcher.metrics());
+    } else utils.invalidArgs();
+  };
+
   this._vertxgen = true;
 
   // Get a reference to the underlying Java delegate
@@ -322,10 +446,12 @@ var RouteMatcher = function(j_val) {
 
 };
 
-RouteMatcher.routeMatcher = function() {
+RouteMatcher.routeMatcher = function(options) {
   var __args = arguments;
   if (__args.length === 0) {
     return new RouteMatcher(JRouteMatcher.routeMatcher());
+  } else if (__args.length === 1 && typeof __args[0] === 'object') {
+    return new RouteMatcher(JRouteMatcher.routeMatcher(options != null ? RouteMatcherOptions.optionsFromJson(new JsonObject(JSON.stringify(options))) : null));
   } else utils.invalidArgs();
 };
 
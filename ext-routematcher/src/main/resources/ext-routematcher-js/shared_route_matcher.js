@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+var utils = require('vertx-js/util/utils');
+var HttpServerRequest = require('vertx-js/http_server_request');
+var RouteMatcher = require('ext-routematcher-js/route_matcher');
+
+var io = Packages.io;
+var JsonObject = io.vertx.core.json.JsonObject;
+var JSharedRouteMatcher = io.vertx.ext.routematcher.SharedRouteMatcher;
+
+/**
+ Dispatches requests to a frozen {@link RouteMatcher} that can be replaced while requests are being routed.<p>
+ A single instance can be shared by all the verticle instances: dispatching only reads the current route
+ matcher, and {@link SharedRouteMatcher#swap} atomically publishes a frozen copy of the new routes, so requests already being
+ routed complete with the previous routes and the next ones use the new routes without any lock.<p>
+
+ @class
+*/
+var SharedRouteMatcher = function(j_val) {
+
+  var j_sharedRouteMatcher = j_val;
+  var that = this;
+
+  this.accept = function(request) {
+    var __args = arguments;
+    if (__args.length === 1 && typeof __args[0] === 'object' && __args[0]._vertxgen) {
+      j_sharedRouteMatcher.accept(request._jdel());
+      return that;
+    } else utils.invalidArgs();
+  };
+
+  /*
+   Replace the routes, the route matcher is frozen before it is published
+  */
+  this.swap = function(routeMatcher) {
+    var __args = arguments;
+    if (__args.length === 1 && typeof __args[0] === 'object' && __args[0]._vertxgen) {
+      j_sharedRouteMatcher.swap(routeMatcher._jdel());
+      return that;
+    } else utils.invalidArgs();
+  };
+
+  /*
+
+   @return the frozen route matcher currently used to dispatch the requests
+  */
+  this.current = function() {
+    var __args = arguments;
+    if (__args.length === 0) {
+      return new RouteMatcher(j_sharedRouteMatcher.current());
+    } else utils.invalidArgs();
+  };
+
+  this._vertxgen = true;
+
+  // Get a reference to the underlying Java delegate
+  this._jdel = function() {
+    return j_sharedRouteMatcher;
+  }
+
+};
+
+SharedRouteMatcher.sharedRouteMatcher = function(routeMatcher) {
+  var __args = arguments;
+  if (__args.length === 1 && typeof __args[0] === 'object' && __args[0]._vertxgen) {
+    return new SharedRouteMatcher(JSharedRouteMatcher.sharedRouteMatcher(routeMatcher._jdel()));
+  } else utils.invalidArgs();
+};
+
+// We export the Constructor function
+module.exports = SharedRouteMatcher;
\ No newline at end of file
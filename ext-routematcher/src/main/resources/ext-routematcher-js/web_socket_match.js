@@ -0,0 +1,66 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+var utils = require('vertx-js/util/utils');
+var ServerWebSocket = require('vertx-js/server_web_socket');
+
+var io = Packages.io;
+var JsonObject = io.vertx.core.json.JsonObject;
+var JWebSocketMatch = io.vertx.ext.routematcher.WebSocketMatch;
+
+/**
+ A websocket matched by a pattern of a {@link WebSocketMatcher}.<p>
+
+ @class
+*/
+var WebSocketMatch = function(j_val) {
+
+  var j_webSocketMatch = j_val;
+  var that = this;
+
+  /*
+
+   @return the matched websocket
+  */
+  this.webSocket = function() {
+    var __args = arguments;
+    if (__args.length === 0) {
+      return new ServerWebSocket(j_webSocketMatch.webSocket());
+    } else utils.invalidArgs();
+  };
+
+  /*
+
+   @return the path segment of the param or null when the pattern has no param with this name
+  */
+  this.param = function(name) {
+    var __args = arguments;
+    if (__args.length === 1 && typeof __args[0] === 'string') {
+      return j_webSocketMatch.param(name);
+    } else utils.invalidArgs();
+  };
+
+  this._vertxgen = true;
+
+  // Get a reference to the underlying Java delegate
+  this._jdel = function() {
+    return j_webSocketMatch;
+  }
+
+};
+
+// We export the Constructor function
+module.exports = WebSocketMatch;
\ No newline at end of file
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+var utils = require('vertx-js/util/utils');
+var ServerWebSocket = require('vertx-js/server_web_socket');
+var WebSocketMatch = require('ext-routematcher-js/web_socket_match');
+
+var io = Packages.io;
+var JsonObject = io.vertx.core.json.JsonObject;
+var JWebSocketMatcher = io.vertx.ext.routematcher.WebSocketMatcher;
+
+/**
+ Routes websockets to handlers according to the path of their upgrade request.<p>
+ The patterns are the simple patterns of the {@link RouteMatcher} whose params are whole path segments, such as
+ {@code /echo/:server/:session/websocket}. They are indexed in the same radix tree as the routes so a websocket
+ is matched by a single walk of its path whatever the number of patterns, and the params are read from the path
+ segments without any regular expression. When several patterns match, the first registered wins.<p>
+ Instances of this class are not thread-safe, a matcher that is no longer modified can be used concurrently<p>
+
+ @class
+*/
+var WebSocketMatcher = function(j_val) {
+
+  var j_webSocketMatcher = j_val;
+  var that = this;
+
+  this.accept = function(webSocket) {
+    var __args = arguments;
+    if (__args.length === 1 && typeof __args[0] === 'object' && __args[0]._vertxgen) {
+      j_webSocketMatcher.accept(webSocket._jdel());
+      return that;
+    } else utils.invalidArgs();
+  };
+
+  /*
+   Specify a handler that will be called for the websockets matching a pattern
+  */
+  this.add = function(pattern, handler) {
+    var __args = arguments;
+    if (__args.length === 2 && typeof __args[0] === 'string' && typeof __args[1] === 'function') {
+      j_webSocketMatcher.add(pattern, function(jVal) {
+      handler(new WebSocketMatch(jVal));
+    });
+      return that;
+    } else utils.invalidArgs();
+  };
+
+  /*
+   Specify a handler that will be called when no pattern matches.
+   If this handler is not specified default behaviour is to reject the websocket
+  */
+  this.noMatch = function(handler) {
+    var __args = arguments;
+    if (__args.length === 1 && typeof __args[0] === 'function') {
+      j_webSocketMatcher.noMatch(function(jVal) {
+      handler(new ServerWebSocket(jVal));
+    });
+      return that;
+    } else utils.invalidArgs();
+  };
+
+  this._vertxgen = true;
+
+  // Get a reference to the underlying Java delegate
+  this._jdel = function() {
+    return j_webSocketMatcher;
+  }
+
+};
+
+WebSocketMatcher.webSocketMatcher = function() {
+  var __args = arguments;
+  if (__args.length === 0) {
+    return new WebSocketMatcher(JWebSocketMatcher.webSocketMatcher());
+  } else utils.invalidArgs();
+};
+
+// We export the Constructor function
+module.exports = WebSocketMatcher;
\ No newline at end of file
@@ -23,12 +23,28 @@ import io.vertx.core.http.HttpClientResponse;
 import io.vertx.core.http.HttpServerOptions;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.RequestOptions;
+import io.vertx.core.http.ServerWebSocket;
+import io.vertx.core.http.WebSocketConnectOptions;
+import io.vertx.core.http.WebSocketFrame;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.routematcher.RegExEngine;
+import io.vertx.ext.routematcher.ResponseCacheOptions;
+import io.vertx.ext.routematcher.RouteLimitOptions;
 import io.vertx.ext.routematcher.RouteMatcher;
+import io.vertx.ext.routematcher.RouteMatcherOptions;
+import io.vertx.ext.routematcher.SharedRouteMatcher;
+import io.vertx.ext.routematcher.StaticFilesOptions;
+import io.vertx.ext.routematcher.WebSocketMatcher;
 import io.vertx.test.core.HttpTestBase;
 import org.junit.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author <a href="mailto:nscavell@redhat.com">Nick Scavelli</a>
@@ -181,8 +197,583 @@ public class RouteMatcherTest extends HttpTestBase {
     testRoute(true, "foo", params, "GET", "bar", false, true);
   }
 
+  @Test
+  public void testRouteWithPatternFirstMatchWins() {
+    RouteMatcher matcher = RouteMatcher.routeMatcher();
+    matcher.get("/users/:id", req -> req.response().end("param " + req.params().get("id")));
+    matcher.get("/users/new", req -> req.response().end("literal"));
+    testMatch(matcher, "/users/new", "param new");
+  }
+
+  @Test
+  public void testRouteWithLiteralPattern() {
+    RouteMatcher matcher = RouteMatcher.routeMatcher();
+    matcher.get("/api/v1/status", req -> req.response().end("status"));
+    matcher.get("/api/v1/:resource", req -> req.response().end("resource"));
+    testMatch(matcher, "/api/v1/status", "status");
+  }
+
+  @Test
+  public void testRouteWithRegexRegisteredBeforePattern() {
+    RouteMatcher matcher = RouteMatcher.routeMatcher();
+    matcher.getWithRegEx("\\/users\\/([0-9]+)", req -> req.response().end("regex " + req.params().get("param0")));
+    matcher.get("/users/:id", req -> req.response().end("param " + req.params().get("id")));
+    testMatch(matcher, "/users/123", "regex 123");
+  }
+
+  @Test
+  public void testRouteParamsAddedToRequestParams() {
+    RouteMatcher matcher = RouteMatcher.routeMatcher();
+    matcher.get("/users/:id", req -> req.response().end(req.params().size() + " " + req.params().get("id") + " " +
+        req.params().get("sort")));
+    testMatch(matcher, "/users/123?sort=name", "2 123 name");
+  }
+
+  @Test
+  public void testRouteWithRegexOptionalGroup() {
+    RouteMatcher matcher = RouteMatcher.routeMatcher();
+    // The group that does not participate in the match adds no param
+    matcher.getWithRegEx("\\/(\\w+)(?:\\/(\\d+))?", req -> req.response().end(req.params().size() + " " +
+        req.params().get("param0") + " " + req.params().get("param1")));
+    testMatch(matcher, "/users", "1 users null");
+  }
+
+  @Test
+  public void testRouteWithPatternTokenInsideSegment() {
+    RouteMatcher matcher = RouteMatcher.routeMatcher();
+    matcher.get("/files/:name.json", req -> req.response().end("file " + req.params().get("name")));
+    testMatch(matcher, "/files/foo.json", "file foo");
+  }
+
+  @Test
+  public void testRouteWithCombinedRegEx() {
+    RouteMatcher matcher = RouteMatcher.routeMatcher(RouteMatcherOptions.options().setCombinedRegExMatching(true));
+    matcher.getWithRegEx("\\/app\\/?", req -> req.response().end("info"));
+    matcher.getWithRegEx("\\/app\\/[^\\/\\.]+\\/([^\\/\\.]+)\\/xhr", req -> req.response().end("xhr " + req.params().get("param0")));
+    matcher.getWithRegEx("\\/app\\/.*", req -> req.response().end("other"));
+    testMatch(matcher, "/app/000/session/xhr", "xhr session");
+  }
+
+  @Test
+  public void testRouteWithCombinedRegExUnsupportedConstruct() {
+    RouteMatcher matcher = RouteMatcher.routeMatcher(RouteMatcherOptions.options().setCombinedRegExMatching(true));
+    matcher.getWithRegEx("\\/(\\w+)\\/\\1", req -> req.response().end("backref " + req.params().get("param0")));
+    matcher.getWithRegEx("\\/\\w+\\/\\w+", req -> req.response().end("any"));
+    testMatch(matcher, "/foo/foo", "backref foo");
+  }
+
+  @Test
+  public void testFrozenRouteMatcher() {
+    RouteMatcher matcher = RouteMatcher.routeMatcher();
+    matcher.get("/users/:id", req -> req.response().end("user " + req.params().get("id")));
+    RouteMatcher frozen = matcher.freeze();
+    assertSame(frozen, frozen.freeze());
+    matcher.get("/users/new", req -> req.response().end("new"));
+    try {
+      frozen.get("/users/new", req -> req.response().end("new"));
+      fail();
+    } catch (IllegalStateException e) {
+      // OK
+    }
+    testMatch(frozen, "/users/new", "user new");
+  }
+
+  @Test
+  public void testSharedRouteMatcherSwap() {
+    SharedRouteMatcher shared = SharedRouteMatcher.sharedRouteMatcher(RouteMatcher.routeMatcher()
+        .get("/version", req -> req.response().end("v1")));
+    shared.swap(RouteMatcher.routeMatcher().get("/version", req -> req.response().end("v2")));
+    testMatch(shared::accept, "/version", "v2");
+  }
+
+  @Test
+  public void testCompiledDispatch() {
+    RouteMatcher matcher = RouteMatcher.routeMatcher(RouteMatcherOptions.options().setCompiledDispatch(true));
+    matcher.get("/users/new", req -> req.response().end("new"));
+    matcher.get("/users/:id<int>/orders/:order", req -> req.response().end("order " + req.params().get("order")));
+    matcher.get("/users/:id/orders/:order", req -> req.response().end("user " + req.params().get("id")));
+    testMatch(matcher.freeze(), "/users/abc/orders/7", "user abc");
+  }
+
+  @Test
+  public void testMetrics() {
+    RouteMatcher matcher = RouteMatcher.routeMatcher(RouteMatcherOptions.options().setMetricsEnabled(true));
+    matcher.get("/users/:id", req -> req.response().end("user " + req.params().get("id")));
+    matcher.post("/users", req -> req.response().end());
+    testMatch(matcher, "/users/123", "user 123");
+    JsonObject metrics = matcher.metrics();
+    assertEquals(0, (long) metrics.getLong("noMatch"));
+    assertEquals(1, (long) metrics.getObject("matchLatency").getLong("count"));
+    JsonArray routes = metrics.getArray("routes");
+    assertEquals(2, routes.size());
+    JsonObject route = routes.get(0);
+    assertEquals("GET", route.getString("method"));
+    assertEquals("/users/:id", route.getString("pattern"));
+    assertEquals(1, (long) route.getLong("hits"));
+    assertEquals(0, (long) routes.<JsonObject>get(1).getLong("hits"));
+  }
+
+  @Test
+  public void testMetricsDisabled() {
+    RouteMatcher matcher = RouteMatcher.routeMatcher();
+    matcher.get("/users/:id", req -> req.response().end());
+    assertEquals(0, matcher.metrics().size());
+  }
+
+  @Test
+  public void testMatchCache() {
+    RouteMatcher matcher = RouteMatcher.routeMatcher(RouteMatcherOptions.options().setMatchCacheSize(16)
+        .setMetricsEnabled(true));
+    matcher.getWithRegEx("\\/files\\/([^\\/]+)\\.json", req -> req.response().end("file " + req.params().get("param0")));
+    server = vertx.createHttpServer(HttpServerOptions.options().setPort(DEFAULT_HTTP_PORT));
+    client = vertx.createHttpClient(HttpClientOptions.options());
+    server.requestHandler(matcher::accept).listen(onSuccess(s -> {
+      RequestOptions options = RequestOptions.options().setRequestURI("/files/foo.json").setPort(DEFAULT_HTTP_PORT);
+      client.get(options, resp1 -> resp1.bodyHandler(body1 -> {
+        assertEquals("file foo", body1.toString());
+        // The second request is dispatched from the cache
+        client.get(options, resp2 -> resp2.bodyHandler(body2 -> {
+          assertEquals("file foo", body2.toString());
+          JsonObject cache = matcher.metrics().getObject("matchCache");
+          assertEquals(1, (long) cache.getLong("hits"));
+          assertEquals(1, (long) cache.getLong("misses"));
+          testComplete();
+        })).end();
+      })).end();
+    }));
+    await();
+  }
+
+  @Test
+  public void testRouteWithTypedParam() {
+    RouteMatcher matcher = RouteMatcher.routeMatcher();
+    matcher.get("/users/:id<int>", req -> {
+      Integer id = RouteMatcher.typedParam(req, "id");
+      req.response().end("user " + (id + 1));
+    });
+    testMatch(matcher, "/users/41", "user 42");
+  }
+
+  @Test
+  public void testRouteWithTypedParamAsync() {
+    RouteMatcher matcher = RouteMatcher.routeMatcher();
+    matcher.get("/users/:id<int>", req -> vertx.setTimer(1, id -> {
+      Integer userId = RouteMatcher.typedParam(req, "id");
+      req.response().end("user " + userId);
+    }));
+    testMatch(matcher, "/users/41", "user 41");
+  }
+
+  @Test
+  public void testRouteWithTypedParamMismatch() {
+    RouteMatcher matcher = RouteMatcher.routeMatcher();
+    matcher.get("/users/:id<uuid>", req -> req.response().end("uuid"));
+    matcher.get("/users/:id<int>", req -> req.response().end("int"));
+    matcher.get("/users/:name", req -> req.response().end("name " + req.params().get("name")));
+    testMatch(matcher, "/users/99999999999", "name 99999999999");
+  }
+
+  @Test
+  public void testMountedRouteMatcher() {
+    RouteMatcher app = RouteMatcher.routeMatcher();
+    app.getWithRegEx("\\/[^\\/]+\\/([^\\/]+)\\/xhr", req -> req.response().end("xhr " + req.params().get("param0")));
+    RouteMatcher matcher = RouteMatcher.routeMatcher();
+    matcher.get("/app/:server/:session/xhr", req -> req.response().end("parent"));
+    matcher.mount("/app", app);
+    testMatch(matcher, "/app/000/session/xhr", "xhr session");
+  }
+
+  @Test
+  public void testMountedRouteMatcherNoMatch() {
+    RouteMatcher matcher = RouteMatcher.routeMatcher();
+    matcher.mount("/app", RouteMatcher.routeMatcher().get("/info", req -> req.response().end("info")));
+    matcher.noMatch(req -> req.response().end("no match " + req.path()));
+    testMatch(matcher, "/app/other", "no match /app/other");
+  }
+
+  @Test
+  public void testVirtualHost() {
+    RouteMatcher matcher = RouteMatcher.routeMatcher();
+    matcher.get("/info", req -> req.response().end("default"));
+    matcher.virtualHost("*.example.com", RouteMatcher.routeMatcher().get("/info", req -> req.response().end("tenant")));
+    // The Host header of the client also holds the port
+    matcher.virtualHost("LOCALHOST", RouteMatcher.routeMatcher().get("/info", req -> req.response().end("local")));
+    testMatch(matcher, "/info", "local");
+  }
+
+  @Test
+  public void testVirtualHostWildcard() {
+    RouteMatcher matcher = RouteMatcher.routeMatcher();
+    matcher.get("/info", req -> req.response().end("default"));
+    matcher.virtualHost("*.example.com", RouteMatcher.routeMatcher().get("/info", req -> req.response().end("tenant")));
+    testVirtualHostMatch(matcher, "eu.api.example.com", "tenant");
+  }
+
+  @Test
+  public void testVirtualHostWildcardDoesNotMatchDomain() {
+    RouteMatcher matcher = RouteMatcher.routeMatcher();
+    matcher.get("/info", req -> req.response().end("default"));
+    matcher.virtualHost("*.example.com", RouteMatcher.routeMatcher().get("/info", req -> req.response().end("tenant")));
+    testVirtualHostMatch(matcher, "example.com", "default");
+  }
+
+  @Test
+  public void testVirtualHostExactBeforeWildcard() {
+    RouteMatcher matcher = RouteMatcher.routeMatcher();
+    matcher.virtualHost("*.example.com", RouteMatcher.routeMatcher().get("/info", req -> req.response().end("tenant")));
+    matcher.virtualHost("api.example.com", RouteMatcher.routeMatcher().get("/info", req -> req.response().end("api")));
+    testVirtualHostMatch(matcher, "api.example.com", "api");
+  }
+
+  @Test
+  public void testVirtualHostWildcardWithPort() {
+    RouteMatcher matcher = RouteMatcher.routeMatcher();
+    matcher.get("/info", req -> req.response().end("default"));
+    matcher.virtualHost("*.example.com", RouteMatcher.routeMatcher().get("/info", req -> req.response().end("tenant")));
+    testVirtualHostMatch(matcher, "API.Example.com:8443", "tenant");
+  }
+
+  @Test
+  public void testRouteLimit() {
+    RequestOptions options = RequestOptions.options().setRequestURI("/slow").setPort(DEFAULT_HTTP_PORT);
+    RouteMatcher matcher = RouteMatcher.routeMatcher(RouteMatcherOptions.options().setMetricsEnabled(true));
+    matcher.get("/slow", req -> {
+      // The first request is still in flight when the second one is sent
+      client.get(options, resp -> {
+        assertEquals(503, resp.statusCode());
+        req.response().end();
+      }).end();
+    });
+    matcher.limit(vertx, "/slow", RouteLimitOptions.options().setMaxInFlight(1));
+    server = vertx.createHttpServer(HttpServerOptions.options().setPort(DEFAULT_HTTP_PORT));
+    client = vertx.createHttpClient(HttpClientOptions.options());
+    server.requestHandler(matcher::accept).listen(onSuccess(s -> {
+      client.get(options, resp -> {
+        assertEquals(200, resp.statusCode());
+        JsonObject limit = matcher.metrics().getArray("routes").<JsonObject>get(0).getObject("limit");
+        assertEquals(1, (long) limit.getLong("maxInFlight"));
+        assertEquals(1, (long) limit.getLong("rejected"));
+        testComplete();
+      }).end();
+    }));
+    await();
+  }
+
+  @Test
+  public void testRouteLimitQueuedRequestBody() {
+    RequestOptions options = RequestOptions.options().setRequestURI("/slow").setPort(DEFAULT_HTTP_PORT);
+    AtomicInteger calls = new AtomicInteger();
+    RouteMatcher matcher = RouteMatcher.routeMatcher();
+    matcher.post("/slow", req -> {
+      if (calls.incrementAndGet() == 1) {
+        // The second request is queued and its body is sent before the first request completes
+        client.post(options, resp -> resp.bodyHandler(body -> {
+          assertEquals(200, resp.statusCode());
+          assertEquals("queued body", body.toString());
+          testComplete();
+        })).end("queued body");
+        vertx.setTimer(200, id -> req.response().end());
+      } else {
+        req.bodyHandler(body -> req.response().end(body));
+      }
+    });
+    matcher.limit(vertx, "/slow", RouteLimitOptions.options().setMaxInFlight(1).setMaxQueued(1));
+    server = vertx.createHttpServer(HttpServerOptions.options().setPort(DEFAULT_HTTP_PORT));
+    client = vertx.createHttpClient(HttpClientOptions.options());
+    server.requestHandler(matcher::accept).listen(onSuccess(s -> {
+      client.post(options, resp -> assertEquals(200, resp.statusCode())).end();
+    }));
+    await();
+  }
+
+  @Test
+  public void testRouteLimitUnknownPattern() {
+    RouteMatcher matcher = RouteMatcher.routeMatcher().get("/users/:id", req -> req.response().end());
+    try {
+      matcher.limit(vertx, "/users", RouteLimitOptions.options());
+      fail();
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+  }
+
+  @Test
+  public void testResponseCache() {
+    RequestOptions options = RequestOptions.options().setRequestURI("/cached").setPort(DEFAULT_HTTP_PORT);
+    AtomicInteger calls = new AtomicInteger();
+    RouteMatcher matcher = RouteMatcher.routeMatcher();
+    matcher.get("/cached", req -> req.response().end("call " + calls.incrementAndGet()));
+    matcher.cache("/cached", ResponseCacheOptions.options());
+    server = vertx.createHttpServer(HttpServerOptions.options().setPort(DEFAULT_HTTP_PORT));
+    client = vertx.createHttpClient(HttpClientOptions.options());
+    server.requestHandler(matcher::accept).listen(onSuccess(s -> {
+      client.get(options, resp -> {
+        assertEquals(200, resp.statusCode());
+        String etag = resp.headers().get("ETag");
+        assertNotNull(etag);
+        client.get(options, resp2 -> {
+          assertEquals(304, resp2.statusCode());
+          assertEquals(1, calls.get());
+          testComplete();
+        }).putHeader("If-None-Match", etag).end();
+      }).end();
+    }));
+    await();
+  }
+
+  @Test
+  public void testResponseCacheUnknownPattern() {
+    RouteMatcher matcher = RouteMatcher.routeMatcher().post("/users", req -> req.response().end());
+    try {
+      matcher.cache("/users", ResponseCacheOptions.options());
+      fail();
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+  }
+
+  @Test
+  public void testResponseCacheSetCookie() {
+    RequestOptions options = RequestOptions.options().setRequestURI("/login").setPort(DEFAULT_HTTP_PORT);
+    AtomicInteger calls = new AtomicInteger();
+    RouteMatcher matcher = RouteMatcher.routeMatcher();
+    matcher.get("/login", req -> {
+      int call = calls.incrementAndGet();
+      req.response().headers().set("Set-Cookie", "session=" + call);
+      req.response().end("call " + call);
+    });
+    matcher.cache("/login", ResponseCacheOptions.options());
+    server = vertx.createHttpServer(HttpServerOptions.options().setPort(DEFAULT_HTTP_PORT));
+    client = vertx.createHttpClient(HttpClientOptions.options());
+    server.requestHandler(matcher::accept).listen(onSuccess(s -> {
+      client.get(options, resp -> resp.bodyHandler(body -> {
+        assertEquals("call 1", body.toString());
+        assertEquals("session=1", resp.headers().get("Set-Cookie"));
+        // The response setting a cookie is not served from the cache
+        client.get(options, resp2 -> resp2.bodyHandler(body2 -> {
+          assertEquals("call 2", body2.toString());
+          assertEquals("session=2", resp2.headers().get("Set-Cookie"));
+          testComplete();
+        })).end();
+      })).end();
+    }));
+    await();
+  }
+
+  @Test
+  public void testResponseCacheAfterFreeze() {
+    RequestOptions options = RequestOptions.options().setRequestURI("/cached").setPort(DEFAULT_HTTP_PORT);
+    AtomicInteger calls = new AtomicInteger();
+    RouteMatcher matcher = RouteMatcher.routeMatcher();
+    matcher.get("/cached", req -> req.response().end("call " + calls.incrementAndGet()));
+    RouteMatcher frozen = matcher.freeze();
+    // The copy frozen before does not cache
+    matcher.cache("/cached", ResponseCacheOptions.options());
+    server = vertx.createHttpServer(HttpServerOptions.options().setPort(DEFAULT_HTTP_PORT));
+    client = vertx.createHttpClient(HttpClientOptions.options());
+    server.requestHandler(frozen::accept).listen(onSuccess(s -> {
+      client.get(options, resp -> resp.bodyHandler(body -> {
+        assertEquals("call 1", body.toString());
+        client.get(options, resp2 -> resp2.bodyHandler(body2 -> {
+          assertEquals("call 2", body2.toString());
+          testComplete();
+        })).end();
+      })).end();
+    }));
+    await();
+  }
+
+  @Test
+  public void testStaticFiles() throws Exception {
+    Path dir = Files.createTempDirectory("static");
+    Files.write(dir.resolve("app.js"), "var app;".getBytes(StandardCharsets.UTF_8));
+    RouteMatcher matcher = RouteMatcher.routeMatcher();
+    matcher.staticFiles(vertx, "/assets", dir.toString(), StaticFilesOptions.options());
+    testMatch(matcher, "/assets/app.js", "var app;");
+  }
+
+  @Test
+  public void testStaticFilesRange() throws Exception {
+    Path dir = Files.createTempDirectory("static");
+    Files.write(dir.resolve("app.js"), "var app;".getBytes(StandardCharsets.UTF_8));
+    RouteMatcher matcher = RouteMatcher.routeMatcher();
+    matcher.staticFiles(vertx, "/assets", dir.toString(), StaticFilesOptions.options());
+    server = vertx.createHttpServer(HttpServerOptions.options().setPort(DEFAULT_HTTP_PORT));
+    client = vertx.createHttpClient(HttpClientOptions.options());
+    server.requestHandler(matcher::accept).listen(onSuccess(s -> {
+      RequestOptions options = RequestOptions.options().setRequestURI("/assets/app.js").setPort(DEFAULT_HTTP_PORT);
+      client.get(options, resp -> {
+        assertEquals(206, resp.statusCode());
+        assertEquals("bytes 4-6/8", resp.headers().get("Content-Range"));
+        resp.bodyHandler(body -> {
+          assertEquals("app", body.toString());
+          testComplete();
+        });
+      }).putHeader("Range", "bytes=4-6").end();
+    }));
+    await();
+  }
+
+  @Test
+  public void testStaticFilesCachedBodyServedRepeatedly() throws Exception {
+    Path dir = Files.createTempDirectory("static");
+    Files.write(dir.resolve("app.js"), "var app;".getBytes(StandardCharsets.UTF_8));
+    RouteMatcher matcher = RouteMatcher.routeMatcher();
+    matcher.staticFiles(vertx, "/assets", dir.toString(), StaticFilesOptions.options());
+    server = vertx.createHttpServer(HttpServerOptions.options().setPort(DEFAULT_HTTP_PORT));
+    client = vertx.createHttpClient(HttpClientOptions.options());
+    server.requestHandler(matcher::accept).listen(onSuccess(s -> {
+      RequestOptions options = RequestOptions.options().setRequestURI("/assets/app.js").setPort(DEFAULT_HTTP_PORT);
+      // Each response is written from the cached body, which must survive the previous ones
+      client.get(options, resp1 -> resp1.bodyHandler(body1 -> {
+        assertEquals("var app;", body1.toString());
+        client.get(options, resp2 -> resp2.bodyHandler(body2 -> {
+          assertEquals(206, resp2.statusCode());
+          assertEquals("app", body2.toString());
+          client.get(options, resp3 -> resp3.bodyHandler(body3 -> {
+            assertEquals(200, resp3.statusCode());
+            assertEquals("var app;", body3.toString());
+            client.get(options, resp4 -> resp4.bodyHandler(body4 -> {
+              assertEquals(206, resp4.statusCode());
+              assertEquals("var", body4.toString());
+              testComplete();
+            })).putHeader("Range", "bytes=0-2").end();
+          })).end();
+        })).putHeader("Range", "bytes=4-6").end();
+      })).end();
+    }));
+    await();
+  }
+
+  @Test
+  public void testWebSocketMatcherPartialSegmentParam() {
+    WebSocketMatcher matcher = WebSocketMatcher.webSocketMatcher();
+    matcher.add("/echo/:server/:session/websocket", match -> match.webSocket().close());
+    try {
+      matcher.add("/echo/session-:id/websocket", match -> match.webSocket().close());
+      fail();
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+  }
+
+  @Test
+  public void testWebSocketMatcherLiteral() {
+    WebSocketMatcher matcher = WebSocketMatcher.webSocketMatcher();
+    matcher.add("/echo/websocket", match -> reply(match.webSocket(), "literal"));
+    matcher.add("/echo/:session", match -> reply(match.webSocket(), "pattern"));
+    testWebSocketMatch(matcher, "/echo/websocket", "literal");
+  }
+
+  @Test
+  public void testWebSocketMatcherParams() {
+    WebSocketMatcher matcher = WebSocketMatcher.webSocketMatcher();
+    matcher.add("/echo/:server/:session/websocket", match ->
+        reply(match.webSocket(), match.param("server") + " " + match.param("session") + " " + match.param("foo")));
+    testWebSocketMatch(matcher, "/echo/000/abc/websocket", "000 abc null");
+  }
+
+  @Test
+  public void testWebSocketMatcherLiteralBeforePattern() {
+    WebSocketMatcher matcher = WebSocketMatcher.webSocketMatcher();
+    matcher.add("/echo/info", match -> reply(match.webSocket(), "literal"));
+    matcher.add("/echo/:session", match -> reply(match.webSocket(), "pattern " + match.param("session")));
+    testWebSocketMatch(matcher, "/echo/info", "literal");
+  }
+
+  @Test
+  public void testWebSocketMatcherNoMatch() {
+    WebSocketMatcher matcher = WebSocketMatcher.webSocketMatcher();
+    matcher.add("/echo/:server/:session/websocket", match -> reply(match.webSocket(), "pattern"));
+    matcher.noMatch(ws -> reply(ws, "no match " + ws.path()));
+    testWebSocketMatch(matcher, "/echo/000/websocket", "no match /echo/000/websocket");
+  }
+
+  @Test
+  public void testLinearRegExEngine() {
+    RouteMatcher matcher = RouteMatcher.routeMatcher(RouteMatcherOptions.options().setRegExEngine(RegExEngine.LINEAR));
+    matcher.getWithRegEx("\\/(a+)+b", req -> req.response().end("backtrack"));
+    matcher.get("/files/:name.json", req -> req.response().end("file " + req.params().get("name")));
+    testMatch(matcher, "/files/foo.json", "file foo");
+  }
+
+  @Test
+  public void testLinearRegExEngineUnsupportedConstruct() {
+    RouteMatcher matcher = RouteMatcher.routeMatcher(RouteMatcherOptions.options().setRegExEngine(RegExEngine.LINEAR));
+    try {
+      matcher.getWithRegEx("\\/(\\w+)\\/\\1", req -> req.response().end());
+      fail();
+    } catch (IllegalArgumentException e) {
+      // OK
+    }
+  }
+
+  @Test
+  public void testLinearRegExEngineCaptures() {
+    RegExEngine.RegEx regex = RegExEngine.engine(RegExEngine.LINEAR).compile("(?<user>\\w+)@((\\w+)\\.)+(\\w+)");
+    assertEquals(4, regex.groupCount());
+    RegExEngine.Match match = regex.matches("joe@mail.example.com");
+    assertEquals("joe", match.group("user"));
+    assertEquals("example", match.group(3));
+    assertEquals("com", match.group(4));
+    assertNull(regex.matches("joe@example"));
+  }
+
   //----------- Private non test method ----------------------------
 
+  private void testMatch(RouteMatcher matcher, String uri, String expectedBody) {
+    testMatch(matcher::accept, uri, expectedBody);
+  }
+
+  private void testMatch(Handler<HttpServerRequest> requestHandler, String uri, String expectedBody) {
+    server = vertx.createHttpServer(HttpServerOptions.options().setPort(DEFAULT_HTTP_PORT));
+    client = vertx.createHttpClient(HttpClientOptions.options());
+    server.requestHandler(requestHandler).listen(onSuccess(s -> {
+      RequestOptions options = RequestOptions.options().setRequestURI(uri).setPort(DEFAULT_HTTP_PORT);
+      client.get(options, resp -> {
+        assertEquals(200, resp.statusCode());
+        resp.bodyHandler(body -> {
+          assertEquals(expectedBody, body.toString());
+          testComplete();
+        });
+      }).end();
+    }));
+    await();
+  }
+
+  private void testVirtualHostMatch(RouteMatcher matcher, String host, String expectedBody) {
+    server = vertx.createHttpServer(HttpServerOptions.options().setPort(DEFAULT_HTTP_PORT));
+    client = vertx.createHttpClient(HttpClientOptions.options());
+    server.requestHandler(matcher::accept).listen(onSuccess(s -> {
+      RequestOptions options = RequestOptions.options().setRequestURI("/info").setPort(DEFAULT_HTTP_PORT);
+      client.get(options, resp -> {
+        assertEquals(200, resp.statusCode());
+        resp.bodyHandler(body -> {
+          assertEquals(expectedBody, body.toString());
+          testComplete();
+        });
+      }).putHeader("Host", host).end();
+    }));
+    await();
+  }
+
+  private void testWebSocketMatch(WebSocketMatcher matcher, String uri, String expectedData) {
+    server = vertx.createHttpServer(HttpServerOptions.options().setPort(DEFAULT_HTTP_PORT));
+    client = vertx.createHttpClient(HttpClientOptions.options());
+    server.websocketHandler(matcher::accept).listen(onSuccess(s -> {
+      WebSocketConnectOptions options = WebSocketConnectOptions.options().setRequestURI(uri).setPort(DEFAULT_HTTP_PORT);
+      client.connectWebsocket(options, ws -> ws.dataHandler(data -> {
+        assertEquals(expectedData, data.toString());
+        testComplete();
+      }));
+    }));
+    await();
+  }
+
+  private void reply(ServerWebSocket webSocket, String data) {
+    webSocket.writeFrame(WebSocketFrame.textFrame(data, true));
+  }
+
   private void testRouteWithPattern1(String method) {
     Map<String, String> params = new HashMap<>();
     params.put("name", "foo");
@@ -60,6 +60,18 @@ public interface BridgeOptions {
 
   BridgeOptions setReplyTimeout(long replyTimeout);
 
+  String getRegExEngine();
+
+  /**
+   * Set the name of the regex engine matching the addresses against the {@code address_re} of the permitted
+   * matches, the default engine is {@link io.vertx.ext.routematcher.RegExEngine#JDK}. Use
+   * {@link io.vertx.ext.routematcher.RegExEngine#LINEAR} to bound the matching time of the addresses sent by
+   * the clients.
+   *
+   * @param regExEngine the name of the engine
+   */
+  BridgeOptions setRegExEngine(String regExEngine);
+
   BridgeOptions addInboundPermitted(JsonObject json);
 
   List<JsonObject> getInboundPermitteds();
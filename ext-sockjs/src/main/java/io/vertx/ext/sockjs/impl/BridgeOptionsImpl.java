@@ -18,6 +18,7 @@ package io.vertx.ext.sockjs.impl;
 
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.routematcher.RegExEngine;
 import io.vertx.ext.sockjs.BridgeOptions;
 
 import java.util.ArrayList;
@@ -34,6 +35,7 @@ public class BridgeOptionsImpl implements BridgeOptions {
   private static final int DEFAULT_MAXHANDLERSPERSOCKET = 1000;
   private static final long DEFAULT_PINGTIMEOUT = 10 * 1000;
   private static final long DEFAULT_REPLYTIMEOUT = 30 * 1000;
+  private static final String DEFAULT_REGEXENGINE = RegExEngine.JDK;
 
   private long authTimeout;
   private String authAddress;
@@ -41,6 +43,7 @@ public class BridgeOptionsImpl implements BridgeOptions {
   private int maxHandlersPerSocket;
   private long pingTimeout;
   private long replyTimeout;
+  private String regExEngine;
 
   private List<JsonObject> inboundPermitted = new ArrayList<>();
   private List<JsonObject> outboundPermitted = new ArrayList<>();
@@ -52,6 +55,7 @@ public class BridgeOptionsImpl implements BridgeOptions {
     this.maxHandlersPerSocket = DEFAULT_MAXHANDLERSPERSOCKET;
     this.pingTimeout = DEFAULT_PINGTIMEOUT;
     this.replyTimeout = DEFAULT_REPLYTIMEOUT;
+    this.regExEngine = DEFAULT_REGEXENGINE;
   }
 
   BridgeOptionsImpl(JsonObject json) {
@@ -61,6 +65,7 @@ public class BridgeOptionsImpl implements BridgeOptions {
     this.maxHandlersPerSocket = json.getInteger("maxHandlersPerSocket", DEFAULT_MAXHANDLERSPERSOCKET);
     this.pingTimeout = json.getLong("pingTimeout", DEFAULT_PINGTIMEOUT);
     this.replyTimeout = json.getLong("replyTimeout", DEFAULT_REPLYTIMEOUT);
+    this.regExEngine = json.getString("regExEngine", DEFAULT_REGEXENGINE);
     //TODO simplify common code
     JsonArray arr = json.getArray("inboundPermitteds");
     if (arr != null) {
@@ -167,6 +172,17 @@ public class BridgeOptionsImpl implements BridgeOptions {
     return this;
   }
 
+  @Override
+  public String getRegExEngine() {
+    return regExEngine;
+  }
+
+  @Override
+  public BridgeOptions setRegExEngine(String regExEngine) {
+    this.regExEngine = regExEngine;
+    return this;
+  }
+
   @Override
   public BridgeOptions addInboundPermitted(JsonObject json) {
     inboundPermitted.add(json);
@@ -30,6 +30,7 @@ import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.impl.LoggerFactory;
+import io.vertx.ext.routematcher.RegExEngine;
 import io.vertx.ext.sockjs.BridgeOptions;
 import io.vertx.ext.sockjs.EventBusBridgeHook;
 import io.vertx.ext.sockjs.SockJSSocket;
@@ -40,8 +41,6 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static io.vertx.core.buffer.Buffer.*;
 
@@ -66,10 +65,11 @@ public class EventBusBridge implements Handler<SockJSSocket> {
   private final int maxHandlersPerSocket;
   private final long pingTimeout;
   private final long replyTimeout;
+  private final RegExEngine regExEngine;
   private final Vertx vertx;
   private final EventBus eb;
   private final Set<String> acceptedReplyAddresses = new HashSet<>();
-  private final Map<String, Pattern> compiledREs = new HashMap<>();
+  private final Map<String, RegExEngine.RegEx> compiledREs = new HashMap<>();
   private EventBusBridgeHook hook;
 
   private static final class SockInfo {
@@ -100,6 +100,7 @@ public class EventBusBridge implements Handler<SockJSSocket> {
     this.maxHandlersPerSocket = options.getMaxHandlersPerSocket();
     this.pingTimeout = options.getPingTimeout();
     this.replyTimeout = options.getReplyTimeout();
+    this.regExEngine = RegExEngine.engine(options.getRegExEngine());
   }
 
   private void handleSocketClosed(SockJSSocket sock, Map<String, Registration> registrations) {
@@ -467,13 +468,12 @@ public class EventBusBridge implements Handler<SockJSSocket> {
   }
 
   private boolean regexMatches(String matchRegex, String address) {
-    Pattern pattern = compiledREs.get(matchRegex);
-    if (pattern == null) {
-      pattern = Pattern.compile(matchRegex);
-      compiledREs.put(matchRegex, pattern);
+    RegExEngine.RegEx regex = compiledREs.get(matchRegex);
+    if (regex == null) {
+      regex = regExEngine.compile(matchRegex);
+      compiledREs.put(matchRegex, regex);
     }
-    Matcher m = pattern.matcher(address);
-    return m.matches();
+    return regex.matches(address) != null;
   }
 
   private static void replyStatus(SockJSSocket sock, String replyAddress, String status) {
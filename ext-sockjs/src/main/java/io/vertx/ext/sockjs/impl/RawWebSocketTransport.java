@@ -22,8 +22,9 @@ import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.ext.routematcher.RouteMatcher;
+import io.vertx.ext.routematcher.WebSocketMatch;
+import io.vertx.ext.routematcher.WebSocketMatcher;
 import io.vertx.core.http.ServerWebSocket;
-import io.vertx.core.http.impl.WebSocketMatcher;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.impl.LoggerFactory;
 import io.vertx.core.net.SocketAddress;
@@ -129,12 +130,13 @@ class RawWebSocketTransport {
   RawWebSocketTransport(final Vertx vertx, WebSocketMatcher wsMatcher, RouteMatcher rm, String basePath,
                         final Handler<SockJSSocket> sockHandler) {
 
-    String wsRE = basePath + "/websocket";
+    // The route matcher is mounted under the base path, the websocket matcher is not
+    String wsRE = "/websocket";
 
-    wsMatcher.addRegEx(wsRE, new Handler<WebSocketMatcher.Match>() {
+    wsMatcher.add(basePath + wsRE, new Handler<WebSocketMatch>() {
 
-      public void handle(final WebSocketMatcher.Match match) {
-        SockJSSocket sock = new RawWSSockJSSocket(vertx, match.ws);
+      public void handle(final WebSocketMatch match) {
+        SockJSSocket sock = new RawWSSockJSSocket(vertx, match.webSocket());
         sockHandler.handle(sock);
       }
     });
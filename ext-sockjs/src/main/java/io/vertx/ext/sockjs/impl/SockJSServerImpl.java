@@ -24,11 +24,12 @@ import io.vertx.core.http.HttpServer;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.http.ServerWebSocket;
-import io.vertx.core.http.impl.WebSocketMatcher;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.impl.LoggerFactory;
 import io.vertx.core.shareddata.LocalMap;
 import io.vertx.ext.routematcher.RouteMatcher;
+import io.vertx.ext.routematcher.RouteMatcherOptions;
+import io.vertx.ext.routematcher.WebSocketMatcher;
 import io.vertx.ext.sockjs.BridgeOptions;
 import io.vertx.ext.sockjs.EventBusBridgeHook;
 import io.vertx.ext.sockjs.SockJSServer;
@@ -56,8 +57,9 @@ public class SockJSServerImpl implements SockJSServer, Handler<HttpServerRequest
   private static final Logger log = LoggerFactory.getLogger(SockJSServerImpl.class);
 
   private final Vertx vertx;
-  private RouteMatcher rm = RouteMatcher.routeMatcher();
-  private WebSocketMatcher wsMatcher = new WebSocketMatcher();
+  private RouteMatcher rm = RouteMatcher.routeMatcher(RouteMatcherOptions.options().setCombinedRegExMatching(true));
+  private WebSocketMatcher wsMatcher = WebSocketMatcher.webSocketMatcher();
+  private final Handler<ServerWebSocket> wsNoMatchHandler;
   private final LocalMap<String, Session> sessions;
   private EventBusBridgeHook hook;
   private long timerID;
@@ -68,16 +70,17 @@ public class SockJSServerImpl implements SockJSServer, Handler<HttpServerRequest
     // Any previous request and websocket handlers will become default handlers
     // if nothing else matches
     rm.noMatch(httpServer.requestHandler());
-    wsMatcher.noMatch(new Handler<WebSocketMatcher.Match>() {
+    wsNoMatchHandler = new Handler<ServerWebSocket>() {
       Handler<ServerWebSocket> wsHandler = httpServer.websocketHandler();
-      public void handle(WebSocketMatcher.Match match) {
+      public void handle(ServerWebSocket ws) {
         if (wsHandler != null) {
-          wsHandler.handle(match.ws);
+          wsHandler.handle(ws);
         }
       }
-    });
+    };
+    wsMatcher.noMatch(wsNoMatchHandler);
     httpServer.requestHandler(this);
-    httpServer.websocketHandler(wsMatcher);
+    httpServer.websocketHandler(wsMatcher::accept);
     // Sanity check - a common mistake users make is to set the http request handler AFTER they have created this
     // which overwrites this one.
     timerID = vertx.setPeriodic(5000, new Handler<Long>() {
@@ -121,9 +124,12 @@ public class SockJSServerImpl implements SockJSServer, Handler<HttpServerRequest
       throw new IllegalArgumentException("Invalid prefix: " + prefix);
     }
 
+    // The routes of the app match the path without the prefix, the app is mounted under the prefix once complete
+    RouteMatcher app = RouteMatcher.routeMatcher(RouteMatcherOptions.options().setCombinedRegExMatching(true));
+
     // Base handler for app
 
-    rm.getWithRegEx(prefix + "\\/?", new Handler<HttpServerRequest>() {
+    app.getWithRegEx("\\/?", new Handler<HttpServerRequest>() {
       public void handle(HttpServerRequest req) {
         if (log.isTraceEnabled()) log.trace("Returning welcome response");
         req.response().headers().set("Content-Type", "text/plain; charset=UTF-8");
@@ -136,18 +142,18 @@ public class SockJSServerImpl implements SockJSServer, Handler<HttpServerRequest
     Handler<HttpServerRequest> iframeHandler = createIFrameHandler(iframeHTML);
 
     // Request exactly for iframe.html
-    rm.getWithRegEx(prefix + "\\/iframe\\.html", iframeHandler);
+    app.getWithRegEx("\\/iframe\\.html", iframeHandler);
 
     // Versioned
-    rm.getWithRegEx(prefix + "\\/iframe-[^\\/]*\\.html", iframeHandler);
+    app.getWithRegEx("\\/iframe-[^\\/]*\\.html", iframeHandler);
 
     // Chunking test
-    rm.postWithRegEx(prefix + "\\/chunking_test", createChunkingTestHandler());
-    rm.optionsWithRegEx(prefix + "\\/chunking_test", BaseTransport.createCORSOptionsHandler(options, "OPTIONS, POST"));
+    app.postWithRegEx("\\/chunking_test", createChunkingTestHandler());
+    app.optionsWithRegEx("\\/chunking_test", BaseTransport.createCORSOptionsHandler(options, "OPTIONS, POST"));
 
     // Info
-    rm.getWithRegEx(prefix + "\\/info", BaseTransport.createInfoHandler(options));
-    rm.optionsWithRegEx(prefix + "\\/info", BaseTransport.createCORSOptionsHandler(options, "OPTIONS, GET"));
+    app.getWithRegEx("\\/info", BaseTransport.createInfoHandler(options));
+    app.optionsWithRegEx("\\/info", BaseTransport.createCORSOptionsHandler(options, "OPTIONS, GET"));
 
     // Transports
 
@@ -164,30 +170,32 @@ public class SockJSServerImpl implements SockJSServer, Handler<HttpServerRequest
     enabledTransports.removeAll(disabledTransports);
 
     if (enabledTransports.contains(Transport.XHR.toString())) {
-      new XhrTransport(vertx, rm, prefix, sessions, options, sockHandler);
+      new XhrTransport(vertx, app, "", sessions, options, sockHandler);
     }
     if (enabledTransports.contains(Transport.EVENT_SOURCE.toString())) {
-      new EventSourceTransport(vertx, rm, prefix, sessions, options, sockHandler);
+      new EventSourceTransport(vertx, app, "", sessions, options, sockHandler);
     }
     if (enabledTransports.contains(Transport.HTML_FILE.toString())) {
-      new HtmlFileTransport(vertx, rm, prefix, sessions, options, sockHandler);
+      new HtmlFileTransport(vertx, app, "", sessions, options, sockHandler);
     }
     if (enabledTransports.contains(Transport.JSON_P.toString())) {
-      new JsonPTransport(vertx, rm, prefix, sessions, options, sockHandler);
+      new JsonPTransport(vertx, app, "", sessions, options, sockHandler);
     }
     if (enabledTransports.contains(Transport.WEBSOCKET.toString())) {
-      new WebSocketTransport(vertx, wsMatcher, rm, prefix, sessions, options, sockHandler);
-      new RawWebSocketTransport(vertx, wsMatcher, rm, prefix, sockHandler);
+      new WebSocketTransport(vertx, wsMatcher, wsNoMatchHandler, app, prefix, sessions, options, sockHandler);
+      new RawWebSocketTransport(vertx, wsMatcher, app, prefix, sockHandler);
     }
     // Catch all for any other requests on this app
 
-    rm.getWithRegEx(prefix + "\\/.+", new Handler<HttpServerRequest>() {
+    app.getWithRegEx("\\/.+", new Handler<HttpServerRequest>() {
       public void handle(HttpServerRequest req) {
         if (log.isTraceEnabled()) log.trace("Request: " + req.uri() + " does not match, returning 404");
         req.response().setStatusCode(404);
         req.response().end();
       }
     });
+
+    rm.mount(prefix, app);
     return this;
   }
 
@@ -23,11 +23,12 @@ import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.ServerWebSocket;
 import io.vertx.core.http.WebSocketFrame;
-import io.vertx.core.http.impl.WebSocketMatcher;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.impl.LoggerFactory;
 import io.vertx.core.shareddata.LocalMap;
 import io.vertx.ext.routematcher.RouteMatcher;
+import io.vertx.ext.routematcher.WebSocketMatch;
+import io.vertx.ext.routematcher.WebSocketMatcher;
 import io.vertx.ext.sockjs.SockJSServerOptions;
 import io.vertx.ext.sockjs.SockJSSocket;
 
@@ -38,20 +39,28 @@ class WebSocketTransport extends BaseTransport {
 
   private static final Logger log = LoggerFactory.getLogger(WebSocketTransport.class);
 
-  WebSocketTransport(final Vertx vertx, WebSocketMatcher wsMatcher,
+  WebSocketTransport(final Vertx vertx, WebSocketMatcher wsMatcher, Handler<ServerWebSocket> wsNoMatchHandler,
                      RouteMatcher rm, String basePath, final LocalMap<String, Session> sessions,
                      final SockJSServerOptions options,
             final Handler<SockJSSocket> sockHandler) {
     super(vertx, sessions, options);
-    String wsRE = basePath + COMMON_PATH_ELEMENT_RE + "websocket";
+    // The route matcher is mounted under the base path, the websocket matcher is not
+    String wsRE = COMMON_PATH_ELEMENT_RE + "websocket";
 
-    wsMatcher.addRegEx(wsRE, new Handler<WebSocketMatcher.Match>() {
+    // The ids are read from the path segments, the websocket matcher does not evaluate any regex
+    wsMatcher.add(basePath + "/:server/:session/websocket", new Handler<WebSocketMatch>() {
 
-      public void handle(final WebSocketMatcher.Match match) {
+      public void handle(final WebSocketMatch match) {
         if (log.isTraceEnabled()) log.trace("WS, handler");
+        ServerWebSocket ws = match.webSocket();
+        // The server and session ids cannot contain dots, such a websocket is not a SockJS one
+        if (match.param("server").indexOf('.') != -1 || match.param("session").indexOf('.') != -1) {
+          wsNoMatchHandler.handle(ws);
+          return;
+        }
         final Session session = new Session(vertx, sessions, options.getHeartbeatPeriod(), sockHandler);
-        session.setInfo(match.ws.localAddress(), match.ws.remoteAddress(), match.ws.uri(), match.ws.headers());
-        session.register(new WebSocketListener(match.ws, session));
+        session.setInfo(ws.localAddress(), ws.remoteAddress(), ws.uri(), ws.headers());
+        session.register(new WebSocketListener(ws, session));
       }
     });
 